@@ -49,16 +49,39 @@ public class Constants {
 	public static final String USER_ALREADY_FRIEND = "This user is already a friend";
 	public static final String USER_CANNOT_ADD_HIMSELF = "User can't add himself as a friend!";
 	public static final String NO_INVITE_STRATEGY_MESSAGE = "No strategy found for name: %s";
+	public static final String EMPTY_SEARCH_QUERY = "Search query must not be empty";
+	public static final String COMPATIBILITY_BATCH_TOO_LARGE = "Compatibility batch must not contain more than %d users";
+	public static final String RECOMMENDATION_CAPACITY_EXCEEDED = "Too many recommendation requests in flight, try again later";
+	public static final String UPLOAD_CAPACITY_EXCEEDED = "Too many uploads in progress, try again later";
+	public static final String UPLOAD_INTERRUPTED = "Interrupted while uploading files";
+	public static final String DIRECT_UPLOAD_UNSUPPORTED = "Direct uploads require the S3 media source";
+	public static final String UPLOAD_TOO_LARGE = "File must not be larger than %d bytes";
+	public static final String INVALID_FILE_NAME = "Invalid file name: %s";
+	public static final String INVALID_PAGE_CURSOR = "Invalid page cursor";
 
 	public static final String DEFAULT_MESSAGE_PAGE = "0";
 	public static final String DEFAULT_MESSAGE_PAGE_SIZE = "50";
 
+	public static final String DEFAULT_SEARCH_PAGE = "0";
+	public static final String DEFAULT_SEARCH_PAGE_SIZE = "20";
+	public static final int MAX_SEARCH_PAGE_SIZE = 50;
+	public static final String DEFAULT_AUTOCOMPLETE_LIMIT = "10";
+	public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+	public static final String DEFAULT_COMPATIBLE_USERS_LIMIT = "20";
+	public static final int MAX_COMPATIBLE_USERS_LIMIT = 100;
+	public static final int MAX_COMPATIBILITY_BATCH_SIZE = 100_000;
+	public static final String DEFAULT_FEED_PAGE_SIZE = "20";
+	public static final int MAX_FEED_PAGE_SIZE = 100;
+	public static final String DEFAULT_POST_PAGE_SIZE = "20";
+	public static final int MAX_POST_PAGE_SIZE = 100;
+
 	public static final String AUTHORIZATION_HEADER_NAME = "Authorization";
 	public static final String DELETER_ID_HEADER = "DeleterId";
 	public static final String BEARER_PREFIX = "Bearer ";
 
 	public static final String BLACKLIST_CACHE_NAME = "jwt-blacklist";
 	public static final String FILE_PATH_PART = "/api/v1/files/";
+	public static final String PRESENCE_QUEUE_PREFIX = "/queue/presence/";
 
 
 	public static final String LOCAL_DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
@@ -67,10 +90,25 @@ public class Constants {
 	public static final String USER_DTO_SIGN_UP_ID = "userData";
 	public static final String FILE_REQUEST_PART_ID = "files";
 	public static final String DELETE_FILE_LIST_REQUEST_PART_ID = "deleteFiles";
+	public static final String MEDIA_UPLOAD_EXECUTOR = "mediaUploadExecutor";
 
 	// kafka
 	public static final String USER_RECOMMENDATION_REQUEST_TOPIC = "user-recommendation-request";
 	public static final String USER_RECOMMENDATION_RESPONSE_TOPIC = "user-recommendation-response";
 	public static final String USER_RECOMMENDATION_GROUP_ID = "user-recommendation-group";
-	public static final int KAFKA_REQUEST_TIMEOUT_SECONDS = 5;
+	public static final String RECOMMENDATION_EXECUTOR = "recommendationExecutor";
+	public static final String RECOMMENDATION_REPLY_LISTENER_FACTORY = "recommendationReplyListenerFactory";
+	public static final String REPLY_INSTANCE_HEADER = "reply_instance";
+	public static final String RECOMMENDATION_BATCH_HEADER = "batch_size";
+	public static final String USER_CHANGES_TOPIC = "user-changes";
+
+	/**
+	 * Postgres advisory lock key held by the instance that currently relays the outbox.
+	 */
+	public static final long OUTBOX_RELAY_LOCK_KEY = 0x6F7574626F78L;
+
+	/**
+	 * Postgres advisory lock key held while one instance recounts all like counters.
+	 */
+	public static final long LIKE_RECOUNT_LOCK_KEY = 0x6C696B6573L;
 }
@@ -0,0 +1,65 @@
+package com.soundhub.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tables are created by Hibernate ({@code ddl-auto=update}); the migrations only add extensions, indexes
+ * and backfills on top of them, so they run once the schema update is done instead of before it.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true", matchIfMissing = true)
+public class FlywayConfig {
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy() {
+		return flyway -> log.debug("flywayMigrationStrategy[1]: migrations deferred until the context is started");
+	}
+
+	@Bean
+	public SmartLifecycle flywayMigrationLifecycle(ObjectProvider<Flyway> flyway) {
+		return new FlywayMigrationLifecycle(flyway);
+	}
+
+	/**
+	 * Lifecycle beans are started once every singleton, the entity manager factory included, is created.
+	 * Starting in the lowest phase runs the migrations before the web server and the Kafka listeners start,
+	 * and a failed migration aborts the startup.
+	 */
+	private static class FlywayMigrationLifecycle implements SmartLifecycle {
+		private final ObjectProvider<Flyway> flyway;
+
+		private volatile boolean running;
+
+		FlywayMigrationLifecycle(ObjectProvider<Flyway> flyway) {
+			this.flyway = flyway;
+		}
+
+		@Override
+		public void start() {
+			flyway.ifAvailable(Flyway::migrate);
+			running = true;
+		}
+
+		@Override
+		public void stop() {
+			running = false;
+		}
+
+		@Override
+		public boolean isRunning() {
+			return running;
+		}
+
+		@Override
+		public int getPhase() {
+			return Integer.MIN_VALUE;
+		}
+	}
+}
@@ -1,12 +1,14 @@
 package com.soundhub.api.config;
 
 
+import com.soundhub.api.Constants;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 
@@ -19,6 +21,9 @@ public class KafkaConsumerConfig {
 	@Value("${spring.kafka.bootstrap-servers}")
 	private String bootstrapServers;
 
+	@Value("${spring.kafka.recommendation.listener.concurrency:1}")
+	private int recommendationListenerConcurrency;
+
 	@Bean
 	public ConsumerFactory<String, String> consumerFactory() {
 		Map<String, Object> props = new HashMap<>() {{
@@ -39,4 +44,21 @@ public class KafkaConsumerConfig {
 
 		return new DefaultKafkaConsumerFactory<>(props);
 	}
+
+	/**
+	 * Batch listener container for recommendation replies: one poll hands the whole batch of records
+	 * to the listener. Concurrency should match the number of reply partitions this instance reads.
+	 */
+	@Bean(name = Constants.RECOMMENDATION_REPLY_LISTENER_FACTORY)
+	public ConcurrentKafkaListenerContainerFactory<String, String> recommendationReplyListenerFactory(
+			ConsumerFactory<String, String> consumerFactory
+	) {
+		ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+
+		factory.setConsumerFactory(consumerFactory);
+		factory.setBatchListener(true);
+		factory.setConcurrency(recommendationListenerConcurrency);
+
+		return factory;
+	}
 }
@@ -21,6 +21,15 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    @Value("${spring.kafka.recommendation.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${spring.kafka.recommendation.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${spring.kafka.recommendation.producer.compression-type:lz4}")
+    private String compressionType;
+
     @Bean
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(recommendationProducerFactory());
@@ -43,6 +52,21 @@ public class KafkaProducerConfig {
                     ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
                     JsonSerializer.class
             );
+
+            put(
+                    ProducerConfig.LINGER_MS_CONFIG,
+                    lingerMs
+            );
+
+            put(
+                    ProducerConfig.BATCH_SIZE_CONFIG,
+                    batchSize
+            );
+
+            put(
+                    ProducerConfig.COMPRESSION_TYPE_CONFIG,
+                    compressionType
+            );
         }};
 
         return new DefaultKafkaProducerFactory<>(configProps);
@@ -64,6 +88,61 @@ public class KafkaProducerConfig {
                 .build();
     }
 
+    @Bean
+    public NewTopic userChangesTopic() {
+        return TopicBuilder.name(Constants.USER_CHANGES_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+
+    /**
+     * Publishes outbox payloads as they are: they are already JSON, so values are written with
+     * {@link StringSerializer}. Idempotence keeps relay retries from duplicating records within a batch.
+     */
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        Map<String, Object> configProps = new HashMap<>() {{
+            put(
+                    ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                    bootstrapAddress
+            );
+
+            put(
+                    ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,
+                    StringSerializer.class
+            );
+
+            put(
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                    StringSerializer.class
+            );
+
+            put(
+                    ProducerConfig.ACKS_CONFIG,
+                    "all"
+            );
+
+            put(
+                    ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG,
+                    true
+            );
+
+            put(
+                    ProducerConfig.LINGER_MS_CONFIG,
+                    lingerMs
+            );
+
+            put(
+                    ProducerConfig.COMPRESSION_TYPE_CONFIG,
+                    compressionType
+            );
+        }};
+
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(configProps));
+    }
+
     @Bean
     public KafkaTemplate<String, String> userRecommendationKafkaTemplate() {
         return new KafkaTemplate<>(recommendationProducerFactory());
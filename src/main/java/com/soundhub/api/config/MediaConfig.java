@@ -0,0 +1,34 @@
+package com.soundhub.api.config;
+
+import com.soundhub.api.Constants;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class MediaConfig {
+	@Value("${media.upload.executor.max-size:16}")
+	private int uploadPoolSize;
+
+	@Value("${media.upload.executor.queue-capacity:200}")
+	private int uploadQueueCapacity;
+
+	/**
+	 * Runs blocking S3 and disk uploads, so they neither occupy the common ForkJoin pool
+	 * nor grow without bound when many requests upload at once.
+	 */
+	@Bean(name = Constants.MEDIA_UPLOAD_EXECUTOR)
+	public ThreadPoolTaskExecutor mediaUploadExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+		executor.setCorePoolSize(uploadPoolSize);
+		executor.setMaxPoolSize(uploadPoolSize);
+		executor.setQueueCapacity(uploadQueueCapacity);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setThreadNamePrefix("media-upload-");
+		executor.initialize();
+
+		return executor;
+	}
+}
@@ -0,0 +1,68 @@
+package com.soundhub.api.config;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.services.recommendation.CircuitBreaker;
+import com.soundhub.api.services.recommendation.RecommendationBatchSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+@Configuration
+public class RecommendationConfig {
+	@Value("${recommendation.executor.core-size:4}")
+	private int corePoolSize;
+
+	@Value("${recommendation.executor.max-size:16}")
+	private int maxPoolSize;
+
+	@Value("${recommendation.executor.queue-capacity:500}")
+	private int queueCapacity;
+
+	@Value("${spring.kafka.recommendation.batch.enabled:false}")
+	private boolean batchEnabled;
+
+	@Value("${spring.kafka.recommendation.batch.max-size:100}")
+	private int batchMaxSize;
+
+	@Value("${spring.kafka.recommendation.batch.linger:5ms}")
+	private Duration batchLinger;
+
+	@Value("${recommendation.circuit-breaker.failure-threshold:5}")
+	private int circuitFailureThreshold;
+
+	@Value("${recommendation.circuit-breaker.open-duration:30s}")
+	private Duration circuitOpenDuration;
+
+	/**
+	 * Loads recommended users once the Kafka reply arrives, off both the servlet and the listener threads.
+	 */
+	@Bean(name = Constants.RECOMMENDATION_EXECUTOR)
+	public ThreadPoolTaskExecutor recommendationExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+		executor.setCorePoolSize(corePoolSize);
+		executor.setMaxPoolSize(maxPoolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("recommendation-");
+		executor.initialize();
+
+		return executor;
+	}
+
+	@Bean
+	public RecommendationBatchSettings recommendationBatchSettings() {
+		return new RecommendationBatchSettings(batchEnabled, batchMaxSize, batchLinger);
+	}
+
+	/**
+	 * Switches recommendations to {@link com.soundhub.api.services.recommendation.LocalRecommender}
+	 * while the Kafka recommender keeps failing or timing out.
+	 */
+	@Bean
+	public CircuitBreaker recommendationCircuitBreaker() {
+		return new CircuitBreaker("recommendation", circuitFailureThreshold, circuitOpenDuration);
+	}
+}
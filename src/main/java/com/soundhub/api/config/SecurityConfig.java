@@ -3,6 +3,7 @@ package com.soundhub.api.config;
 import com.soundhub.api.Constants;
 import com.soundhub.api.security.JwtAuthenticationEntryPoint;
 import com.soundhub.api.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,8 @@ public class SecurityConfig {
                 }))
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .authorizeHttpRequests(request -> request
+                        // async results are dispatched after the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers(Constants.ENDPOINT_WHITELIST).permitAll()
                         .anyRequest().authenticated())
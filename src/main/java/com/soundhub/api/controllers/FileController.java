@@ -1,19 +1,35 @@
 package com.soundhub.api.controllers;
 
+import com.soundhub.api.dto.request.PresignedUploadCompleteRequest;
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
 import com.soundhub.api.services.FileService;
+import com.soundhub.api.services.strategies.media.MediaFileMetadata;
+import com.soundhub.api.services.strategies.media.PresignedUrl;
+import com.soundhub.api.util.LocalFileResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("api/v1/files")
@@ -25,6 +41,12 @@ public class FileController {
 	@Value("${media.folder.static}")
 	private String staticFolder;
 
+	@Value("${media.cache.immutable-folders:posts}")
+	private List<String> immutableFolders;
+
+	@Value("${media.cache.max-age:365d}")
+	private Duration immutableMaxAge;
+
 	@PostMapping("/upload")
 	public ResponseEntity<String> uploadFileHandler(@RequestPart MultipartFile file) throws IOException {
 		log.debug("uploadFileHandler[1]: received file is {}", file.getOriginalFilename());
@@ -34,16 +56,103 @@ public class FileController {
 		return ResponseEntity.ok("File was uploaded: " + fileName);
 	}
 
+	/**
+	 * Serves a media file, or redirects to a presigned URL when the media source is configured to.
+	 * Requests carrying a matching {@code If-None-Match} or {@code If-Modified-Since}
+	 * get a 304 without a body. Local files support single byte ranges (206 Partial Content) and are sent
+	 * without copying through the heap; other sources are streamed whole.
+	 */
 	@GetMapping("/{filename}")
 	public void getFile(
 			@PathVariable String filename,
 			@RequestParam String folderName,
+			@RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+			@RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+			HttpServletRequest httpServletRequest,
 			HttpServletResponse httpServletResponse
 	) throws IOException {
-		InputStream resourceFile = fileService.getFile(folderName, filename);
+		Optional<PresignedUrl> redirectUrl = fileService.getRedirectUrl(folderName, filename);
+
+		if (redirectUrl.isPresent()) {
+			sendRedirect(redirectUrl.get(), httpServletResponse);
+			return;
+		}
+
+		MediaFileMetadata metadata = fileService.getFileMetadata(folderName, filename);
+		ServletWebRequest webRequest = new ServletWebRequest(httpServletRequest, httpServletResponse);
+
+		httpServletResponse.setHeader(HttpHeaders.CACHE_CONTROL, getCacheControl(folderName).getHeaderValue());
+
+		if (webRequest.checkNotModified(metadata.eTag(), metadata.lastModified().toEpochMilli())) {
+			log.debug("getFile[1]: {} not modified", filename);
+			return;
+		}
+
+		Optional<Path> localFile = fileService.getLocalFile(folderName, filename);
+
+		if (localFile.isPresent()) {
+			String effectiveRange = metadata.matchesIfRange(ifRange) ? range : null;
+
+			LocalFileResponseWriter.write(localFile.get(), effectiveRange, httpServletRequest, httpServletResponse);
+			return;
+		}
+
+		try (InputStream resourceFile = fileService.getFile(folderName, filename)) {
+			httpServletResponse.setContentType(metadata.contentType().toString());
+			httpServletResponse.setContentLengthLong(metadata.contentLength());
+			StreamUtils.copy(resourceFile, httpServletResponse.getOutputStream());
+		}
+	}
+
+	/**
+	 * Returns a presigned URL for uploading a file straight to object storage, bypassing the API.
+	 * Once the upload finished, the client confirms it with {@link #completePresignedUpload}.
+	 */
+	@PostMapping("/upload/presigned")
+	public ResponseEntity<PresignedUploadResponse> createPresignedUpload(
+			@RequestBody @Valid PresignedUploadRequest request
+	) {
+		log.debug("createPresignedUpload[1]: direct upload of {} requested", request.getFilename());
+
+		return ResponseEntity.ok(fileService.createPresignedUpload(staticFolder, request));
+	}
+
+	@PostMapping("/upload/presigned/complete")
+	public ResponseEntity<String> completePresignedUpload(@RequestBody @Valid PresignedUploadCompleteRequest request) {
+		String fileName = fileService.completePresignedUpload(staticFolder, request.getFilename());
+
+		return ResponseEntity.ok("File was uploaded: " + fileName);
+	}
+
+	/**
+	 * The redirect may be cached by the client for as long as the same presigned URL is handed out.
+	 */
+	private void sendRedirect(PresignedUrl url, HttpServletResponse httpServletResponse) {
+		Duration maxAge = Duration.between(Instant.now(), url.refreshAt());
+
+		httpServletResponse.setStatus(HttpStatus.FOUND.value());
+		httpServletResponse.setHeader(HttpHeaders.LOCATION, url.url().toString());
+		httpServletResponse.setHeader(
+				HttpHeaders.CACHE_CONTROL,
+				CacheControl.maxAge(maxAge.isNegative() ? Duration.ZERO : maxAge).cachePrivate().getHeaderValue()
+		);
+	}
+
+	/**
+	 * Uploads are stored under generated unique names ({@link com.soundhub.api.util.FileUtils#generateFileName}),
+	 * so a file in {@code media.cache.immutable-folders} is never overwritten and caches may keep it without
+	 * revalidating; everything else is revalidated with its entity tag on each use. Genre images are
+	 * provisioned under fixed names and replaced in place, so their folder is not immutable.
+	 */
+	private CacheControl getCacheControl(String folderName) {
+		String folder = StringUtils.trimLeadingCharacter(folderName, '/');
+		boolean immutable = immutableFolders.stream()
+				.map(prefix -> StringUtils.trimTrailingCharacter(prefix, '/'))
+				.anyMatch(prefix -> !prefix.isEmpty() && (folder.equals(prefix) || folder.startsWith(prefix + "/")));
 
-		httpServletResponse.setContentType(MediaType.ALL_VALUE);
-		StreamUtils.copy(resourceFile, httpServletResponse.getOutputStream());
+		return immutable
+				? CacheControl.maxAge(immutableMaxAge).cachePublic().immutable()
+				: CacheControl.noCache();
 	}
 
 	@PostMapping("/upload/files")
@@ -2,7 +2,9 @@ package com.soundhub.api.controllers;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.dto.PostDto;
+import com.soundhub.api.dto.response.PostPageResponse;
 import com.soundhub.api.models.Post;
+import com.soundhub.api.services.FeedService;
 import com.soundhub.api.services.PostService;
 import com.soundhub.api.services.UserService;
 import lombok.extern.slf4j.Slf4j;
@@ -26,6 +28,19 @@ public class PostController {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private FeedService feedService;
+
+	@GetMapping("/feed")
+	public ResponseEntity<PostPageResponse> getFeed(
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = Constants.DEFAULT_FEED_PAGE_SIZE) int size
+	) {
+		log.info("getFeed[1] controller: Reading feed page of size {}", size);
+
+		return ResponseEntity.ok(feedService.getFeed(cursor, size));
+	}
+
 	@GetMapping("/{postId}")
 	public ResponseEntity<Post> getPostById(@PathVariable UUID postId) {
 		Post post = postService.getPostById(postId);
@@ -41,6 +56,21 @@ public class PostController {
 		return ResponseEntity.ok(postService.getPostsByAuthor(authorId));
 	}
 
+	/**
+	 * Paginated variant of {@link #getAllPostsByAuthor(UUID)}, selected by the {@code size} parameter.
+	 * Pass the returned {@code nextCursor} as {@code cursor} to read the next page.
+	 */
+	@GetMapping(value = "/post/{authorId}", params = "size")
+	public ResponseEntity<PostPageResponse> getPostsByAuthorPage(
+			@PathVariable UUID authorId,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = Constants.DEFAULT_POST_PAGE_SIZE) int size
+	) {
+		log.info("getPostsByAuthorPage[1] controller: Find page of {} posts by author ID: {}", size, authorId);
+
+		return ResponseEntity.ok(postService.getPostsByAuthor(authorId, cursor, size));
+	}
+
 	@PostMapping("/add")
 	public ResponseEntity<Post> addPost(
 			@RequestPart PostDto postDto,
@@ -1,13 +1,19 @@
 package com.soundhub.api.controllers;
 
 import com.soundhub.api.Constants;
+import com.soundhub.api.dto.CompatibilityScoreDto;
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSearchResultDto;
+import com.soundhub.api.dto.request.CompatibilityBatchRequest;
 import com.soundhub.api.dto.request.CompatibleUsersRequest;
+import com.soundhub.api.dto.response.CompatibilityBatchResponse;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 import com.soundhub.api.dto.response.UserExistenceResponse;
+import com.soundhub.api.dto.response.UserSearchPageResponse;
 import com.soundhub.api.models.User;
 import com.soundhub.api.services.RecommendationService;
 import com.soundhub.api.services.UserCompatibilityService;
+import com.soundhub.api.services.UserSearchService;
 import com.soundhub.api.services.UserService;
 import com.soundhub.api.util.mappers.UserMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +25,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -35,6 +42,9 @@ public class UserController {
 	@Autowired
 	private RecommendationService recommendationService;
 
+	@Autowired
+	private UserSearchService userSearchService;
+
 	@GetMapping("/{userId}")
 	public ResponseEntity<UserDto> getUserById(@PathVariable UUID userId) {
 		User user = userService.getUserById(userId);
@@ -89,11 +99,12 @@ public class UserController {
 	}
 
 	@GetMapping("/recommendedFriends")
-	public ResponseEntity<List<UserDto>> getRecommendedFriends() {
-		List<User> potentialFriends = recommendationService.getRecommendedUsers();
-		List<UserDto> userDtos = potentialFriends.stream().map(userMapper::userToUserDto).toList();
-
-		return new ResponseEntity<>(userDtos, HttpStatus.OK);
+	public CompletableFuture<ResponseEntity<List<UserDto>>> getRecommendedFriends() {
+		return recommendationService.getRecommendedUsers()
+				.thenApply(potentialFriends -> {
+					List<UserDto> userDtos = potentialFriends.stream().map(userMapper::userToUserDto).toList();
+					return new ResponseEntity<>(userDtos, HttpStatus.OK);
+				});
 	}
 
 	@GetMapping("/{userId}/friends")
@@ -116,6 +127,25 @@ public class UserController {
 		return new ResponseEntity<>(usersDtoList, HttpStatus.OK);
 	}
 
+	@GetMapping("/search/ranked")
+	public ResponseEntity<UserSearchPageResponse> searchUsersRanked(
+			@RequestParam String name,
+			@RequestParam(defaultValue = Constants.DEFAULT_SEARCH_PAGE) int page,
+			@RequestParam(defaultValue = Constants.DEFAULT_SEARCH_PAGE_SIZE) int size
+	) {
+		UserSearchPageResponse users = userSearchService.searchRanked(name, page, size);
+		return new ResponseEntity<>(users, HttpStatus.OK);
+	}
+
+	@GetMapping("/autocomplete")
+	public ResponseEntity<List<UserSearchResultDto>> autocompleteUsers(
+			@RequestParam String prefix,
+			@RequestParam(defaultValue = Constants.DEFAULT_AUTOCOMPLETE_LIMIT) int limit
+	) {
+		List<UserSearchResultDto> suggestions = userSearchService.autocomplete(prefix, limit);
+		return new ResponseEntity<>(suggestions, HttpStatus.OK);
+	}
+
 	@PutMapping("/user/online")
 	public ResponseEntity<UserDto> updateUserOnline(@RequestParam(name = "value") boolean online) {
 		User toggledUser = userService.updateUserOnline(online);
@@ -131,4 +161,20 @@ public class UserController {
 
 		return new ResponseEntity<>(response, HttpStatus.OK);
 	}
+
+	@PostMapping("/compatibleUsers/batch")
+	public ResponseEntity<CompatibilityBatchResponse> calculateCompatibilityBatch(
+			@RequestBody CompatibilityBatchRequest requestBody
+	) {
+		CompatibilityBatchResponse response = userCompatibilityService.calculateCompatibilityBatch(requestBody);
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
+
+	@GetMapping("/compatibleUsers/top")
+	public ResponseEntity<List<CompatibilityScoreDto>> findMostCompatibleUsers(
+			@RequestParam(defaultValue = Constants.DEFAULT_COMPATIBLE_USERS_LIMIT) int limit
+	) {
+		List<CompatibilityScoreDto> response = userCompatibilityService.findMostCompatibleUsers(limit);
+		return new ResponseEntity<>(response, HttpStatus.OK);
+	}
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.soundhub.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompatibilityScoreDto {
+	private UUID userId;
+	private float compatibility;
+}
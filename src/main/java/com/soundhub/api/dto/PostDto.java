@@ -14,7 +14,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
 import java.util.UUID;
 
 @Data
@@ -35,6 +34,4 @@ public class PostDto {
 	private String content;
 
 	private List<String> images;
-
-	private Set<User> likes;
 }
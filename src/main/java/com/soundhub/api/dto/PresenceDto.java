@@ -0,0 +1,27 @@
+package com.soundhub.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.soundhub.api.Constants;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PresenceDto {
+	private UUID userId;
+
+	private boolean online;
+
+	@JsonSerialize(using = LocalDateTimeSerializer.class)
+	@JsonFormat(pattern = Constants.LOCAL_DATETIME_FORMAT)
+	private LocalDateTime lastOnline;
+}
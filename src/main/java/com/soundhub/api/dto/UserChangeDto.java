@@ -0,0 +1,25 @@
+package com.soundhub.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of the parts of a user that downstream recommendation indices consume.
+ * Published to the compacted user changes topic keyed by {@code userId}, so the latest snapshot wins.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserChangeDto {
+	private UUID userId;
+	private long profileVersion;
+	private List<UUID> favoriteGenreIds;
+	private List<UUID> favoriteArtistIds;
+	private List<UUID> friendIds;
+}
@@ -0,0 +1,22 @@
+package com.soundhub.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSearchResultDto {
+	private UUID id;
+	private String firstName;
+	private String lastName;
+	private String avatarUrl;
+	private String city;
+	private String country;
+	private boolean online;
+}
@@ -0,0 +1,19 @@
+package com.soundhub.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CompatibilityBatchRequest {
+	private List<UUID> userIds;
+	private Float threshold;
+	private Integer limit;
+}
@@ -0,0 +1,16 @@
+package com.soundhub.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PresignedUploadCompleteRequest {
+	@NotBlank
+	private String filename;
+}
@@ -0,0 +1,25 @@
+package com.soundhub.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PresignedUploadRequest {
+	@NotBlank
+	private String filename;
+
+	@NotBlank
+	private String contentType;
+
+	@NotNull
+	@Positive
+	private Long contentLength;
+}
@@ -0,0 +1,21 @@
+package com.soundhub.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Batch compatibility result as two parallel arrays sorted by descending score:
+ * {@code scores[i]} is the compatibility with {@code userIds[i]}.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CompatibilityBatchResponse {
+	private UUID[] userIds;
+	private float[] scores;
+}
@@ -0,0 +1,22 @@
+package com.soundhub.api.dto.response;
+
+import com.soundhub.api.models.Post;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One newest-first page of posts. {@code nextCursor} is passed back as {@code cursor} to read the following page
+ * and is {@code null} on the last page.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PostPageResponse {
+	private List<Post> posts;
+	private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.soundhub.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Where and how to upload a file straight to object storage. The client sends a {@code PUT} of the file body
+ * to {@code uploadUrl} with exactly the given {@code headers} before {@code expiresAt}, then reports the
+ * {@code filename} to the completion endpoint.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class PresignedUploadResponse {
+	private String uploadUrl;
+	private String filename;
+	private Map<String, String> headers;
+	private Instant expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.soundhub.api.dto.response;
+
+import com.soundhub.api.dto.UserSearchResultDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. {@code page} is zero-based.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class UserSearchPageResponse {
+	private List<UserSearchResultDto> users;
+	private int page;
+	private int size;
+	private long totalElements;
+	private int totalPages;
+}
@@ -0,0 +1,5 @@
+package com.soundhub.api.enums;
+
+public enum OutboxEventType {
+	USER_UPSERTED, USER_DELETED
+}
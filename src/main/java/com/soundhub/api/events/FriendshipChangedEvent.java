@@ -0,0 +1,18 @@
+package com.soundhub.api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.soundhub.api.services.UserService} when {@code friendId} is added to
+ * or removed from the friend list of {@code userId}.
+ */
+@Getter
+@AllArgsConstructor
+public class FriendshipChangedEvent {
+	private final UUID userId;
+	private final UUID friendId;
+	private final boolean added;
+}
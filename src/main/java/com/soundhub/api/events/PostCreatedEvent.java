@@ -0,0 +1,18 @@
+package com.soundhub.api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by {@link com.soundhub.api.services.PostService} after a post is created.
+ */
+@Getter
+@AllArgsConstructor
+public class PostCreatedEvent {
+	private final UUID postId;
+	private final UUID authorId;
+	private final LocalDateTime createdAt;
+}
@@ -0,0 +1,17 @@
+package com.soundhub.api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.soundhub.api.services.PostService} when a like row of a post was inserted ({@code delta} 1)
+ * or deleted ({@code delta} -1).
+ */
+@Getter
+@AllArgsConstructor
+public class PostLikeToggledEvent {
+	private final UUID postId;
+	private final long delta;
+}
@@ -0,0 +1,15 @@
+package com.soundhub.api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published by {@link com.soundhub.api.services.UserService} after a user is deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class UserDeletedEvent {
+	private final UUID userId;
+}
@@ -0,0 +1,15 @@
+package com.soundhub.api.events;
+
+import com.soundhub.api.models.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link com.soundhub.api.services.UserService} after a user is created or their profile is saved.
+ * In-memory indexes derived from user data listen to it to stay up to date incrementally.
+ */
+@Getter
+@AllArgsConstructor
+public class UserProfileChangedEvent {
+	private final User user;
+}
@@ -0,0 +1,14 @@
+package com.soundhub.api.exceptions;
+
+import com.soundhub.api.Constants;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when this instance already has too many recommendation requests in flight. Unlike other 503s it says
+ * nothing about the health of the recommender, so it is returned to the client as is.
+ */
+public class RecommendationCapacityExceededException extends ApiException {
+	public RecommendationCapacityExceededException() {
+		super(HttpStatus.SERVICE_UNAVAILABLE, Constants.RECOMMENDATION_CAPACITY_EXCEEDED);
+	}
+}
@@ -0,0 +1,39 @@
+package com.soundhub.api.models;
+
+import com.soundhub.api.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Change event waiting to be published to Kafka. Written in the same transaction as the change itself,
+ * so an event exists if and only if the change was committed. It only names the changed user; the payload
+ * is read when the event is published.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "outbox_events")
+public class OutboxEvent {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "aggregate_id", nullable = false)
+	private UUID aggregateId;
+
+	@Enumerated(value = EnumType.STRING)
+	@Column(name = "event_type", nullable = false, length = 32)
+	private OutboxEventType eventType;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.soundhub.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -19,6 +20,11 @@ public class Post extends ContentEntity {
 	@ElementCollection
 	private List<String> images;
 
+	/**
+	 * Users who liked the post. Never loaded on the hot path: likes are toggled and checked through
+	 * {@link com.soundhub.api.repositories.PostRepository} queries on the join row.
+	 */
+	@JsonIgnore
 	@ManyToMany(fetch = FetchType.LAZY)
 	@JoinTable(
 			name = "user_posts",
@@ -27,4 +33,24 @@ public class Post extends ContentEntity {
 	)
 	@Builder.Default
 	private Set<User> likes = new HashSet<>();
+
+	/**
+	 * Denormalized size of {@link #likes}. Only changed by the batched increments of
+	 * {@link com.soundhub.api.services.likes.PostLikeCounter}, so saving a stale entity never overwrites it.
+	 */
+	@Column(
+			name = "like_count",
+			nullable = false,
+			insertable = false,
+			updatable = false,
+			columnDefinition = "BIGINT NOT NULL DEFAULT 0"
+	)
+	@Builder.Default
+	private long likeCount = 0;
+
+	/**
+	 * Whether the requesting user liked the post; filled in per request.
+	 */
+	@Transient
+	private boolean likedByMe;
 }
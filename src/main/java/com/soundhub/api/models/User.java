@@ -117,6 +117,15 @@ public class User implements UserDetails, TransformableUser {
 	@JsonFormat(pattern = Constants.LOCAL_DATETIME_FORMAT)
 	private LocalDateTime lastOnline;
 
+	/**
+	 * Incremented whenever favourite genres or artists change; keys cached compatibility scores.
+	 * Only written by {@code UserRepository.incrementProfileVersion}, never by saving the entity.
+	 */
+	@Column(name = "profile_version", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+	@JsonIgnore
+	@Builder.Default
+	private long profileVersion = 0;
+
 	@Override
 	@JsonIgnore
 	public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,28 @@
+package com.soundhub.api.repositories;
+
+import com.soundhub.api.models.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+	/**
+	 * Takes the transaction-scoped advisory lock that makes this instance the only relay until the
+	 * transaction ends. Returns {@code false} without waiting when another instance holds it.
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+	boolean tryRelayLock(@Param("key") long key);
+
+	/**
+	 * Locks the oldest pending events for the current transaction.
+	 */
+	@Query(
+			value = "SELECT * FROM public.outbox_events ORDER BY id LIMIT :limit FOR UPDATE",
+			nativeQuery = true
+	)
+	List<OutboxEvent> lockOldest(@Param("limit") int limit);
+}
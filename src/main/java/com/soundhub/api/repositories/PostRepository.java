@@ -2,13 +2,139 @@ package com.soundhub.api.repositories;
 
 import com.soundhub.api.models.Post;
 import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.projections.PostKeyView;
+import com.soundhub.api.util.PostCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-import java.util.UUID;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, UUID> {
 	List<Post> findAllByAuthor(User user);
+
+	/**
+	 * Loads posts together with their images in one query.
+	 */
+	@EntityGraph(attributePaths = "images")
+	List<Post> findAllWithImagesByIdIn(Collection<UUID> ids);
+
+	/**
+	 * Loads the posts with {@link #findAllWithImagesByIdIn(Collection)} and returns them in the order of {@code ids},
+	 * skipping ids whose post no longer exists.
+	 */
+	default List<Post> findAllWithImagesInOrder(List<UUID> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+
+		Map<UUID, Post> posts = findAllWithImagesByIdIn(ids).stream()
+				.collect(Collectors.toMap(Post::getId, Function.identity()));
+
+		return ids.stream()
+				.map(posts::get)
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
+	@Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Post p WHERE p.author.id IN :authorIds "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostKeyView> findLatestKeysByAuthors(@Param("authorIds") Collection<UUID> authorIds, Pageable pageable);
+
+	@Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Post p WHERE p.author.id IN :authorIds "
+			+ "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+			+ "ORDER BY p.createdAt DESC, p.id DESC")
+	List<PostKeyView> findKeysByAuthorsBefore(
+			@Param("authorIds") Collection<UUID> authorIds,
+			@Param("createdAt") LocalDateTime createdAt,
+			@Param("id") UUID id,
+			Pageable pageable
+	);
+
+	/**
+	 * Reads up to {@code limit} newest post keys of the given authors strictly older than {@code cursor},
+	 * or the newest ones when it is {@code null}.
+	 */
+	default List<PostCursor> findKeysByAuthors(Collection<UUID> authorIds, PostCursor cursor, int limit) {
+		if (authorIds.isEmpty()) {
+			return List.of();
+		}
+
+		PageRequest page = PageRequest.of(0, limit);
+		List<PostKeyView> keys = cursor == null
+				? findLatestKeysByAuthors(authorIds, page)
+				: findKeysByAuthorsBefore(authorIds, cursor.createdAt(), cursor.id(), page);
+
+		return keys.stream()
+				.map(key -> new PostCursor(key.getCreatedAt(), key.getId()))
+				.toList();
+	}
+
+	@Query(
+			value = "SELECT EXISTS(SELECT 1 FROM user_posts WHERE post_id = :postId AND user_id = :userId)",
+			nativeQuery = true
+	)
+	boolean existsLike(@Param("postId") UUID postId, @Param("userId") UUID userId);
+
+	@Modifying
+	@Query(
+			value = "INSERT INTO user_posts (post_id, user_id) VALUES (:postId, :userId) ON CONFLICT DO NOTHING",
+			nativeQuery = true
+	)
+	int insertLike(@Param("postId") UUID postId, @Param("userId") UUID userId);
+
+	@Modifying
+	@Query(value = "DELETE FROM user_posts WHERE post_id = :postId AND user_id = :userId", nativeQuery = true)
+	int deleteLike(@Param("postId") UUID postId, @Param("userId") UUID userId);
+
+	/**
+	 * Adds the same delta to the like counters of several posts with a single {@code UPDATE}.
+	 */
+	@Modifying
+	@Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id IN :postIds")
+	int addToLikeCounts(@Param("postIds") Collection<UUID> postIds, @Param("delta") long delta);
+
+	/**
+	 * Resets every like counter that disagrees with the number of like rows of its post.
+	 */
+	@Modifying
+	@Query(
+			value = "UPDATE public.posts p SET like_count = c.likes "
+					+ "FROM (SELECT pp.id, COUNT(up.user_id) AS likes FROM public.posts pp "
+					+ "LEFT JOIN public.user_posts up ON up.post_id = pp.id GROUP BY pp.id) c "
+					+ "WHERE p.id = c.id AND p.like_count <> c.likes",
+			nativeQuery = true
+	)
+	int recountLikes();
+
+	/**
+	 * Takes a transaction-scoped Postgres advisory lock, returning {@code false} without waiting when
+	 * another transaction holds it.
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+	boolean tryAdvisoryLock(@Param("key") long key);
+
+	@Query(value = "SELECT post_id FROM user_posts WHERE user_id = :userId AND post_id IN :postIds", nativeQuery = true)
+	List<UUID> findLikedPostIds(@Param("userId") UUID userId, @Param("postIds") Collection<UUID> postIds);
+
+	/**
+	 * Sets {@link Post#isLikedByMe()} on the given posts for {@code userId} with a single query.
+	 */
+	default void markLikedBy(List<Post> posts, UUID userId) {
+		if (posts.isEmpty() || userId == null) {
+			return;
+		}
+
+		Set<UUID> liked = new HashSet<>(findLikedPostIds(userId, posts.stream().map(Post::getId).toList()));
+		posts.forEach(post -> post.setLikedByMe(liked.contains(post.getId())));
+	}
 }
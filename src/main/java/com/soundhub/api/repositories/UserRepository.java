@@ -1,8 +1,15 @@
 package com.soundhub.api.repositories;
 
 import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.projections.UserFriendView;
+import com.soundhub.api.repositories.projections.UserSearchView;
+import com.soundhub.api.repositories.projections.UserTasteItemView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +18,14 @@ import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+	String FULL_NAME_EXPRESSION = "lower(u.first_name || ' ' || u.last_name)";
+	String REVERSED_FULL_NAME_EXPRESSION = "lower(u.last_name || ' ' || u.first_name)";
+
+	String RANKED_SEARCH_CONDITION = " FROM users u WHERE "
+			+ FULL_NAME_EXPRESSION + " LIKE :contains OR "
+			+ REVERSED_FULL_NAME_EXPRESSION + " LIKE :contains OR "
+			+ ":query <% " + FULL_NAME_EXPRESSION;
+
 	Optional<User> findByEmail(String email);
 
 	Boolean existsByEmail(String email);
@@ -21,6 +36,65 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 	@Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
 	List<User> searchByFirstNameOrLastName(String firstName, String lastName);
 
-	@Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) AND LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
-	List<User> searchByFirstNameAndLastName(String firstName, String lastName);
+	@Query("SELECT u FROM User u WHERE LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :fullName, '%')) OR LOWER(CONCAT(u.lastName, ' ', u.firstName)) LIKE LOWER(CONCAT('%', :fullName, '%'))")
+	List<User> searchByFullName(String fullName);
+
+	@Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.avatarUrl AS avatarUrl, "
+			+ "u.city AS city, u.country AS country, u.online AS online FROM User u")
+	List<UserSearchView> findAllSearchViews();
+
+	@Query("SELECT u.id AS userId, a AS itemId FROM User u JOIN u.favoriteArtistsMbids a")
+	List<UserTasteItemView> findAllFavoriteArtistIds();
+
+	@Query("SELECT u.id AS userId, g.id AS itemId FROM User u JOIN u.favoriteGenres g")
+	List<UserTasteItemView> findAllFavoriteGenreIds();
+
+	@Query("SELECT f.id FROM User u JOIN u.friends f WHERE u.id = :userId")
+	List<UUID> findFriendIds(@Param("userId") UUID userId);
+
+	@Query("SELECT u.id AS userId, f.id AS friendId FROM User u JOIN u.friends f")
+	List<UserFriendView> findAllFriendPairs();
+
+	/**
+	 * Increments the profile version in the database, so concurrent taste updates of the same user get
+	 * distinct versions: the row lock taken here makes the second update wait for the first to commit.
+	 */
+	@Modifying
+	@Query("UPDATE User u SET u.profileVersion = u.profileVersion + 1 WHERE u.id = :userId")
+	int incrementProfileVersion(@Param("userId") UUID userId);
+
+	@Query("SELECT u.profileVersion FROM User u WHERE u.id = :userId")
+	long findProfileVersion(@Param("userId") UUID userId);
+
+	/**
+	 * Ids of users that have {@code userId} in their friend list, i.e. whose feed shows that user's posts.
+	 */
+	@Query("SELECT u.id FROM User u JOIN u.friends f WHERE f.id = :userId")
+	List<UUID> findFollowerIds(@Param("userId") UUID userId, Pageable pageable);
+
+	/**
+	 * Ranked, paginated name search backed by the pg_trgm GIN indexes from {@code V1__users_trigram_search.sql}.
+	 * Rows whose full name (in either order) starts with the query come first, then rows are ordered by
+	 * trigram word similarity, so small typos still match.
+	 *
+	 * @param query    normalized (trimmed, lower-cased) search string
+	 * @param prefix   {@code query} escaped for LIKE and suffixed with {@code %}
+	 * @param contains {@code query} escaped for LIKE and wrapped with {@code %}
+	 */
+	@Query(
+			value = "SELECT u.id AS \"id\", u.first_name AS \"firstName\", u.last_name AS \"lastName\", "
+					+ "u.avatar_url AS \"avatarUrl\", u.city AS \"city\", u.country AS \"country\", u.is_online AS \"online\""
+					+ RANKED_SEARCH_CONDITION
+					+ " ORDER BY (" + FULL_NAME_EXPRESSION + " LIKE :prefix OR " + REVERSED_FULL_NAME_EXPRESSION + " LIKE :prefix) DESC, "
+					+ "GREATEST(word_similarity(:query, " + FULL_NAME_EXPRESSION + "), "
+					+ "word_similarity(:query, " + REVERSED_FULL_NAME_EXPRESSION + ")) DESC, u.id",
+			countQuery = "SELECT count(*)" + RANKED_SEARCH_CONDITION,
+			nativeQuery = true
+	)
+	Page<UserSearchView> searchRanked(
+			@Param("query") String query,
+			@Param("prefix") String prefix,
+			@Param("contains") String contains,
+			Pageable pageable
+	);
 }
@@ -0,0 +1,13 @@
+package com.soundhub.api.repositories.projections;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Keyset columns of a post, used to build feed timelines without loading post entities.
+ */
+public interface PostKeyView {
+	UUID getId();
+
+	LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,12 @@
+package com.soundhub.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * One row of a user's friend list, used to build the friend graph without loading user entities.
+ */
+public interface UserFriendView {
+	UUID getUserId();
+
+	UUID getFriendId();
+}
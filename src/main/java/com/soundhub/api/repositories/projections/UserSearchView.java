@@ -0,0 +1,23 @@
+package com.soundhub.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Lightweight read-only view of a user row used by search queries.
+ * Selecting only these columns avoids hydrating the EAGER collections of {@link com.soundhub.api.models.User}.
+ */
+public interface UserSearchView {
+	UUID getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getAvatarUrl();
+
+	String getCity();
+
+	String getCountry();
+
+	Boolean getOnline();
+}
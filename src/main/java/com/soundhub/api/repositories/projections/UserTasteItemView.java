@@ -0,0 +1,12 @@
+package com.soundhub.api.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * One (user, favourite artist or genre) pair, used to build taste profiles without loading user entities.
+ */
+public interface UserTasteItemView {
+	UUID getUserId();
+
+	UUID getItemId();
+}
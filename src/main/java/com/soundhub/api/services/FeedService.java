@@ -0,0 +1,7 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.dto.response.PostPageResponse;
+
+public interface FeedService {
+	PostPageResponse getFeed(String cursor, int size);
+}
@@ -1,11 +1,17 @@
 package com.soundhub.api.services;
 
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
+import com.soundhub.api.services.strategies.media.MediaFileMetadata;
+import com.soundhub.api.services.strategies.media.PresignedUrl;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
 
 public interface FileService {
 	String uploadFile(String folder, MultipartFile file) throws IOException;
@@ -13,4 +19,14 @@ public interface FileService {
 	List<String> uploadFileList(String folder, List<MultipartFile> multipartFile);
 
 	InputStream getFile(String folder, String filename) throws FileNotFoundException;
+
+	Optional<Path> getLocalFile(String folder, String filename);
+
+	MediaFileMetadata getFileMetadata(String folder, String filename);
+
+	Optional<PresignedUrl> getRedirectUrl(String folder, String filename);
+
+	PresignedUploadResponse createPresignedUpload(String folder, PresignedUploadRequest request);
+
+	String completePresignedUpload(String folder, String filename);
 }
@@ -1,6 +1,7 @@
 package com.soundhub.api.services;
 
 import com.soundhub.api.dto.PostDto;
+import com.soundhub.api.dto.response.PostPageResponse;
 import com.soundhub.api.models.Post;
 import com.soundhub.api.models.User;
 import org.springframework.web.multipart.MultipartFile;
@@ -28,4 +29,6 @@ public interface PostService {
 	) throws IOException;
 
 	List<Post> getPostsByAuthor(UUID authorId);
+
+	PostPageResponse getPostsByAuthor(UUID authorId, String cursor, int size);
 }
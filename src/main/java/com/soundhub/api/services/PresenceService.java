@@ -0,0 +1,18 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.dto.PresenceDto;
+import com.soundhub.api.models.User;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PresenceService {
+	void updatePresence(UUID userId, boolean online, LocalDateTime lastOnline);
+
+	Optional<PresenceDto> getPresence(UUID userId);
+
+	void applyPresence(User user);
+
+	void flush();
+}
@@ -3,7 +3,8 @@ package com.soundhub.api.services;
 import com.soundhub.api.models.User;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface RecommendationService {
-	List<User> getRecommendedUsers();
+	CompletableFuture<List<User>> getRecommendedUsers();
 }
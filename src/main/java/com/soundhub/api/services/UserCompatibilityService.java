@@ -1,5 +1,8 @@
 package com.soundhub.api.services;
 
+import com.soundhub.api.dto.CompatibilityScoreDto;
+import com.soundhub.api.dto.request.CompatibilityBatchRequest;
+import com.soundhub.api.dto.response.CompatibilityBatchResponse;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 
 import java.util.List;
@@ -7,4 +10,8 @@ import java.util.UUID;
 
 public interface UserCompatibilityService {
 	CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith);
+
+	List<CompatibilityScoreDto> findMostCompatibleUsers(int limit);
+
+	CompatibilityBatchResponse calculateCompatibilityBatch(CompatibilityBatchRequest request);
 }
@@ -0,0 +1,12 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.dto.UserSearchResultDto;
+import com.soundhub.api.dto.response.UserSearchPageResponse;
+
+import java.util.List;
+
+public interface UserSearchService {
+	UserSearchPageResponse searchRanked(String name, int page, int size);
+
+	List<UserSearchResultDto> autocomplete(String prefix, int limit);
+}
@@ -34,6 +34,11 @@ public interface UserService {
 
 	User getCurrentUser();
 
+	/**
+	 * Returns the id of the authenticated user without loading the user again.
+	 */
+	UUID getCurrentUserId();
+
 	List<User> getUserFriendsById(UUID id);
 
 	List<User> searchByFullName(String name);
@@ -0,0 +1,127 @@
+package com.soundhub.api.services.compatibility;
+
+import com.soundhub.api.dto.response.CompatibilityBatchResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores one profile against a large list of candidates.
+ * <p>
+ * Candidates are split into index ranges that are scored on the common ForkJoin pool.
+ * Each task writes into its own slice of one shared {@code float[]}, and merge-scan scoring does
+ * not allocate, so no per-candidate objects or maps are created. Scores above the threshold are
+ * then packed into {@code long}s (score bits, index) and sorted as primitives to produce the
+ * ranked result.
+ */
+@Component
+public class CompatibilityBatchScorer {
+	static final int SEQUENTIAL_THRESHOLD = 1024;
+
+	@Autowired
+	private CompatibilityEngine compatibilityEngine;
+
+	@Autowired
+	private TasteProfileStore tasteProfileStore;
+
+	/**
+	 * @param profile    profile to compare with
+	 * @param candidates candidate user ids; unknown users score 0
+	 * @param threshold  minimal score to include, results always exclude 0
+	 * @param limit      maximum number of results
+	 */
+	public CompatibilityBatchResponse score(TasteProfile profile, UUID[] candidates, float threshold, int limit) {
+		float[] scores = new float[candidates.length];
+		ScoreTask task = new ScoreTask(tasteProfileStore, compatibilityEngine, profile, candidates, scores, 0, candidates.length);
+
+		if (candidates.length <= SEQUENTIAL_THRESHOLD) {
+			task.compute();
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+
+		return rank(candidates, scores, threshold, limit);
+	}
+
+	static CompatibilityBatchResponse rank(UUID[] candidates, float[] scores, float threshold, int limit) {
+		long[] packed = new long[scores.length];
+		int size = 0;
+
+		for (int i = 0; i < scores.length; i++) {
+			float score = scores[i];
+
+			if (score > 0 && score >= threshold) {
+				// scores are non-negative, so their IEEE 754 bits sort in the same order as the values
+				packed[size++] = ((long) Float.floatToIntBits(score) << 32) | i;
+			}
+		}
+
+		Arrays.sort(packed, 0, size);
+
+		int resultSize = Math.min(size, Math.max(limit, 0));
+		UUID[] userIds = new UUID[resultSize];
+		float[] resultScores = new float[resultSize];
+
+		for (int i = 0; i < resultSize; i++) {
+			long entry = packed[size - 1 - i];
+			int index = (int) entry;
+
+			userIds[i] = candidates[index];
+			resultScores[i] = Float.intBitsToFloat((int) (entry >>> 32));
+		}
+
+		return new CompatibilityBatchResponse(userIds, resultScores);
+	}
+
+	private static final class ScoreTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final TasteProfileStore tasteProfileStore;
+		private final CompatibilityEngine compatibilityEngine;
+		private final TasteProfile profile;
+		private final UUID[] candidates;
+		private final float[] scores;
+		private final int from;
+		private final int to;
+
+		ScoreTask(
+				TasteProfileStore tasteProfileStore,
+				CompatibilityEngine compatibilityEngine,
+				TasteProfile profile,
+				UUID[] candidates,
+				float[] scores,
+				int from,
+				int to
+		) {
+			this.tasteProfileStore = tasteProfileStore;
+			this.compatibilityEngine = compatibilityEngine;
+			this.profile = profile;
+			this.candidates = candidates;
+			this.scores = scores;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= SEQUENTIAL_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					TasteProfile candidate = tasteProfileStore.getOrEmpty(candidates[i]);
+					scores[i] = compatibilityEngine.score(profile, candidate);
+				}
+
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(
+					new ScoreTask(tasteProfileStore, compatibilityEngine, profile, candidates, scores, from, middle),
+					new ScoreTask(tasteProfileStore, compatibilityEngine, profile, candidates, scores, middle, to)
+			);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.soundhub.api.services.compatibility;
+
+import com.soundhub.api.models.Genre;
+import com.soundhub.api.models.User;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Scores taste compatibility between users on dictionary-encoded profiles.
+ * <p>
+ * Each dimension (artists, genres) is a Jaccard index in percent, computed by a single merge-scan
+ * over two sorted int arrays: O(n + m) without hashing or boxing. Dimensions are combined the same
+ * way as before: the mean of both, or the non-zero one when the other has no overlap.
+ */
+@Component
+public class CompatibilityEngine {
+	private final TasteDictionary dictionary = new TasteDictionary();
+
+	public TasteProfile profileOf(User user) {
+		return profileOf(user.getFavoriteArtistsMbids(), extractGenreIds(user.getFavoriteGenres()));
+	}
+
+	public TasteProfile profileOf(List<UUID> artistIds, List<UUID> genreIds) {
+		return new TasteProfile(dictionary.encodeAll(artistIds), dictionary.encodeAll(genreIds));
+	}
+
+	public float score(TasteProfile profile, TasteProfile other) {
+		float artistCompatibility = jaccard(profile.getArtists(), other.getArtists());
+		float genreCompatibility = jaccard(profile.getGenres(), other.getGenres());
+
+		return mean(artistCompatibility, genreCompatibility);
+	}
+
+	public TasteDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * Jaccard index of two sorted sets of distinct codes, in percent.
+	 */
+	public static float jaccard(int[] sorted, int[] otherSorted) {
+		if (sorted.length == 0 || otherSorted.length == 0) {
+			return 0f;
+		}
+
+		int intersection = intersectionSize(sorted, otherSorted);
+		int union = sorted.length + otherSorted.length - intersection;
+
+		return ((float) intersection / (float) union) * 100;
+	}
+
+	public static int intersectionSize(int[] sorted, int[] otherSorted) {
+		int i = 0;
+		int j = 0;
+		int count = 0;
+
+		while (i < sorted.length && j < otherSorted.length) {
+			int left = sorted[i];
+			int right = otherSorted[j];
+
+			if (left == right) {
+				count++;
+				i++;
+				j++;
+			} else if (left < right) {
+				i++;
+			} else {
+				j++;
+			}
+		}
+
+		return count;
+	}
+
+	public static float mean(float artistCompatibility, float genreCompatibility) {
+		if (artistCompatibility == 0 || genreCompatibility == 0) {
+			return Math.max(artistCompatibility, genreCompatibility);
+		}
+
+		return (artistCompatibility + genreCompatibility) / 2;
+	}
+
+	private static List<UUID> extractGenreIds(List<Genre> genres) {
+		if (genres == null) {
+			return List.of();
+		}
+
+		return genres.stream()
+				.filter(Objects::nonNull)
+				.map(Genre::getId)
+				.toList();
+	}
+}
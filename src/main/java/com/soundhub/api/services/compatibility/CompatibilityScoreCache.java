@@ -0,0 +1,68 @@
+package com.soundhub.api.services.compatibility;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of pair compatibility scores.
+ * <p>
+ * Entries are keyed by both user ids together with their profile versions, so an edit of
+ * favourite genres or artists makes old entries unreachable instead of requiring invalidation;
+ * they are evicted once the cache is full. Scores are symmetric, so (a, b) and (b, a) share an entry.
+ */
+@Component
+public class CompatibilityScoreCache {
+	private final Map<PairKey, Float> scores;
+
+	public CompatibilityScoreCache(@Value("${compatibility.cache.max-size:100000}") int maxSize) {
+		this.scores = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<PairKey, Float> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public float getOrCompute(UUID userId, long version, UUID otherUserId, long otherVersion, Supplier<Float> score) {
+		if (userId == null || otherUserId == null) {
+			return score.get();
+		}
+
+		PairKey key = PairKey.of(userId, version, otherUserId, otherVersion);
+
+		synchronized (scores) {
+			Float cached = scores.get(key);
+
+			if (cached != null) {
+				return cached;
+			}
+		}
+
+		float computed = score.get();
+
+		synchronized (scores) {
+			scores.put(key, computed);
+		}
+
+		return computed;
+	}
+
+	public int size() {
+		synchronized (scores) {
+			return scores.size();
+		}
+	}
+
+	record PairKey(UUID first, long firstVersion, UUID second, long secondVersion) {
+		static PairKey of(UUID userId, long version, UUID otherUserId, long otherVersion) {
+			return userId.compareTo(otherUserId) <= 0
+					? new PairKey(userId, version, otherUserId, otherVersion)
+					: new PairKey(otherUserId, otherVersion, userId, version);
+		}
+	}
+}
@@ -0,0 +1,222 @@
+package com.soundhub.api.services.compatibility;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures of taste profiles.
+ * <p>
+ * A profile is treated as one set of tokens (artist and genre codes in separate token spaces).
+ * Its signature of {@code bands * rows} MinHash values is split into bands, and every band is hashed
+ * into a bucket. Two users share at least one bucket with probability {@code 1 - (1 - s^rows)^bands},
+ * where {@code s} is the Jaccard similarity of their token sets, so a lookup only touches users
+ * that are likely to be similar instead of the whole user base. That probability crosses one half
+ * around {@code s = (1 / bands)^(1 / rows)}: about 0.42 for 32 bands of 4 rows, where users with
+ * a similarity of 0.2 collide 5% of the time and those with 0.6 almost always do.
+ * <p>
+ * Few rows per band lower that threshold until most users sharing a genre collide, and identical
+ * profiles, such as users with a single common genre, always share every bucket. A lookup therefore
+ * visits at most a bounded number of bucket members, see {@link #candidates(TasteProfile, int)}.
+ */
+public class MinHashLshIndex {
+	private static final long SEED = 0x5DEECE66DL;
+
+	private static final int MIN_SCAN_BUDGET = 1024;
+
+	private static final int SCAN_BUDGET_PER_CANDIDATE = 4;
+
+	private final int bands;
+	private final int rows;
+	private final long[] seeds;
+	private final List<Map<Long, Set<UUID>>> buckets;
+	private final Map<UUID, long[]> bandKeysByUser = new ConcurrentHashMap<>();
+	private final Object writeLock = new Object();
+
+	public MinHashLshIndex(int bands, int rows) {
+		if (bands <= 0 || rows <= 0) {
+			throw new IllegalArgumentException("bands and rows must be positive");
+		}
+
+		this.bands = bands;
+		this.rows = rows;
+		this.seeds = new long[bands * rows];
+		this.buckets = new ArrayList<>(bands);
+
+		SplittableRandom random = new SplittableRandom(SEED);
+
+		for (int i = 0; i < seeds.length; i++) {
+			seeds[i] = random.nextLong();
+		}
+
+		for (int band = 0; band < bands; band++) {
+			buckets.add(new ConcurrentHashMap<>());
+		}
+	}
+
+	public void put(UUID userId, TasteProfile profile) {
+		synchronized (writeLock) {
+			unlink(userId);
+
+			if (profile.isEmpty()) {
+				return;
+			}
+
+			long[] bandKeys = bandKeys(profile);
+
+			for (int band = 0; band < bands; band++) {
+				buckets.get(band)
+						.computeIfAbsent(bandKeys[band], key -> ConcurrentHashMap.newKeySet())
+						.add(userId);
+			}
+
+			bandKeysByUser.put(userId, bandKeys);
+		}
+	}
+
+	public void remove(UUID userId) {
+		synchronized (writeLock) {
+			unlink(userId);
+		}
+	}
+
+	/**
+	 * Returns users that share at least one band bucket with the given profile. When there are more than
+	 * {@code maxCandidates}, keeps the ones sharing the most buckets, which are the most likely to be similar;
+	 * the result is ordered by that count, highest first.
+	 * <p>
+	 * Buckets are scanned band by band until {@code 4 * maxCandidates} members, and at least 1024, have been
+	 * visited, so the cost of a lookup does not grow with the size of its buckets.
+	 */
+	public Set<UUID> candidates(TasteProfile profile, int maxCandidates) {
+		if (profile.isEmpty() || maxCandidates <= 0) {
+			return Set.of();
+		}
+
+		long budget = Math.max(MIN_SCAN_BUDGET, (long) maxCandidates * SCAN_BUDGET_PER_CANDIDATE);
+		Map<UUID, Integer> collisions = countCollisions(bandKeys(profile), budget);
+
+		if (collisions.size() <= maxCandidates) {
+			return collisions.keySet();
+		}
+
+		PriorityQueue<Map.Entry<UUID, Integer>> top = new PriorityQueue<>(maxCandidates + 1, Map.Entry.comparingByValue());
+
+		for (Map.Entry<UUID, Integer> entry : collisions.entrySet()) {
+			top.add(entry);
+
+			if (top.size() > maxCandidates) {
+				top.poll();
+			}
+		}
+
+		List<Map.Entry<UUID, Integer>> ranked = new ArrayList<>(top);
+		ranked.sort(Map.Entry.<UUID, Integer>comparingByValue().reversed());
+
+		Set<UUID> candidates = new LinkedHashSet<>(ranked.size());
+		ranked.forEach(entry -> candidates.add(entry.getKey()));
+
+		return candidates;
+	}
+
+	public int size() {
+		return bandKeysByUser.size();
+	}
+
+	/**
+	 * Counts the buckets each user shares with the band keys, visiting at most {@code budget} bucket members.
+	 */
+	private Map<UUID, Integer> countCollisions(long[] bandKeys, long budget) {
+		Map<UUID, Integer> collisions = new HashMap<>();
+		long visited = 0;
+
+		for (int band = 0; band < bands; band++) {
+			Set<UUID> bucket = buckets.get(band).get(bandKeys[band]);
+
+			if (bucket == null) {
+				continue;
+			}
+
+			for (UUID userId : bucket) {
+				if (visited++ == budget) {
+					return collisions;
+				}
+
+				collisions.merge(userId, 1, Integer::sum);
+			}
+		}
+
+		return collisions;
+	}
+
+	long[] signature(TasteProfile profile) {
+		long[] signature = new long[seeds.length];
+		Arrays.fill(signature, Long.MAX_VALUE);
+
+		for (int artist : profile.getArtists()) {
+			updateSignature(signature, (long) artist << 1);
+		}
+
+		for (int genre : profile.getGenres()) {
+			updateSignature(signature, ((long) genre << 1) | 1);
+		}
+
+		return signature;
+	}
+
+	private long[] bandKeys(TasteProfile profile) {
+		long[] signature = signature(profile);
+		long[] bandKeys = new long[bands];
+
+		for (int band = 0; band < bands; band++) {
+			long key = band;
+
+			for (int row = 0; row < rows; row++) {
+				key = mix(key * 31 + signature[band * rows + row]);
+			}
+
+			bandKeys[band] = key;
+		}
+
+		return bandKeys;
+	}
+
+	private void updateSignature(long[] signature, long token) {
+		for (int i = 0; i < seeds.length; i++) {
+			long hash = mix(token ^ seeds[i]);
+
+			if (hash < signature[i]) {
+				signature[i] = hash;
+			}
+		}
+	}
+
+	private void unlink(UUID userId) {
+		long[] previous = bandKeysByUser.remove(userId);
+
+		if (previous == null) {
+			return;
+		}
+
+		for (int band = 0; band < bands; band++) {
+			Map<Long, Set<UUID>> bandBuckets = buckets.get(band);
+			Set<UUID> bucket = bandBuckets.get(previous[band]);
+
+			if (bucket != null) {
+				bucket.remove(userId);
+
+				if (bucket.isEmpty()) {
+					bandBuckets.remove(previous[band]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * SplitMix64 finalizer.
+	 */
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+}
@@ -0,0 +1,55 @@
+package com.soundhub.api.services.compatibility;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps artist MBIDs and genre ids to dense, stable int codes so taste sets can be compared as primitive arrays.
+ * Codes are assigned on first sight and never reused for the lifetime of the process.
+ */
+public class TasteDictionary {
+	private final Map<UUID, Integer> codes = new ConcurrentHashMap<>();
+	private final AtomicInteger nextCode = new AtomicInteger();
+
+	public int encode(UUID id) {
+		return codes.computeIfAbsent(id, key -> nextCode.getAndIncrement());
+	}
+
+	/**
+	 * Encodes the given ids into a sorted array without duplicates and {@code null}s.
+	 */
+	public int[] encodeAll(Collection<UUID> ids) {
+		if (ids == null || ids.isEmpty()) {
+			return new int[0];
+		}
+
+		int[] encoded = new int[ids.size()];
+		int size = 0;
+
+		for (UUID id : ids) {
+			if (id != null) {
+				encoded[size++] = encode(id);
+			}
+		}
+
+		Arrays.sort(encoded, 0, size);
+
+		int distinct = 0;
+
+		for (int i = 0; i < size; i++) {
+			if (distinct == 0 || encoded[distinct - 1] != encoded[i]) {
+				encoded[distinct++] = encoded[i];
+			}
+		}
+
+		return distinct == encoded.length ? encoded : Arrays.copyOf(encoded, distinct);
+	}
+
+	public int size() {
+		return codes.size();
+	}
+}
@@ -0,0 +1,20 @@
+package com.soundhub.api.services.compatibility;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Dictionary-encoded favourite artists and genres of a user, each stored as a sorted array of distinct codes.
+ */
+@Getter
+@AllArgsConstructor
+public class TasteProfile {
+	public static final TasteProfile EMPTY = new TasteProfile(new int[0], new int[0]);
+
+	private final int[] artists;
+	private final int[] genres;
+
+	public boolean isEmpty() {
+		return artists.length == 0 && genres.length == 0;
+	}
+}
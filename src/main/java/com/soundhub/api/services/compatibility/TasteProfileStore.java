@@ -0,0 +1,98 @@
+package com.soundhub.api.services.compatibility;
+
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.UserTasteItemView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory taste profiles of all users together with their MinHash LSH index.
+ * Loaded once on startup from (user, item) projections and kept up to date from profile change events.
+ */
+@Slf4j
+@Component
+public class TasteProfileStore {
+	private final Map<UUID, TasteProfile> profiles = new ConcurrentHashMap<>();
+	private final MinHashLshIndex lshIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CompatibilityEngine compatibilityEngine;
+
+	public TasteProfileStore(
+			@Value("${compatibility.lsh.bands:32}") int bands,
+			@Value("${compatibility.lsh.rows:4}") int rows
+	) {
+		this.lshIndex = new MinHashLshIndex(bands, rows);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		Map<UUID, List<UUID>> artists = groupByUser(userRepository.findAllFavoriteArtistIds());
+		Map<UUID, List<UUID>> genres = groupByUser(userRepository.findAllFavoriteGenreIds());
+		Set<UUID> userIds = new HashSet<>(artists.keySet());
+		userIds.addAll(genres.keySet());
+
+		userIds.forEach(userId -> put(userId, compatibilityEngine.profileOf(
+				artists.getOrDefault(userId, List.of()),
+				genres.getOrDefault(userId, List.of())
+		)));
+
+		log.info("warmUp[1]: loaded taste profiles of {} users", userIds.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserProfileChanged(UserProfileChangedEvent event) {
+		put(event.getUser().getId(), compatibilityEngine.profileOf(event.getUser()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		remove(event.getUserId());
+	}
+
+	public void put(UUID userId, TasteProfile profile) {
+		profiles.put(userId, profile);
+		lshIndex.put(userId, profile);
+	}
+
+	public void remove(UUID userId) {
+		profiles.remove(userId);
+		lshIndex.remove(userId);
+	}
+
+	public Optional<TasteProfile> get(UUID userId) {
+		return Optional.ofNullable(profiles.get(userId));
+	}
+
+	public TasteProfile getOrEmpty(UUID userId) {
+		return profiles.getOrDefault(userId, TasteProfile.EMPTY);
+	}
+
+	public Set<UUID> candidatesOf(TasteProfile profile, int maxCandidates) {
+		return lshIndex.candidates(profile, maxCandidates);
+	}
+
+	public int size() {
+		return profiles.size();
+	}
+
+	private static Map<UUID, List<UUID>> groupByUser(List<UserTasteItemView> items) {
+		Map<UUID, List<UUID>> grouped = new HashMap<>();
+		items.forEach(item -> grouped.computeIfAbsent(item.getUserId(), key -> new ArrayList<>()).add(item.getItemId()));
+
+		return grouped;
+	}
+}
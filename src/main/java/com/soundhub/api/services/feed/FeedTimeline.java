@@ -0,0 +1,80 @@
+package com.soundhub.api.services.feed;
+
+import com.soundhub.api.util.PostCursor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Newest-first, size-bounded list of post keys from one user's friends.
+ * <p>
+ * Once entries have been dropped to stay within {@code maxSize} the timeline is marked truncated: it still holds
+ * the newest posts, but pages past its oldest entry must be read from the database.
+ */
+public class FeedTimeline {
+	private final NavigableSet<PostCursor> entries = new ConcurrentSkipListSet<>(PostCursor.NEWEST_FIRST);
+	private final int maxSize;
+	private volatile boolean truncated;
+	private volatile boolean ready;
+
+	public FeedTimeline(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public void add(PostCursor entry) {
+		entries.add(entry);
+
+		while (entries.size() > maxSize) {
+			entries.pollLast();
+			truncated = true;
+		}
+	}
+
+	public boolean remove(PostCursor entry) {
+		return entries.remove(entry);
+	}
+
+	public void addAll(List<PostCursor> pulled, boolean complete) {
+		pulled.forEach(this::add);
+
+		if (!complete) {
+			truncated = true;
+		}
+	}
+
+	/**
+	 * Returns up to {@code limit} entries strictly older than {@code cursor}, or the newest ones when it is {@code null}.
+	 */
+	public List<PostCursor> olderThan(PostCursor cursor, int limit) {
+		NavigableSet<PostCursor> tail = cursor == null ? entries : entries.tailSet(cursor, false);
+		List<PostCursor> result = new ArrayList<>(Math.min(limit, maxSize));
+
+		for (PostCursor entry : tail) {
+			if (result.size() >= limit) {
+				break;
+			}
+
+			result.add(entry);
+		}
+
+		return result;
+	}
+
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	void markReady() {
+		ready = true;
+	}
+
+	public int size() {
+		return entries.size();
+	}
+}
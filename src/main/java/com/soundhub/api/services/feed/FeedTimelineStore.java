@@ -0,0 +1,154 @@
+package com.soundhub.api.services.feed;
+
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.PostCreatedEvent;
+import com.soundhub.api.events.PostDeletedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.repositories.PostRepository;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.util.PostCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory feed timelines, filled by fan-out on write.
+ * <p>
+ * A timeline is materialized on the first feed read of its owner by pulling the newest posts of their friends,
+ * and from then on every new post is pushed into the timelines of the author's followers. At most
+ * {@code feed.timeline.max-users} timelines are kept, least recently used first out. Deleted posts are
+ * removed from every timeline. Authors with more than
+ * {@code feed.fan-out.max-followers} followers are not fanned out: they are remembered as celebrities and
+ * their posts are pulled at read time instead.
+ */
+@Slf4j
+@Component
+public class FeedTimelineStore {
+	private final Map<UUID, FeedTimeline> timelines;
+	private final Set<UUID> celebrities = ConcurrentHashMap.newKeySet();
+	private final int timelineSize;
+	private final int maxFanOut;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	public FeedTimelineStore(
+			@Value("${feed.timeline.max-size:500}") int timelineSize,
+			@Value("${feed.timeline.max-users:10000}") int maxUsers,
+			@Value("${feed.fan-out.max-followers:1000}") int maxFanOut
+	) {
+		this.timelineSize = timelineSize;
+		this.maxFanOut = maxFanOut;
+		this.timelines = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<UUID, FeedTimeline> eldest) {
+				return size() > maxUsers;
+			}
+		});
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostCreated(PostCreatedEvent event) {
+		UUID authorId = event.getAuthorId();
+
+		if (celebrities.contains(authorId)) {
+			return;
+		}
+
+		List<UUID> followers = userRepository.findFollowerIds(authorId, PageRequest.of(0, maxFanOut + 1));
+
+		if (followers.size() > maxFanOut) {
+			celebrities.add(authorId);
+			log.info("onPostCreated[1]: author {} switched to pull-on-read", authorId);
+			return;
+		}
+
+		PostCursor entry = new PostCursor(event.getCreatedAt(), event.getPostId());
+		int delivered = 0;
+
+		for (UUID followerId : followers) {
+			FeedTimeline timeline = timelines.get(followerId);
+
+			if (timeline != null) {
+				timeline.add(entry);
+				delivered++;
+			}
+		}
+
+		log.debug("onPostCreated[2]: post {} pushed to {} of {} follower timelines", event.getPostId(), delivered, followers.size());
+	}
+
+	/**
+	 * Removes the post from every materialized timeline. Posts of celebrities are pulled into timelines
+	 * when they are built too, so the lookup does not go through the author's followers.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostDeleted(PostDeletedEvent event) {
+		PostCursor entry = new PostCursor(event.getCreatedAt(), event.getPostId());
+		List<FeedTimeline> materialized;
+
+		synchronized (timelines) {
+			materialized = new ArrayList<>(timelines.values());
+		}
+
+		long removed = materialized.stream().filter(timeline -> timeline.remove(entry)).count();
+
+		log.debug("onPostDeleted[1]: post {} removed from {} timelines", event.getPostId(), removed);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onFriendshipChanged(FriendshipChangedEvent event) {
+		invalidate(event.getUserId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		invalidate(event.getUserId());
+		celebrities.remove(event.getUserId());
+	}
+
+	/**
+	 * Returns the user's timeline, pulling the newest posts of {@code friendIds} if it is not materialized yet.
+	 * Posts fanned out while the pull runs land in the same timeline, so none are lost.
+	 */
+	public FeedTimeline getOrBuild(UUID userId, Collection<UUID> friendIds) {
+		FeedTimeline timeline = timelines.computeIfAbsent(userId, key -> new FeedTimeline(timelineSize));
+
+		if (!timeline.isReady()) {
+			List<PostCursor> pulled = pull(friendIds, null, timelineSize);
+
+			timeline.addAll(pulled, pulled.size() < timelineSize);
+			timeline.markReady();
+		}
+
+		return timeline;
+	}
+
+	/**
+	 * Reads up to {@code limit} newest post keys of the given authors strictly older than {@code cursor}.
+	 */
+	public List<PostCursor> pull(Collection<UUID> authorIds, PostCursor cursor, int limit) {
+		return postRepository.findKeysByAuthors(authorIds, cursor, limit);
+	}
+
+	public List<UUID> celebritiesAmong(Collection<UUID> userIds) {
+		return userIds.stream().filter(celebrities::contains).toList();
+	}
+
+	public void invalidate(UUID userId) {
+		timelines.remove(userId);
+	}
+
+	public int size() {
+		return timelines.size();
+	}
+}
@@ -0,0 +1,77 @@
+package com.soundhub.api.services.impl;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.response.PostPageResponse;
+import com.soundhub.api.models.Post;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.PostRepository;
+import com.soundhub.api.services.FeedService;
+import com.soundhub.api.services.UserService;
+import com.soundhub.api.services.feed.FeedTimeline;
+import com.soundhub.api.services.feed.FeedTimelineStore;
+import com.soundhub.api.services.likes.PostLikeCounter;
+import com.soundhub.api.util.PostCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class FeedServiceImpl implements FeedService {
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private FeedTimelineStore feedTimelineStore;
+
+	@Autowired
+	private PostRepository postRepository;
+
+	@Autowired
+	private PostLikeCounter postLikeCounter;
+
+	/**
+	 * Reads one page of the current user's feed: the next keys come from their timeline, merged with
+	 * pulled posts of celebrity friends, or read from the database altogether once the page goes past
+	 * a truncated timeline. The page is then loaded with a single query.
+	 */
+	@Override
+	public PostPageResponse getFeed(String cursorToken, int size) {
+		User currentUser = userService.getCurrentUser();
+		int pageSize = Math.max(1, Math.min(size, Constants.MAX_FEED_PAGE_SIZE));
+		PostCursor cursor = PostCursor.decode(cursorToken);
+		List<UUID> friendIds = currentUser.getFriends().stream().map(User::getId).toList();
+
+		if (friendIds.isEmpty()) {
+			return new PostPageResponse(List.of(), null);
+		}
+
+		int limit = pageSize + 1;
+		FeedTimeline timeline = feedTimelineStore.getOrBuild(currentUser.getId(), friendIds);
+		List<PostCursor> fromTimeline = timeline.olderThan(cursor, limit);
+		NavigableSet<PostCursor> keys = new TreeSet<>(PostCursor.NEWEST_FIRST);
+
+		keys.addAll(fromTimeline);
+
+		if (fromTimeline.size() < limit && timeline.isTruncated()) {
+			keys.addAll(feedTimelineStore.pull(friendIds, cursor, limit));
+		} else {
+			keys.addAll(feedTimelineStore.pull(feedTimelineStore.celebritiesAmong(friendIds), cursor, limit));
+		}
+
+		List<PostCursor> page = keys.stream().limit(pageSize).toList();
+		String nextCursor = keys.size() > pageSize ? page.get(page.size() - 1).encode() : null;
+
+		List<Post> posts = postRepository.findAllWithImagesInOrder(page.stream().map(PostCursor::id).toList());
+
+		postRepository.markLikedBy(posts, currentUser.getId());
+		postLikeCounter.applyPending(posts);
+		log.debug("getFeed[1]: {} posts for user {}, timeline size {}", page.size(), currentUser.getId(), timeline.size());
+		return new PostPageResponse(posts, nextCursor);
+	}
+}
@@ -1,22 +1,45 @@
 package com.soundhub.api.services.impl;
 
 import com.soundhub.api.Constants;
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import com.soundhub.api.services.FileService;
+import com.soundhub.api.services.strategies.media.CachingMediaFileSource;
+import com.soundhub.api.services.strategies.media.MediaFileMetadata;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.services.strategies.media.PresignedUrl;
+import com.soundhub.api.services.strategies.media.S3MediaFileSource;
+import com.soundhub.api.util.FileUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Service
 @Slf4j
@@ -24,28 +47,112 @@ public class FileServiceImpl implements FileService {
 	@Autowired
 	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
 
+	@Autowired
+	@Qualifier(Constants.MEDIA_UPLOAD_EXECUTOR)
+	private AsyncTaskExecutor uploadExecutor;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${media.upload.max-concurrency-per-request:4}")
+	private int maxConcurrencyPerRequest;
+
+	@Value("${media.s3.direct-upload.max-size:20MB}")
+	private DataSize maxDirectUploadSize;
+
 	@Override
 	public String uploadFile(String path, MultipartFile file) throws IOException {
 		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
 
-		return strategy.uploadFile(path, file);
+		return upload(strategy, path, file);
 	}
 
+	/**
+	 * Uploads the files on the bounded media upload executor, at most {@code media.upload.max-concurrency-per-request}
+	 * of them at a time, and returns their names in input order.
+	 * If any upload fails, no further files are started, and once the started ones have finished
+	 * every uploaded file is deleted before the error is thrown.
+	 */
 	@Override
 	public List<String> uploadFileList(String path, List<MultipartFile> multipartFile) {
-		List<String> names = new ArrayList<>();
+		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+		AtomicReferenceArray<String> names = new AtomicReferenceArray<>(multipartFile.size());
+		AtomicReference<RuntimeException> failure = new AtomicReference<>();
+		Semaphore permits = new Semaphore(Math.max(1, maxConcurrencyPerRequest));
+		List<Future<?>> uploads = new ArrayList<>(multipartFile.size());
+
+		try {
+			for (int i = 0; i < multipartFile.size() && failure.get() == null; i++) {
+				int index = i;
+				MultipartFile file = multipartFile.get(i);
+
+				permits.acquire();
+
+				try {
+					uploads.add(uploadExecutor.submit(() -> {
+						try {
+							if (failure.get() == null) {
+								names.set(index, upload(strategy, path, file));
+							}
+						} catch (RuntimeException e) {
+							failure.compareAndSet(null, e);
+						} finally {
+							permits.release();
+						}
+					}));
+				} catch (TaskRejectedException e) {
+					permits.release();
+					failure.compareAndSet(null, new ApiException(HttpStatus.SERVICE_UNAVAILABLE, Constants.UPLOAD_CAPACITY_EXCEEDED));
+				}
+			}
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			failure.compareAndSet(null, new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, Constants.UPLOAD_INTERRUPTED));
+		}
+
+		awaitAll(uploads, failure);
+
+		if (failure.get() != null) {
+			rollback(strategy, path, names);
+			throw toApiException(failure.get());
+		}
+
+		List<String> result = new ArrayList<>(names.length());
+
+		for (int i = 0; i < names.length(); i++) {
+			result.add(names.get(i));
+		}
 
-		multipartFile.parallelStream()
-				.forEach(file -> {
-					try {
-						String uploadedFileName = uploadFile(path, file);
-						names.add(uploadedFileName);
-					} catch (IOException e) {
-						throw new ApiException(HttpStatus.BAD_REQUEST, e.getMessage());
-					}
-				});
+		return result;
+	}
+
+	/**
+	 * Waits until every submitted upload has finished, whatever its outcome, so no upload is still writing
+	 * when the uploaded files are rolled back. An interrupt only stops the uploads not started yet;
+	 * the interrupt flag is restored once all of them have settled.
+	 */
+	private void awaitAll(List<Future<?>> uploads, AtomicReference<RuntimeException> failure) {
+		boolean interrupted = Thread.interrupted();
 
-		return names;
+		for (Future<?> upload : uploads) {
+			while (true) {
+				try {
+					upload.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+					failure.compareAndSet(null, new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, Constants.UPLOAD_INTERRUPTED));
+				} catch (ExecutionException e) {
+					failure.compareAndSet(null, new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getCause().getMessage()));
+					break;
+				}
+			}
+		}
+
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	@Override
@@ -58,4 +165,150 @@ public class FileServiceImpl implements FileService {
 			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, filename));
 		}
 	}
+
+	@Override
+	public Optional<Path> getLocalFile(String path, String filename) {
+		String fullPath = Paths.get(path, filename).toString();
+
+		return mediaFileSourceStrategyFactory.getStrategy()
+				.getLocalPath(fullPath);
+	}
+
+	@Override
+	public MediaFileMetadata getFileMetadata(String path, String filename) {
+		String fullPath = Paths.get(path, filename).toString();
+
+		return mediaFileSourceStrategyFactory.getStrategy()
+				.getMetadata(fullPath);
+	}
+
+	@Override
+	public Optional<PresignedUrl> getRedirectUrl(String path, String filename) {
+		String fullPath = Paths.get(path, filename).toString();
+
+		return mediaFileSourceStrategyFactory.getStrategy()
+				.getRedirectUrl(fullPath);
+	}
+
+	/**
+	 * Signs a direct upload of the described file to object storage under a new unique name,
+	 * so uploads never overwrite each other.
+	 */
+	@Override
+	public PresignedUploadResponse createPresignedUpload(String path, PresignedUploadRequest request) {
+		S3MediaFileSource s3Source = getDirectUploadSource();
+
+		if (request.getContentLength() > maxDirectUploadSize.toBytes()) {
+			throw new ApiException(
+					HttpStatus.PAYLOAD_TOO_LARGE,
+					String.format(Constants.UPLOAD_TOO_LARGE, maxDirectUploadSize.toBytes())
+			);
+		}
+
+		String filename = FileUtils.generateFileName(request.getFilename());
+		PresignedPutObjectRequest presigned = s3Source.presignPut(
+				Paths.get(path, filename).toString(),
+				request.getContentType(),
+				request.getContentLength()
+		);
+		Map<String, String> headers = new HashMap<>();
+
+		presigned.signedHeaders().forEach((name, values) -> {
+			if (!name.equalsIgnoreCase(HttpHeaders.HOST)) {
+				headers.put(name, String.join(",", values));
+			}
+		});
+
+		log.debug("createPresignedUpload[1]: signed direct upload of {} as {}", request.getFilename(), filename);
+		return new PresignedUploadResponse(presigned.url().toString(), filename, headers, presigned.expiration());
+	}
+
+	/**
+	 * Called by the client once its direct upload finished: checks that the object arrived within the size limit
+	 * and returns its name. Oversized objects are deleted.
+	 */
+	@Override
+	public String completePresignedUpload(String path, String filename) {
+		S3MediaFileSource s3Source = getDirectUploadSource();
+
+		if (filename.contains("/") || filename.contains("\\") || filename.contains("..")) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, String.format(Constants.INVALID_FILE_NAME, filename));
+		}
+
+		MediaFileMetadata metadata = s3Source.getMetadata(Paths.get(path, filename).toString());
+
+		if (metadata.contentLength() > maxDirectUploadSize.toBytes()) {
+			s3Source.deleteFile(path, filename);
+
+			throw new ApiException(
+					HttpStatus.PAYLOAD_TOO_LARGE,
+					String.format(Constants.UPLOAD_TOO_LARGE, maxDirectUploadSize.toBytes())
+			);
+		}
+
+		log.debug("completePresignedUpload[1]: direct upload of {} completed, {} bytes", filename, metadata.contentLength());
+		return filename;
+	}
+
+	private S3MediaFileSource getDirectUploadSource() {
+		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+
+		if (strategy instanceof CachingMediaFileSource cachingSource) {
+			return cachingSource.getDelegate();
+		}
+
+		if (strategy instanceof S3MediaFileSource s3Source) {
+			return s3Source;
+		}
+
+		throw new ApiException(HttpStatus.BAD_REQUEST, Constants.DIRECT_UPLOAD_UNSUPPORTED);
+	}
+
+	private String upload(MediaFileSourceStrategy strategy, String path, MultipartFile file) {
+		long start = System.nanoTime();
+		String outcome = "failure";
+
+		try {
+			String name = strategy.uploadFile(path, file);
+
+			outcome = "success";
+			DistributionSummary.builder("media.upload.size")
+					.description("Size of uploaded media files")
+					.baseUnit("bytes")
+					.register(meterRegistry)
+					.record(file.getSize());
+
+			return name;
+		} finally {
+			Timer.builder("media.upload.duration")
+					.description("Time to upload one media file")
+					.tag("outcome", outcome)
+					.publishPercentileHistogram()
+					.register(meterRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private void rollback(MediaFileSourceStrategy strategy, String path, AtomicReferenceArray<String> names) {
+		for (int i = 0; i < names.length(); i++) {
+			String name = names.get(i);
+
+			if (name == null) {
+				continue;
+			}
+
+			try {
+				strategy.deleteFile(path, name);
+				log.debug("rollback[1]: deleted uploaded file {} of a failed upload", name);
+			} catch (RuntimeException e) {
+				log.warn("rollback[2]: uploaded file {} could not be deleted: {}", name, e.getMessage());
+			}
+		}
+	}
+
+	private static ApiException toApiException(RuntimeException e) {
+		return e instanceof ApiException apiException
+				? apiException
+				: new ApiException(HttpStatus.BAD_REQUEST, e.getMessage());
+	}
 }
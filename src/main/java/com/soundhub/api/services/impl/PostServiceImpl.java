@@ -2,20 +2,28 @@ package com.soundhub.api.services.impl;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.dto.PostDto;
+import com.soundhub.api.dto.response.PostPageResponse;
+import com.soundhub.api.events.PostCreatedEvent;
+import com.soundhub.api.events.PostDeletedEvent;
+import com.soundhub.api.events.PostLikeToggledEvent;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import com.soundhub.api.models.Post;
 import com.soundhub.api.models.User;
 import com.soundhub.api.repositories.PostRepository;
+import com.soundhub.api.repositories.UserRepository;
 import com.soundhub.api.services.FileService;
 import com.soundhub.api.services.PostService;
 import com.soundhub.api.services.UserService;
+import com.soundhub.api.services.likes.PostLikeCounter;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.util.PostCursor;
 import com.soundhub.api.util.mappers.PostMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -33,6 +41,9 @@ public class PostServiceImpl implements PostService {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private UserRepository userRepository;
+
 	@Autowired
 	private FileService fileService;
 
@@ -42,6 +53,12 @@ public class PostServiceImpl implements PostService {
 	@Autowired
 	private MediaFileSourceStrategyFactory mediaFileSourceFactory;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PostLikeCounter postLikeCounter;
+
 	@Value("${media.folder.posts}")
 	private String basePostFolder;
 
@@ -66,29 +83,42 @@ public class PostServiceImpl implements PostService {
 			fileNames = fileService.uploadFileList(postFolderWithId, files);
 
 			post.setImages(fileNames);
-
-			return postRepository.save(post);
+			post = postRepository.save(post);
 		}
 
+		eventPublisher.publishEvent(new PostCreatedEvent(post.getId(), author.getId(), post.getCreatedAt()));
+
 		return post;
 	}
 
+	/**
+	 * Flips the like of {@code user} on the post with one existence check and one insert or delete on the
+	 * {@code user_posts} row. The counter delta of the rows actually changed is buffered by {@link PostLikeCounter}
+	 * after commit, so the cost depends neither on how many likes the post has nor on how many arrive at once.
+	 */
 	@Override
+	@Transactional
 	public Post toggleLike(UUID postId, User user) {
 		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(
 						Constants.POST_RESOURCE_NAME, Constants.ID_FIELD, postId)
 				);
 
-		Set<User> likes = new HashSet<>(post.getLikes());
-		boolean isChanged = likes.contains(user) ? likes.remove(user) : likes.add(user);
+		boolean liked = postRepository.existsLike(postId, user.getId());
+		int changed = liked
+				? postRepository.deleteLike(postId, user.getId())
+				: postRepository.insertLike(postId, user.getId());
 
-		log.info("toggleLike[1]: Toggled like successfully: {}", isChanged);
+		long delta = liked ? -changed : changed;
 
-		if (isChanged) {
-			postRepository.save(post);
+		if (delta != 0) {
+			eventPublisher.publishEvent(new PostLikeToggledEvent(postId, delta));
 		}
 
+		post.setLikeCount(post.getLikeCount() + postLikeCounter.pending(postId) + delta);
+		post.setLikedByMe(!liked);
+		log.info("toggleLike[1]: Toggled like successfully: {}", changed > 0);
+
 		return post;
 	}
 
@@ -96,12 +126,15 @@ public class PostServiceImpl implements PostService {
 	public Post getPostById(UUID postId) {
 		log.info("getPostById[1]: Getting post by ID {}", postId);
 
-		return postRepository.findById(postId)
+		Post post = postRepository.findById(postId)
 				.orElseThrow(() -> new ResourceNotFoundException(
 						Constants.POST_RESOURCE_NAME,
 						Constants.ID_FIELD,
 						postId
 				));
+
+		markLikedByCurrentUser(List.of(post));
+		return post;
 	}
 
 	@Override
@@ -117,6 +150,7 @@ public class PostServiceImpl implements PostService {
 		postImages.forEach(file -> mediaSource.deleteFile(postFolder, file));
 
 		postRepository.delete(post);
+		eventPublisher.publishEvent(new PostDeletedEvent(post.getId(), post.getAuthor().getId(), post.getCreatedAt()));
 		log.info("deletePost[2]: Images was successfully deleted from the disk. Post ID {} deleted", postId);
 
 		return post.getId();
@@ -201,7 +235,37 @@ public class PostServiceImpl implements PostService {
 		User user = userService.getUserById(authorId);
 		log.info("getPostsByAuthor[1]: User entity was requested {}", user);
 
-		return postRepository.findAllByAuthor(user);
+		return markLikedByCurrentUser(postRepository.findAllByAuthor(user));
+	}
+
+	/**
+	 * Returns one newest-first page of the author's posts, ordered by {@code (createdAt, id)}.
+	 * Page keys come from an index-only keyset query and the posts with their images are loaded in one query.
+	 */
+	@Override
+	public PostPageResponse getPostsByAuthor(UUID authorId, String cursorToken, int size) {
+		int pageSize = Math.max(1, Math.min(size, Constants.MAX_POST_PAGE_SIZE));
+		PostCursor cursor = PostCursor.decode(cursorToken);
+
+		if (!userRepository.existsById(authorId)) {
+			throw new ResourceNotFoundException(Constants.USER_RESOURCE_NAME, Constants.ID_FIELD, authorId);
+		}
+
+		List<PostCursor> keys = postRepository.findKeysByAuthors(List.of(authorId), cursor, pageSize + 1);
+		List<PostCursor> page = keys.subList(0, Math.min(pageSize, keys.size()));
+		String nextCursor = keys.size() > pageSize ? page.get(page.size() - 1).encode() : null;
+
+		log.debug("getPostsByAuthor[2]: page of {} posts for author {}", page.size(), authorId);
+		return new PostPageResponse(
+				markLikedByCurrentUser(postRepository.findAllWithImagesInOrder(page.stream().map(PostCursor::id).toList())),
+				nextCursor
+		);
+	}
+
+	private List<Post> markLikedByCurrentUser(List<Post> posts) {
+		postRepository.markLikedBy(posts, userService.getCurrentUserId());
+		postLikeCounter.applyPending(posts);
+		return posts;
 	}
 
 	private Post validatePostAuthorAndGetPostOrThrow(UUID postId) {
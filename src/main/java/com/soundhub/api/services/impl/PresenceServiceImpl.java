@@ -0,0 +1,139 @@
+package com.soundhub.api.services.impl;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.PresenceDto;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.services.PresenceService;
+import com.soundhub.api.services.presence.PresenceSubscriptionRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps online state in memory and writes it to the {@code users} table in coalesced batches.
+ * <p>
+ * A user that toggles presence many times between two flushes costs a single row update,
+ * and only the latest state is persisted. Presence changes are pushed to the
+ * {@link Constants#PRESENCE_QUEUE_PREFIX} queue of every friend that is currently subscribed.
+ * Offline users are dropped from memory once their state is persisted, unless it changed meanwhile,
+ * so the map only grows with the users online on this instance.
+ * <p>
+ * The state is local to this instance; running several nodes requires a shared store.
+ */
+@Slf4j
+@Service
+public class PresenceServiceImpl implements PresenceService {
+	static final String UPDATE_PRESENCE_SQL = "UPDATE users SET is_online = ?, last_online = ? WHERE id = ?";
+
+	private final Map<UUID, PresenceDto> presences = new ConcurrentHashMap<>();
+	private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Autowired
+	private PresenceSubscriptionRegistry subscriptionRegistry;
+
+	@Override
+	public void updatePresence(UUID userId, boolean online, LocalDateTime lastOnline) {
+		PresenceDto presence = new PresenceDto(userId, online, lastOnline);
+		PresenceDto previous = presences.put(userId, presence);
+
+		if (previous != null && previous.equals(presence)) {
+			return;
+		}
+
+		dirty.add(userId);
+		broadcast(presence);
+	}
+
+	@Override
+	public Optional<PresenceDto> getPresence(UUID userId) {
+		return Optional.ofNullable(presences.get(userId));
+	}
+
+	@Override
+	public void applyPresence(User user) {
+		if (user == null || user.getId() == null) {
+			return;
+		}
+
+		PresenceDto presence = presences.get(user.getId());
+
+		if (presence != null) {
+			user.setOnline(presence.isOnline());
+			user.setLastOnline(presence.getLastOnline());
+		}
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${presence.flush-interval-ms:5000}")
+	public synchronized void flush() {
+		if (dirty.isEmpty()) {
+			return;
+		}
+
+		List<UUID> userIds = new ArrayList<>(dirty);
+		dirty.removeAll(userIds);
+
+		List<PresenceDto> flushed = new ArrayList<>(userIds.size());
+		List<Object[]> batch = new ArrayList<>(userIds.size());
+
+		userIds.forEach(userId -> {
+			PresenceDto presence = presences.get(userId);
+
+			if (presence != null) {
+				Timestamp lastOnline = presence.getLastOnline() != null
+						? Timestamp.valueOf(presence.getLastOnline())
+						: null;
+
+				flushed.add(presence);
+				batch.add(new Object[]{presence.isOnline(), lastOnline, userId});
+			}
+		});
+
+		try {
+			jdbcTemplate.batchUpdate(UPDATE_PRESENCE_SQL, batch);
+			flushed.stream()
+					.filter(presence -> !presence.isOnline())
+					.forEach(presence -> presences.remove(presence.getUserId(), presence));
+			log.debug("flush[1]: persisted presence of {} users", batch.size());
+		} catch (RuntimeException e) {
+			dirty.addAll(userIds);
+			log.error("flush[2]: failed to persist presence of {} users: {}", userIds.size(), e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	private void broadcast(PresenceDto presence) {
+		if (!subscriptionRegistry.hasSubscribers()) {
+			return;
+		}
+
+		userRepository.findFriendIds(presence.getUserId()).stream()
+				.filter(subscriptionRegistry::isSubscribed)
+				.forEach(friendId -> messagingTemplate.convertAndSend(
+						Constants.PRESENCE_QUEUE_PREFIX + friendId, presence
+				));
+	}
+}
@@ -2,27 +2,28 @@ package com.soundhub.api.services.impl;
 
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.KafkaResponseException;
+import com.soundhub.api.exceptions.RecommendationCapacityExceededException;
 import com.soundhub.api.models.User;
 import com.soundhub.api.repositories.UserRepository;
 import com.soundhub.api.services.RecommendationService;
 import com.soundhub.api.services.UserService;
-import com.soundhub.api.util.KafkaResponseParser;
+import com.soundhub.api.services.recommendation.CircuitBreaker;
+import com.soundhub.api.services.recommendation.LocalRecommender;
+import com.soundhub.api.services.recommendation.RecommendationCache;
+import com.soundhub.api.services.recommendation.RecommendationKafkaClient;
 import lombok.extern.slf4j.Slf4j;
-import org.antlr.v4.runtime.misc.Pair;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
-import org.springframework.kafka.KafkaException;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
-import java.util.concurrent.*;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static com.soundhub.api.Constants.*;
@@ -30,36 +31,53 @@ import static com.soundhub.api.Constants.*;
 @Service
 @Slf4j
 public class RecommendationServiceImpl implements RecommendationService {
-	private final Map<String, CompletableFuture<List<UUID>>> pendingRequests = new ConcurrentHashMap<>();
-
-	private final String RECOMMENDATION_PRODUCER_TOPIC;
-
 	private final UserRepository userRepository;
 
 	private final UserService userService;
 
-	private final KafkaTemplate<String, String> kafkaTemplate;
+	private final RecommendationKafkaClient recommendationKafkaClient;
+
+	private final RecommendationCache recommendationCache;
 
-	private final KafkaResponseParser kafkaResponseParser;
+	private final LocalRecommender localRecommender;
+
+	private final CircuitBreaker circuitBreaker;
+
+	private final Executor recommendationExecutor;
 
 	public RecommendationServiceImpl(
 			@Autowired UserRepository userRepository,
 			@Autowired UserService userService,
-			@Autowired KafkaTemplate<String, String> kafkaTemplate,
-			@Autowired KafkaResponseParser kafkaResponseParser,
-
-			@Value("${spring.kafka.recommendation.request-topic}")
-			String topic
+			@Autowired RecommendationKafkaClient recommendationKafkaClient,
+			@Autowired RecommendationCache recommendationCache,
+			@Autowired LocalRecommender localRecommender,
+			@Autowired CircuitBreaker circuitBreaker,
+			@Autowired @Qualifier(RECOMMENDATION_EXECUTOR) Executor recommendationExecutor
 	) {
 		this.userRepository = userRepository;
 		this.userService = userService;
-		this.kafkaTemplate = kafkaTemplate;
-		this.kafkaResponseParser = kafkaResponseParser;
-		this.RECOMMENDATION_PRODUCER_TOPIC = topic;
+		this.recommendationKafkaClient = recommendationKafkaClient;
+		this.recommendationCache = recommendationCache;
+		this.localRecommender = localRecommender;
+		this.circuitBreaker = circuitBreaker;
+		this.recommendationExecutor = recommendationExecutor;
 	}
 
+	/**
+	 * Resolves the current user on the calling thread (the security context is thread-bound),
+	 * then waits for the recommender without holding any thread. Recommender output is shared and cached
+	 * per user by {@link RecommendationCache}; friends are filtered out afterwards, so a cached result never
+	 * shows someone who became a friend in the meantime. Recommended users are loaded
+	 * on {@link com.soundhub.api.Constants#RECOMMENDATION_EXECUTOR} rather than on the Kafka listener thread.
+	 * <p>
+	 * When the recommender times out or is unreachable, or the {@link CircuitBreaker} is open after repeated
+	 * failures, recommendations come from {@link LocalRecommender} instead. Fallback results are not cached,
+	 * so the Kafka path is used again as soon as the circuit closes. Too many requests in flight on this
+	 * instance is local overload rather than a recommender failure: it fails fast with 503 and neither trips
+	 * the circuit nor falls back.
+	 */
 	@Override
-	public List<User> getRecommendedUsers() {
+	public CompletableFuture<List<User>> getRecommendedUsers() {
 		User currentUser = userService.getCurrentUser();
 		UUID userId = currentUser.getId();
 
@@ -70,98 +88,87 @@ public class RecommendationServiceImpl implements RecommendationService {
 				.map(User::getId)
 				.collect(Collectors.toSet());
 
-		Pair<String, CompletableFuture<List<UUID>>> request = createCompletableFuturePair();
+		return recommendationCache.get(userId, this::requestFromRecommender)
+				.exceptionallyCompose(error -> isRecommenderUnavailable(error)
+						? CompletableFuture.supplyAsync(() -> localRecommender.recommend(userId), recommendationExecutor)
+						: CompletableFuture.failedFuture(error))
+				.thenApplyAsync(response -> getUsersFromResponse(response, friendIds), recommendationExecutor)
+				.exceptionally(error -> {
+					throw mapRecommendationError(error);
+				});
+	}
+
+	private CompletableFuture<List<UUID>> requestFromRecommender(UUID userId) {
+		if (!circuitBreaker.allowRequest()) {
+			log.debug("recommendUsers[4]: circuit open, using local recommender for user {}", userId);
+			return CompletableFuture.failedFuture(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_IS_UNAVAILABLE));
+		}
 
-		String requestId = request.a;
-		CompletableFuture<List<UUID>> futureResponse = request.b;
+		CompletableFuture<List<UUID>> reply;
 
 		try {
-			kafkaTemplate.send(
-					MessageBuilder.withPayload(userId)
-							.setHeader(KafkaHeaders.TOPIC, RECOMMENDATION_PRODUCER_TOPIC)
-							.setHeader(KafkaHeaders.KEY, requestId)
-							.build()
-			);
-		} catch (KafkaException error) {
-			throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage());
+			reply = recommendationKafkaClient.requestRecommendations(userId);
+		} catch (RecommendationCapacityExceededException error) {
+			circuitBreaker.releasePermit();
+			return CompletableFuture.failedFuture(error);
+		} catch (RuntimeException error) {
+			circuitBreaker.recordFailure();
+			return CompletableFuture.failedFuture(error);
 		}
 
-		return getUsersFromTask(futureResponse, friendIds, requestId);
+		return reply.whenComplete((userIds, error) -> {
+			if (error != null && isRecommenderUnavailable(error)) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+		});
 	}
 
-	private Pair<String, CompletableFuture<List<UUID>>> createCompletableFuturePair() {
-		String requestId = UUID.randomUUID().toString();
-		CompletableFuture<List<UUID>> futureResponse = new CompletableFuture<>();
+	private static boolean isRecommenderUnavailable(Throwable error) {
+		Throwable cause = unwrap(error);
 
-		pendingRequests.put(requestId, futureResponse);
+		if (cause instanceof RecommendationCapacityExceededException) {
+			return false;
+		}
 
-		return new Pair<>(requestId, futureResponse);
+		return cause instanceof TimeoutException
+				|| (cause instanceof ApiException apiException
+				&& apiException.getHttpStatus() == HttpStatus.SERVICE_UNAVAILABLE);
 	}
 
-	private List<User> getUsersFromTask(CompletableFuture<List<UUID>> future, Set<UUID> friendIds, String requestId) {
-		try {
-			List<UUID> response = future.get(KAFKA_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
-			List<UUID> potentialFriends = response.stream()
-					.filter(id -> !friendIds.contains(id))
-					.toList();
-
-			return userRepository.findAllById(potentialFriends);
-
-		} catch (TimeoutException e) {
-			log.error("recommendUsers[2]: error: {}", e.getMessage());
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null
+				? error.getCause()
+				: error;
+	}
 
-			throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, REQUEST_TIMEOUT);
-		} catch (InterruptedException | ExecutionException e) {
-			log.error("recommendUsers[3]: error: {}", e.getMessage());
+	private List<User> getUsersFromResponse(List<UUID> response, Set<UUID> friendIds) {
+		List<UUID> potentialFriends = response.stream()
+				.filter(id -> !friendIds.contains(id))
+				.toList();
 
-			Throwable cause = e.getCause();
+		return userRepository.findAllById(potentialFriends);
+	}
 
-			if (cause instanceof KafkaResponseException) {
-				throw new ApiException(HttpStatus.BAD_REQUEST, ((KafkaResponseException) cause).getDetail());
-			}
+	private ApiException mapRecommendationError(Throwable error) {
+		Throwable cause = unwrap(error);
 
-			throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_IS_UNAVAILABLE);
-		} finally {
-			pendingRequests.remove(requestId);
+		if (cause instanceof ApiException apiException) {
+			return apiException;
 		}
-	}
 
-	@KafkaListener(
-			topics = "${spring.kafka.error-topic}",
-			groupId = "${spring.kafka.recommendation.group}"
-	)
-	private void handleRecommendationError(
-			@Payload String payload,
-			@Header(KafkaHeaders.CORRELATION_ID) String messageKey,
-			@Header("origin_topic") String originalTopic
-	) {
-		if (!RECOMMENDATION_PRODUCER_TOPIC.equals(originalTopic)) {
-			return;
+		if (cause instanceof TimeoutException) {
+			log.error("recommendUsers[2]: error: request timed out");
+			return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, REQUEST_TIMEOUT);
 		}
 
-		log.error("handleRecommendationError[1]: payload: {}", payload);
-		KafkaResponseException exception = kafkaResponseParser.parseException(payload);
-
-		Optional.ofNullable(pendingRequests.get(messageKey))
-				.ifPresent(future -> future.completeExceptionally(exception));
-	}
-
-	@KafkaListener(
-			topics = "${spring.kafka.recommendation.response-topic}",
-			groupId = "${spring.kafka.recommendation.group}"
-	)
-	private void handleRecommendationResponse(
-			@Payload String payload,
-			@Header(KafkaHeaders.CORRELATION_ID) String messageKey
-	) {
-		log.debug("handleRecommendationResponse[1]: payload: {}", payload);
+		log.error("recommendUsers[3]: error: {}", cause.getMessage());
 
-		Optional.ofNullable(pendingRequests.get(messageKey))
-				.ifPresent(future -> {
-							List<UUID> parsedList = kafkaResponseParser.parseList(payload, UUID.class);
+		if (cause instanceof KafkaResponseException kafkaResponseException) {
+			return new ApiException(HttpStatus.BAD_REQUEST, kafkaResponseException.getDetail());
+		}
 
-							future.complete(parsedList);
-						}
-				);
+		return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_IS_UNAVAILABLE);
 	}
 }
@@ -1,18 +1,28 @@
 package com.soundhub.api.services.impl;
 
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.CompatibilityScoreDto;
 import com.soundhub.api.dto.UserCompatibilityDto;
+import com.soundhub.api.dto.request.CompatibilityBatchRequest;
+import com.soundhub.api.dto.response.CompatibilityBatchResponse;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
-import com.soundhub.api.models.Genre;
+import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.models.User;
 import com.soundhub.api.services.UserCompatibilityService;
 import com.soundhub.api.services.UserService;
+import com.soundhub.api.services.compatibility.CompatibilityBatchScorer;
+import com.soundhub.api.services.compatibility.CompatibilityEngine;
+import com.soundhub.api.services.compatibility.CompatibilityScoreCache;
+import com.soundhub.api.services.compatibility.TasteProfile;
+import com.soundhub.api.services.compatibility.TasteProfileStore;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,6 +30,21 @@ public class UserCompatibilityServiceImpl implements UserCompatibilityService {
 	@Autowired
 	private UserService userService;
 
+	@Autowired
+	private CompatibilityEngine compatibilityEngine;
+
+	@Autowired
+	private TasteProfileStore tasteProfileStore;
+
+	@Autowired
+	private CompatibilityBatchScorer compatibilityBatchScorer;
+
+	@Autowired
+	private CompatibilityScoreCache compatibilityScoreCache;
+
+	@Value("${compatibility.lsh.max-candidates:5000}")
+	private int maxLshCandidates;
+
 	@Override
 	public CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith) {
 		User userCompareTo = userService.getCurrentUser();
@@ -32,20 +57,88 @@ public class UserCompatibilityServiceImpl implements UserCompatibilityService {
 		return new CompatibleUsersResponse(userCompatibilityList);
 	}
 
-	private Map<User, Float> calculateCompatibilityMap(User userCompareTo, List<User> usersCompareWith) {
-		Map<User, Float> compatibilityMap = new HashMap<>();
+	/**
+	 * Finds the most compatible users across the whole user base.
+	 * Candidates come from the MinHash LSH buckets of the current user's profile and are re-ranked by exact score.
+	 */
+	@Override
+	public List<CompatibilityScoreDto> findMostCompatibleUsers(int limit) {
+		User currentUser = userService.getCurrentUser();
+		int topK = Math.max(1, Math.min(limit, Constants.MAX_COMPATIBLE_USERS_LIMIT));
+		TasteProfile profile = tasteProfileStore.get(currentUser.getId())
+				.orElseGet(() -> compatibilityEngine.profileOf(currentUser));
+
+		Set<UUID> candidates = tasteProfileStore.candidatesOf(profile, maxLshCandidates);
+		PriorityQueue<CompatibilityScoreDto> top = new PriorityQueue<>(
+				topK + 1, Comparator.comparingDouble(CompatibilityScoreDto::getCompatibility)
+		);
+
+		candidates.forEach(candidateId -> {
+			if (candidateId.equals(currentUser.getId())) {
+				return;
+			}
 
-		List<UUID> artistsCompareTo = userCompareTo.getFavoriteArtistsMbids();
-		List<UUID> genresCompareTo = extractGenreIds(userCompareTo.getFavoriteGenres());
+			tasteProfileStore.get(candidateId).ifPresent(candidate -> {
+				float compatibility = compatibilityEngine.score(profile, candidate);
 
-		usersCompareWith.forEach(userCompareWith -> {
-			List<UUID> artistsCompareWith = userCompareWith.getFavoriteArtistsMbids();
-			List<UUID> genresCompareWith = extractGenreIds(userCompareWith.getFavoriteGenres());
+				if (compatibility > 0) {
+					top.offer(new CompatibilityScoreDto(candidateId, compatibility));
+
+					if (top.size() > topK) {
+						top.poll();
+					}
+				}
+			});
+		});
+
+		List<CompatibilityScoreDto> result = new ArrayList<>(top);
+		result.sort(Comparator.comparingDouble(CompatibilityScoreDto::getCompatibility).reversed());
+
+		log.debug("findMostCompatibleUsers[1]: scored {} LSH candidates", candidates.size());
+		return result;
+	}
+
+	/**
+	 * Scores the current user against the requested ids using in-memory taste profiles only,
+	 * without loading the compared users.
+	 */
+	@Override
+	public CompatibilityBatchResponse calculateCompatibilityBatch(CompatibilityBatchRequest request) {
+		List<UUID> userIds = request.getUserIds() != null ? request.getUserIds() : List.of();
+
+		if (userIds.size() > Constants.MAX_COMPATIBILITY_BATCH_SIZE) {
+			throw new ApiException(
+					HttpStatus.BAD_REQUEST,
+					String.format(Constants.COMPATIBILITY_BATCH_TOO_LARGE, Constants.MAX_COMPATIBILITY_BATCH_SIZE)
+			);
+		}
+
+		User currentUser = userService.getCurrentUser();
+		TasteProfile profile = tasteProfileStore.get(currentUser.getId())
+				.orElseGet(() -> compatibilityEngine.profileOf(currentUser));
+
+		UUID[] candidates = userIds.stream()
+				.filter(Objects::nonNull)
+				.filter(id -> !id.equals(currentUser.getId()))
+				.distinct()
+				.toArray(UUID[]::new);
 
-			float artistCompatibility = calculateCompatibilityForUserBy(artistsCompareWith, artistsCompareTo);
-			float genreCompatibility = calculateCompatibilityForUserBy(genresCompareWith, genresCompareTo);
+		float threshold = request.getThreshold() != null ? request.getThreshold() : 0f;
+		int limit = request.getLimit() != null ? request.getLimit() : candidates.length;
 
-			float meanCompatibility = calculateMeanCompatibility(artistCompatibility, genreCompatibility);
+		return compatibilityBatchScorer.score(profile, candidates, threshold, limit);
+	}
+
+	private Map<User, Float> calculateCompatibilityMap(User userCompareTo, List<User> usersCompareWith) {
+		Map<User, Float> compatibilityMap = new HashMap<>();
+		TasteProfile profileCompareTo = compatibilityEngine.profileOf(userCompareTo);
+
+		usersCompareWith.forEach(userCompareWith -> {
+			float meanCompatibility = compatibilityScoreCache.getOrCompute(
+					userCompareTo.getId(), userCompareTo.getProfileVersion(),
+					userCompareWith.getId(), userCompareWith.getProfileVersion(),
+					() -> compatibilityEngine.score(profileCompareTo, compatibilityEngine.profileOf(userCompareWith))
+			);
 
 			if (meanCompatibility > 0) {
 				compatibilityMap.put(userCompareWith, meanCompatibility);
@@ -63,33 +156,4 @@ public class UserCompatibilityServiceImpl implements UserCompatibilityService {
 						.build())
 				.collect(Collectors.toList());
 	}
-
-	private List<UUID> extractGenreIds(List<Genre> genres) {
-		return genres.stream()
-				.map(Genre::getId)
-				.toList();
-	}
-
-	private <T> float calculateCompatibilityForUserBy(List<T> entityCompareWith, List<T> entityCompareTo) {
-		if (entityCompareTo.isEmpty() || entityCompareWith.isEmpty()) {
-			return 0f;
-		}
-
-		Set<T> intersection = entityCompareWith.stream()
-				.filter(entityCompareTo::contains)
-				.collect(Collectors.toSet());
-
-		Set<T> total = Stream.concat(entityCompareWith.stream(), entityCompareTo.stream())
-				.collect(Collectors.toSet());
-
-		return ((float) intersection.size() / (float) total.size()) * 100;
-	}
-
-	private float calculateMeanCompatibility(float artistCompatibility, float genreCompatibility) {
-		if (artistCompatibility == 0 || genreCompatibility == 0) {
-			return Math.max(artistCompatibility, genreCompatibility);
-		}
-
-		return (artistCompatibility + genreCompatibility) / 2;
-	}
-}
\ No newline at end of file
+}
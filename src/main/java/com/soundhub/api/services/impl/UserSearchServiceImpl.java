@@ -0,0 +1,118 @@
+package com.soundhub.api.services.impl;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.PresenceDto;
+import com.soundhub.api.dto.UserSearchResultDto;
+import com.soundhub.api.dto.response.UserSearchPageResponse;
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.UserSearchView;
+import com.soundhub.api.services.PresenceService;
+import com.soundhub.api.services.UserSearchService;
+import com.soundhub.api.services.ValueTransformer;
+import com.soundhub.api.services.search.UserAutocompleteIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Slf4j
+public class UserSearchServiceImpl implements UserSearchService {
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ValueTransformer<String> fileUrlTransformer;
+
+	@Autowired
+	private UserAutocompleteIndex autocompleteIndex;
+
+	@Autowired
+	private PresenceService presenceService;
+
+	@Override
+	public UserSearchPageResponse searchRanked(String name, int page, int size) {
+		String query = normalizeQuery(name);
+
+		if (query.isEmpty()) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.EMPTY_SEARCH_QUERY);
+		}
+
+		int pageSize = Math.min(Math.max(size, 1), Constants.MAX_SEARCH_PAGE_SIZE);
+		PageRequest pageRequest = PageRequest.of(Math.max(page, 0), pageSize);
+		String escapedQuery = escapeLikePattern(query);
+
+		log.debug("searchRanked[1]: query: '{}', page: {}, size: {}", query, page, pageSize);
+
+		Page<UserSearchView> views = userRepository.searchRanked(query, escapedQuery + "%", "%" + escapedQuery + "%", pageRequest);
+
+		return UserSearchPageResponse.builder()
+				.users(views.map(this::toSearchResult).getContent())
+				.page(views.getNumber())
+				.size(views.getSize())
+				.totalElements(views.getTotalElements())
+				.totalPages(views.getTotalPages())
+				.build();
+	}
+
+	@Override
+	public List<UserSearchResultDto> autocomplete(String prefix, int limit) {
+		int suggestionLimit = Math.min(Math.max(limit, 1), Constants.MAX_AUTOCOMPLETE_LIMIT);
+
+		return autocompleteIndex.suggest(prefix, suggestionLimit)
+				.stream()
+				.map(this::toAutocompleteResult)
+				.toList();
+	}
+
+	/**
+	 * The index only holds names, so online state is read from {@link PresenceService} for every suggestion.
+	 */
+	private UserSearchResultDto toAutocompleteResult(UserAutocompleteIndex.Entry entry) {
+		return UserSearchResultDto.builder()
+				.id(entry.getId())
+				.firstName(entry.getFirstName())
+				.lastName(entry.getLastName())
+				.avatarUrl(fileUrlTransformer.transformValue(entry.getAvatarUrl()))
+				.online(presenceService.getPresence(entry.getId()).map(PresenceDto::isOnline).orElse(false))
+				.build();
+	}
+
+	private UserSearchResultDto toSearchResult(UserSearchView view) {
+		return UserSearchResultDto.builder()
+				.id(view.getId())
+				.firstName(view.getFirstName())
+				.lastName(view.getLastName())
+				.avatarUrl(fileUrlTransformer.transformValue(view.getAvatarUrl()))
+				.city(view.getCity())
+				.country(view.getCountry())
+				.online(Boolean.TRUE.equals(view.getOnline()))
+				.build();
+	}
+
+	/**
+	 * Trims the query, collapses inner whitespace and lower-cases it,
+	 * so that names with any number of parts compare against the indexed full-name expression.
+	 */
+	static String normalizeQuery(String name) {
+		if (name == null) {
+			return "";
+		}
+
+		return name.trim()
+				.replaceAll("\\s+", " ")
+				.toLowerCase(Locale.ROOT);
+	}
+
+	static String escapeLikePattern(String value) {
+		return value.replace("\\", "\\\\")
+				.replace("%", "\\%")
+				.replace("_", "\\_");
+	}
+}
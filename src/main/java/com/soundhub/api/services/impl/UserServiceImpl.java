@@ -4,31 +4,41 @@ import com.soundhub.api.Constants;
 import com.soundhub.api.dto.UserDto;
 import com.soundhub.api.dto.response.UserExistenceResponse;
 import com.soundhub.api.enums.Role;
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
+import com.soundhub.api.models.Genre;
 import com.soundhub.api.models.User;
 import com.soundhub.api.repositories.UserRepository;
 import com.soundhub.api.services.FileService;
+import com.soundhub.api.services.PresenceService;
 import com.soundhub.api.services.UserService;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
 import com.soundhub.api.util.FileUtils;
 import com.soundhub.api.util.mappers.UserMapper;
-import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -51,7 +61,14 @@ public class UserServiceImpl implements UserService {
 	@Autowired
 	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
 
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PresenceService presenceService;
+
 	@Override
+	@Transactional
 	public User addUser(UserDto userDto, MultipartFile file) throws IOException {
 		String encodedPassword = passwordEncoder.encode(userDto.getPassword());
 		String avatarUrl = fileService.uploadFile(avatarFolderName, file);
@@ -74,11 +91,13 @@ public class UserServiceImpl implements UserService {
 				.build();
 
 		user = userRepository.save(user);
+		eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
 		return user;
 	}
 
 	@Override
+	@Transactional
 	public User addFriend(UUID friendId) {
 		User user = getCurrentUser();
 		User newFriend = getUserById(friendId);
@@ -91,11 +110,14 @@ public class UserServiceImpl implements UserService {
 
 		userRepository.save(user);
 		userRepository.save(newFriend);
+		eventPublisher.publishEvent(new FriendshipChangedEvent(user.getId(), friendId, true));
+		eventPublisher.publishEvent(new FriendshipChangedEvent(friendId, user.getId(), true));
 
 		return user;
 	}
 
 	@Override
+	@Transactional
 	public User deleteFriend(UUID friendId) {
 		User user = getCurrentUser();
 		User delFriend = userRepository.findById(friendId)
@@ -105,6 +127,7 @@ public class UserServiceImpl implements UserService {
 
 		user.getFriends().remove(delFriend);
 		updateUser(user.getId(), userMapper.userToUserDto(user));
+		eventPublisher.publishEvent(new FriendshipChangedEvent(user.getId(), friendId, false));
 
 		log.info("deleteFriend[1]: Friend deleted successfully ID {}", friendId);
 
@@ -113,13 +136,17 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public User getUserById(UUID id) {
-		return userRepository.findById(id)
+		User user = userRepository.findById(id)
 				.orElseThrow(() -> new ResourceNotFoundException(
 						Constants.USER_RESOURCE_NAME, Constants.ID_FIELD, id)
 				);
+
+		presenceService.applyPresence(user);
+		return user;
 	}
 
 	@Override
+	@Transactional
 	public UUID deleteUser(UUID userId) throws IOException {
 		User user = userRepository.findById(userId)
 				.orElseThrow(() -> new ResourceNotFoundException(
@@ -130,11 +157,13 @@ public class UserServiceImpl implements UserService {
 		Files.deleteIfExists(FileUtils.getStaticFilePath(avatarFolderName, fileName));
 
 		userRepository.delete(user);
+		eventPublisher.publishEvent(new UserDeletedEvent(user.getId()));
 
 		return user.getId();
 	}
 
 	@Override
+	@Transactional
 	public UserDto updateUser(UUID userId, UserDto userDto) {
 		User user = userRepository.findById(userId)
 				.orElseThrow(() ->
@@ -142,13 +171,17 @@ public class UserServiceImpl implements UserService {
 								Constants.USER_RESOURCE_NAME, Constants.ID_FIELD, userId)
 				);
 
+		TasteSnapshot tasteBefore = TasteSnapshot.of(user);
 		userMapper.updateUserFromDto(userDto, user);
+		bumpProfileVersionIfTasteChanged(user, tasteBefore);
 		userRepository.save(user);
+		eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
 		return userMapper.userToUserDto(user);
 	}
 
 	@Override
+	@Transactional
 	public UserDto updateUser(UUID userId, UserDto userDto, MultipartFile file) throws IOException {
 		User user = userRepository.findById(userId)
 				.orElseThrow(() -> new ResourceNotFoundException(
@@ -166,9 +199,12 @@ public class UserServiceImpl implements UserService {
 			fileName = fileService.uploadFile(avatarFolderName, file);
 		}
 
+		TasteSnapshot tasteBefore = TasteSnapshot.of(user);
 		userMapper.updateUserFromDto(userDto, user);
+		bumpProfileVersionIfTasteChanged(user, tasteBefore);
 		user.setAvatarUrl(fileName);
 		userRepository.save(user);
+		eventPublisher.publishEvent(new UserProfileChangedEvent(user));
 
 		return userMapper.userToUserDto(user);
 	}
@@ -209,7 +245,10 @@ public class UserServiceImpl implements UserService {
 				.getAuthentication()
 				.getName();
 
-		return getUserByEmail(username);
+		User user = getUserByEmail(username);
+		presenceService.applyPresence(user);
+
+		return user;
 	}
 
 	@Override
@@ -219,6 +258,7 @@ public class UserServiceImpl implements UserService {
 
 		log.info("getUserFriendsById[2]: user: {}", user);
 		log.info("getUserFriendsById[3]: user's friends: {}", user.getFriends());
+		user.getFriends().forEach(presenceService::applyPresence);
 
 		return user.getFriends();
 	}
@@ -226,35 +266,69 @@ public class UserServiceImpl implements UserService {
 	@Override
 	public List<User> searchByFullName(String name) {
 		log.info("searchByFullName[1]: searching users with name: {}", name);
+		String fullName = name.trim().replaceAll("\\s+", " ");
 
-		if (name.contains(" ")) {
-			String[] parts = name.split("\\s+");
-			String firstName = parts[0];
-			String lastName = parts[1];
-
-			return userRepository.searchByFirstNameAndLastName(firstName, lastName);
+		if (fullName.contains(" ")) {
+			return userRepository.searchByFullName(fullName);
 		}
 
-		return userRepository.searchByFirstNameOrLastName(name, name);
+		return userRepository.searchByFirstNameOrLastName(fullName, fullName);
+	}
+
+	@Override
+	public UUID getCurrentUserId() {
+		return getAuthenticatedUser().getId();
 	}
 
 	@Override
-	@Transactional
 	public User updateUserOnline(boolean online) {
-		User currentUser = getCurrentUser();
-		boolean currentOnline = currentUser.isOnline();
+		User currentUser = getAuthenticatedUser();
+		presenceService.applyPresence(currentUser);
 
-		if (currentOnline == online)
+		if (currentUser.isOnline() == online)
 			return currentUser;
 
-		currentOnline = !currentOnline;
-		currentUser.setOnline(currentOnline);
-
-		LocalDateTime lastOnline = !currentOnline ? LocalDateTime.now() : null;
+		LocalDateTime lastOnline = !online ? LocalDateTime.now() : null;
 
+		currentUser.setOnline(online);
 		currentUser.setLastOnline(lastOnline);
 
-		userRepository.save(currentUser);
+		presenceService.updatePresence(currentUser.getId(), online, lastOnline);
 		return currentUser;
 	}
+
+	/**
+	 * Returns the user the JWT filter already loaded for this request, and only looks the user up by email
+	 * when the principal is not a {@link User}.
+	 */
+	private User getAuthenticatedUser() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		if (authentication.getPrincipal() instanceof User user) {
+			return user;
+		}
+
+		return getUserByEmail(authentication.getName());
+	}
+
+	private void bumpProfileVersionIfTasteChanged(User user, TasteSnapshot before) {
+		if (!before.equals(TasteSnapshot.of(user))) {
+			userRepository.incrementProfileVersion(user.getId());
+			user.setProfileVersion(userRepository.findProfileVersion(user.getId()));
+			log.debug("bumpProfileVersionIfTasteChanged[1]: user {} profile version {}", user.getId(), user.getProfileVersion());
+		}
+	}
+
+	private record TasteSnapshot(Set<UUID> artists, Set<UUID> genres) {
+		static TasteSnapshot of(User user) {
+			Set<UUID> artists = user.getFavoriteArtistsMbids() != null
+					? new HashSet<>(user.getFavoriteArtistsMbids())
+					: Set.of();
+			Set<UUID> genres = user.getFavoriteGenres() != null
+					? user.getFavoriteGenres().stream().map(Genre::getId).collect(Collectors.toSet())
+					: Set.of();
+
+			return new TasteSnapshot(artists, genres);
+		}
+	}
 }
@@ -0,0 +1,202 @@
+package com.soundhub.api.services.likes;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.events.PostLikeToggledEvent;
+import com.soundhub.api.models.Post;
+import com.soundhub.api.repositories.PostRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for {@link Post#getLikeCount()}.
+ * <p>
+ * Like rows are written synchronously, but their counter deltas are only added to a per-post {@link LongAdder},
+ * whose internal cells spread concurrent likes of a hot post across CPUs instead of queueing them on the row lock
+ * of a single {@code posts} row. Every {@code likes.counter.flush-interval-ms} the pending deltas are added to the
+ * counters, grouping posts with the same delta into one {@code UPDATE} of up to {@code likes.counter.batch-size}
+ * posts, so a flush costs a few statements whatever the number of likes; a failed batch is put back and retried.
+ * Reads add the deltas that are still pending on this instance, see {@link #applyPending(Collection)}.
+ * <p>
+ * Deltas pending at a crash are lost, so the counters are recounted from the like rows on startup, by one instance
+ * at a time under {@link Constants#LIKE_RECOUNT_LOCK_KEY}. That recount already includes likes whose deltas other
+ * instances have not flushed yet; those posts stay off by the unflushed delta until the next recount.
+ */
+@Slf4j
+@Component
+public class PostLikeCounter {
+	private final Map<UUID, LongAdder> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Adders removed from {@link #counters} on the previous flush; drained once more in case a writer
+	 * still held a reference to them.
+	 */
+	private Map<UUID, LongAdder> retired = new HashMap<>();
+
+	private final Map<UUID, Long> flushing = new ConcurrentHashMap<>();
+
+	private final PostRepository postRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	private final boolean recountOnStartup;
+
+	private final Counter flushedCounter;
+
+	private final Counter flushFailuresCounter;
+
+	public PostLikeCounter(
+			@Autowired PostRepository postRepository,
+			@Autowired TransactionTemplate transactionTemplate,
+			@Autowired MeterRegistry meterRegistry,
+			@Value("${likes.counter.batch-size:1000}") int batchSize,
+			@Value("${likes.counter.recount-on-startup:true}") boolean recountOnStartup
+	) {
+		this.postRepository = postRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.recountOnStartup = recountOnStartup;
+		this.flushedCounter = Counter.builder("likes.counter.flushed")
+				.description("Post like counters updated in the database")
+				.register(meterRegistry);
+		this.flushFailuresCounter = Counter.builder("likes.counter.flush.failures")
+				.description("Like counter batches that failed and were put back")
+				.register(meterRegistry);
+
+		Gauge.builder("likes.counter.pending", counters, Map::size)
+				.description("Posts with buffered like counter deltas")
+				.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPostLikeToggled(PostLikeToggledEvent event) {
+		add(event.getPostId(), event.getDelta());
+	}
+
+	public void add(UUID postId, long delta) {
+		if (delta != 0) {
+			counters.computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+		}
+	}
+
+	/**
+	 * Returns the delta of the post that is not yet in the database.
+	 */
+	public long pending(UUID postId) {
+		LongAdder adder = counters.get(postId);
+		long buffered = adder != null ? adder.sum() : 0;
+
+		return buffered + flushing.getOrDefault(postId, 0L);
+	}
+
+	/**
+	 * Adds the pending deltas to the like counts of posts loaded from the database.
+	 */
+	public void applyPending(Collection<Post> posts) {
+		posts.forEach(post -> post.setLikeCount(post.getLikeCount() + pending(post.getId())));
+	}
+
+	@Scheduled(fixedDelayString = "${likes.counter.flush-interval-ms:1000}")
+	public synchronized void flush() {
+		Map<UUID, Long> deltas = drain();
+
+		if (deltas.isEmpty()) {
+			return;
+		}
+
+		flushing.putAll(deltas);
+		Map<Long, List<UUID>> postsByDelta = new TreeMap<>();
+		deltas.forEach((postId, delta) -> postsByDelta.computeIfAbsent(delta, d -> new ArrayList<>()).add(postId));
+
+		postsByDelta.forEach((delta, postIds) -> {
+			for (int from = 0; from < postIds.size(); from += batchSize) {
+				flushBatch(postIds.subList(from, Math.min(from + batchSize, postIds.size())), delta);
+			}
+		});
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void recount() {
+		if (!recountOnStartup) {
+			return;
+		}
+
+		Integer updated = transactionTemplate.execute(status ->
+				postRepository.tryAdvisoryLock(Constants.LIKE_RECOUNT_LOCK_KEY) ? postRepository.recountLikes() : null
+		);
+
+		if (updated == null) {
+			log.info("recount[1]: like counters are being recounted by another instance");
+			return;
+		}
+
+		log.info("recount[2]: like counters of {} posts recounted from like rows", updated);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+	}
+
+	/**
+	 * Resets every adder and returns the non-zero deltas in post id order.
+	 * Adders that stayed at zero since the previous flush are removed.
+	 */
+	private Map<UUID, Long> drain() {
+		Map<UUID, Long> deltas = new TreeMap<>();
+
+		retired.forEach((postId, adder) -> merge(deltas, postId, adder.sumThenReset()));
+		retired = new HashMap<>();
+
+		counters.forEach((postId, adder) -> {
+			long delta = adder.sumThenReset();
+
+			if (delta != 0) {
+				merge(deltas, postId, delta);
+			} else if (counters.remove(postId, adder)) {
+				retired.put(postId, adder);
+			}
+		});
+
+		return deltas;
+	}
+
+	/**
+	 * Each batch is its own transaction of a single statement, so a failed batch can be put back
+	 * without counting the batches that did commit twice.
+	 */
+	private void flushBatch(List<UUID> postIds, long delta) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> postRepository.addToLikeCounts(postIds, delta));
+			flushedCounter.increment(postIds.size());
+		} catch (RuntimeException e) {
+			log.error("flushBatch[1]: {} like counters not flushed, will retry: {}", postIds.size(), e.getMessage());
+			flushFailuresCounter.increment();
+			postIds.forEach(postId -> add(postId, delta));
+		} finally {
+			postIds.forEach(flushing::remove);
+		}
+	}
+
+	private static void merge(Map<UUID, Long> deltas, UUID postId, long delta) {
+		if (delta != 0) {
+			deltas.merge(postId, delta, Long::sum);
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.soundhub.api.services.outbox;
+
+import com.soundhub.api.enums.OutboxEventType;
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import com.soundhub.api.models.OutboxEvent;
+import com.soundhub.api.repositories.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Turns user change events into {@link OutboxEvent} rows right before the surrounding transaction commits,
+ * so the outbox row and the change are committed or rolled back together.
+ * <p>
+ * A row only records which user changed ({@link OutboxEventType#USER_UPSERTED}, or
+ * {@link OutboxEventType#USER_DELETED}); a friendship change is recorded for the user whose friend list
+ * changed. {@link OutboxRelay} reads the committed state of the user when it publishes, so a snapshot
+ * taken by a transaction that does not see a concurrent change can never be published.
+ */
+@Slf4j
+@Component
+public class OutboxEventWriter {
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onUserProfileChanged(UserProfileChangedEvent event) {
+		write(event.getUser().getId(), OutboxEventType.USER_UPSERTED);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onFriendshipChanged(FriendshipChangedEvent event) {
+		write(event.getUserId(), OutboxEventType.USER_UPSERTED);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		write(event.getUserId(), OutboxEventType.USER_DELETED);
+	}
+
+	private void write(UUID userId, OutboxEventType type) {
+		outboxEventRepository.save(OutboxEvent.builder()
+				.aggregateId(userId)
+				.eventType(type)
+				.createdAt(LocalDateTime.now())
+				.build());
+
+		log.debug("write[1]: {} event for user {} added to outbox", type, userId);
+	}
+}
@@ -0,0 +1,167 @@
+package com.soundhub.api.services.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.UserChangeDto;
+import com.soundhub.api.models.Genre;
+import com.soundhub.api.models.OutboxEvent;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.OutboxEventRepository;
+import com.soundhub.api.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Publishes outbox rows to the compacted {@link Constants#USER_CHANGES_TOPIC} in batches.
+ * <p>
+ * Each run locks up to {@code outbox.relay.batch-size} of the oldest rows and publishes one snapshot of the
+ * committed state of every user they name, keyed by user id, or a tombstone when the user no longer exists.
+ * It waits for the acknowledgements and deletes the whole batch in the same transaction. If any send fails,
+ * the transaction rolls back and the batch is retried on the next run, so delivery is at least once.
+ * <p>
+ * Row ids follow insertion, not commit order, so the rows themselves carry no snapshot: an outbox row only
+ * becomes visible together with its change, so the state read here is at least as new as every change behind
+ * the rows of the batch, and a later change adds a row that publishes a newer snapshot.
+ * <p>
+ * Only one instance relays at a time: a batch is published under a Postgres advisory lock
+ * ({@link Constants#OUTBOX_RELAY_LOCK_KEY}), and the other instances skip their run while it is held.
+ * Concurrent relays could otherwise deliver snapshots of the same user out of order, and the compacted topic
+ * would keep the stale value.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+	private final OutboxEventRepository outboxEventRepository;
+
+	private final UserRepository userRepository;
+
+	private final ObjectMapper objectMapper;
+
+	private final KafkaTemplate<String, String> kafkaTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int batchSize;
+
+	private final long sendTimeoutMs;
+
+	private final Counter publishedCounter;
+
+	public OutboxRelay(
+			@Autowired OutboxEventRepository outboxEventRepository,
+			@Autowired UserRepository userRepository,
+			@Autowired ObjectMapper objectMapper,
+			@Autowired @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, String> kafkaTemplate,
+			@Autowired TransactionTemplate transactionTemplate,
+			@Autowired MeterRegistry meterRegistry,
+			@Value("${outbox.relay.batch-size:500}") int batchSize,
+			@Value("${outbox.relay.send-timeout-ms:10000}") long sendTimeoutMs
+	) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.userRepository = userRepository;
+		this.objectMapper = objectMapper;
+		this.kafkaTemplate = kafkaTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.batchSize = batchSize;
+		this.sendTimeoutMs = sendTimeoutMs;
+		this.publishedCounter = Counter.builder("outbox.events.published")
+				.description("Outbox events published to Kafka")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+	public void relay() {
+		int published;
+
+		do {
+			try {
+				Integer removed = transactionTemplate.execute(status -> relayBatch());
+				published = removed != null ? removed : 0;
+			} catch (RuntimeException e) {
+				log.error("relay[1]: outbox batch not published, will retry: {}", e.getMessage());
+				return;
+			}
+		} while (published >= batchSize);
+	}
+
+	/**
+	 * Publishes one batch inside the current transaction and returns the number of rows it removed from the outbox.
+	 */
+	int relayBatch() {
+		if (!outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)) {
+			log.debug("relayBatch[1]: outbox is being relayed by another instance");
+			return 0;
+		}
+
+		List<OutboxEvent> events = outboxEventRepository.lockOldest(batchSize);
+
+		if (events.isEmpty()) {
+			return 0;
+		}
+
+		Set<UUID> userIds = new LinkedHashSet<>();
+		events.forEach(event -> userIds.add(event.getAggregateId()));
+
+		Map<UUID, User> users = new HashMap<>();
+		userRepository.findAllById(userIds).forEach(user -> users.put(user.getId(), user));
+
+		CompletableFuture<?>[] sends = userIds.stream()
+				.map(userId -> kafkaTemplate.send(
+						Constants.USER_CHANGES_TOPIC,
+						userId.toString(),
+						users.containsKey(userId) ? snapshot(users.get(userId)) : null
+				))
+				.toArray(CompletableFuture[]::new);
+
+		try {
+			CompletableFuture.allOf(sends).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing outbox events", e);
+		} catch (ExecutionException | TimeoutException e) {
+			throw new IllegalStateException("Failed to publish " + sends.length + " outbox events", e);
+		}
+
+		outboxEventRepository.deleteAllInBatch(events);
+		publishedCounter.increment(sends.length);
+
+		log.debug("relayBatch[2]: published {} of {} outbox events", sends.length, events.size());
+		return events.size();
+	}
+
+	private String snapshot(User user) {
+		UserChangeDto change = UserChangeDto.builder()
+				.userId(user.getId())
+				.profileVersion(user.getProfileVersion())
+				.favoriteGenreIds(idsOf(user.getFavoriteGenres(), Genre::getId))
+				.favoriteArtistIds(user.getFavoriteArtistsMbids() != null ? List.copyOf(user.getFavoriteArtistsMbids()) : List.of())
+				.friendIds(idsOf(user.getFriends(), User::getId))
+				.build();
+
+		try {
+			return objectMapper.writeValueAsString(change);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize change of user " + user.getId(), e);
+		}
+	}
+
+	private static <T> List<UUID> idsOf(List<T> entities, Function<T, UUID> id) {
+		return entities != null ? entities.stream().map(id).toList() : List.of();
+	}
+}
@@ -0,0 +1,98 @@
+package com.soundhub.api.services.presence;
+
+import com.soundhub.api.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which users currently listen to their presence queue ({@link Constants#PRESENCE_QUEUE_PREFIX}{userId}),
+ * so presence changes are only sent to friends that are actually subscribed.
+ */
+@Slf4j
+@Component
+public class PresenceSubscriptionRegistry {
+	private final Map<String, Map<String, UUID>> subscriptionsBySession = new ConcurrentHashMap<>();
+	private final Map<UUID, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+	@EventListener
+	public void onSubscribe(SessionSubscribeEvent event) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+		String destination = accessor.getDestination();
+
+		if (destination == null || !destination.startsWith(Constants.PRESENCE_QUEUE_PREFIX)) {
+			return;
+		}
+
+		try {
+			UUID userId = UUID.fromString(destination.substring(Constants.PRESENCE_QUEUE_PREFIX.length()));
+			subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), userId);
+		} catch (IllegalArgumentException e) {
+			log.warn("onSubscribe[1]: invalid presence destination: {}", destination);
+		}
+	}
+
+	@EventListener
+	public void onUnsubscribe(SessionUnsubscribeEvent event) {
+		StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+		unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+	}
+
+	@EventListener
+	public void onDisconnect(SessionDisconnectEvent event) {
+		Map<String, UUID> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+
+		if (subscriptions != null) {
+			subscriptions.values().forEach(this::decrement);
+		}
+	}
+
+	public void subscribe(String sessionId, String subscriptionId, UUID userId) {
+		if (sessionId == null || subscriptionId == null) {
+			return;
+		}
+
+		UUID previous = subscriptionsBySession
+				.computeIfAbsent(sessionId, key -> new ConcurrentHashMap<>())
+				.put(subscriptionId, userId);
+
+		if (previous != null) {
+			decrement(previous);
+		}
+
+		subscriberCounts.merge(userId, 1, Integer::sum);
+	}
+
+	public void unsubscribe(String sessionId, String subscriptionId) {
+		if (sessionId == null || subscriptionId == null) {
+			return;
+		}
+
+		Map<String, UUID> subscriptions = subscriptionsBySession.get(sessionId);
+		UUID userId = subscriptions != null ? subscriptions.remove(subscriptionId) : null;
+
+		if (userId != null) {
+			decrement(userId);
+		}
+	}
+
+	public boolean isSubscribed(UUID userId) {
+		return subscriberCounts.containsKey(userId);
+	}
+
+	public boolean hasSubscribers() {
+		return !subscriberCounts.isEmpty();
+	}
+
+	private void decrement(UUID userId) {
+		subscriberCounts.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+	}
+}
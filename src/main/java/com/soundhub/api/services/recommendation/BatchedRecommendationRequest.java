@@ -0,0 +1,14 @@
+package com.soundhub.api.services.recommendation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * One entry of a batched recommendation request record.
+ */
+public record BatchedRecommendationRequest(
+		@JsonProperty("correlation_id") String correlationId,
+		@JsonProperty("user_id") UUID userId
+) {
+}
@@ -0,0 +1,97 @@
+package com.soundhub.api.services.recommendation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal circuit breaker guarding the Kafka recommender.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the circuit opens and {@link #allowRequest()} refuses
+ * calls for {@code openDuration}. Then a single trial call is let through (half-open): its success closes
+ * the circuit, its failure opens it again for another {@code openDuration}.
+ */
+@Slf4j
+public class CircuitBreaker {
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final String name;
+	private final int failureThreshold;
+	private final long openNanos;
+	private final LongSupplier clock;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean trialInFlight;
+
+	public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+		this(name, failureThreshold, openDuration, System::nanoTime);
+	}
+
+	CircuitBreaker(String name, int failureThreshold, Duration openDuration, LongSupplier clock) {
+		this.name = name;
+		this.failureThreshold = Math.max(1, failureThreshold);
+		this.openNanos = openDuration.toNanos();
+		this.clock = clock;
+	}
+
+	public synchronized boolean allowRequest() {
+		if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+			state = State.HALF_OPEN;
+			trialInFlight = false;
+		}
+
+		return switch (state) {
+			case CLOSED -> true;
+			case OPEN -> false;
+			case HALF_OPEN -> {
+				if (trialInFlight) {
+					yield false;
+				}
+
+				trialInFlight = true;
+				yield true;
+			}
+		};
+	}
+
+	public synchronized void recordSuccess() {
+		if (state != State.CLOSED) {
+			log.info("recordSuccess[1]: circuit {} closed", name);
+		}
+
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+		trialInFlight = false;
+	}
+
+	public synchronized void recordFailure() {
+		consecutiveFailures++;
+
+		if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+			log.warn("recordFailure[1]: circuit {} opened after {} consecutive failures", name, consecutiveFailures);
+
+			state = State.OPEN;
+			openedAt = clock.getAsLong();
+			trialInFlight = false;
+		}
+	}
+
+	/**
+	 * Gives back a permission obtained from {@link #allowRequest()} for a call that was never made, so it counts
+	 * as neither a success nor a failure and does not hold the half-open trial slot.
+	 */
+	public synchronized void releasePermit() {
+		if (state == State.HALF_OPEN) {
+			trialInFlight = false;
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
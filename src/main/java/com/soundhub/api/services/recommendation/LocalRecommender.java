@@ -0,0 +1,139 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.UserFriendView;
+import com.soundhub.api.services.compatibility.CompatibilityEngine;
+import com.soundhub.api.services.compatibility.TasteProfile;
+import com.soundhub.api.services.compatibility.TasteProfileStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process recommender used while the Kafka recommender is unavailable.
+ * <p>
+ * Candidates are friends of friends, read from an in-memory copy of {@code user_friends}, and users
+ * with a similar taste, found through the {@link TasteProfileStore} LSH index. Each candidate is scored
+ * by taste compatibility (0-100) plus {@link #MUTUAL_FRIEND_SCORE} per mutual friend, capped at
+ * {@link #MAX_MUTUAL_FRIENDS}. The friend graph is loaded on startup and kept current from friendship events,
+ * so a recommendation never touches the database.
+ */
+@Slf4j
+@Component
+public class LocalRecommender {
+	static final float MUTUAL_FRIEND_SCORE = 10f;
+	static final int MAX_MUTUAL_FRIENDS = 10;
+
+	private final Map<UUID, Set<UUID>> friends = new ConcurrentHashMap<>();
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TasteProfileStore tasteProfileStore;
+
+	@Autowired
+	private CompatibilityEngine compatibilityEngine;
+
+	@Value("${recommendation.fallback.limit:50}")
+	private int limit;
+
+	@Value("${compatibility.lsh.max-candidates:5000}")
+	private int maxLshCandidates;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		List<UserFriendView> pairs = userRepository.findAllFriendPairs();
+		pairs.forEach(pair -> addFriend(pair.getUserId(), pair.getFriendId()));
+
+		log.info("warmUp[1]: friend graph loaded with {} edges", pairs.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onFriendshipChanged(FriendshipChangedEvent event) {
+		if (event.isAdded()) {
+			addFriend(event.getUserId(), event.getFriendId());
+		} else {
+			removeFriend(event.getUserId(), event.getFriendId());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		Set<UUID> removed = friends.remove(event.getUserId());
+
+		if (removed != null) {
+			removed.forEach(friendId -> removeFriend(friendId, event.getUserId()));
+		}
+	}
+
+	public void addFriend(UUID userId, UUID friendId) {
+		friends.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(friendId);
+	}
+
+	public void removeFriend(UUID userId, UUID friendId) {
+		friends.computeIfPresent(userId, (key, ids) -> {
+			ids.remove(friendId);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	/**
+	 * Returns up to {@code recommendation.fallback.limit} user ids ranked by mutual friends and taste overlap,
+	 * excluding the user and their friends.
+	 */
+	public List<UUID> recommend(UUID userId) {
+		Set<UUID> userFriends = friends.getOrDefault(userId, Set.of());
+		Map<UUID, Integer> mutualFriends = new HashMap<>();
+
+		for (UUID friendId : userFriends) {
+			for (UUID candidateId : friends.getOrDefault(friendId, Set.of())) {
+				mutualFriends.merge(candidateId, 1, Integer::sum);
+			}
+		}
+
+		TasteProfile profile = tasteProfileStore.getOrEmpty(userId);
+		Set<UUID> candidates = new HashSet<>(mutualFriends.keySet());
+
+		if (!profile.isEmpty()) {
+			candidates.addAll(tasteProfileStore.candidatesOf(profile, maxLshCandidates));
+		}
+
+		candidates.remove(userId);
+		candidates.removeAll(userFriends);
+
+		PriorityQueue<ScoredUser> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(ScoredUser::score));
+
+		for (UUID candidateId : candidates) {
+			int mutual = Math.min(mutualFriends.getOrDefault(candidateId, 0), MAX_MUTUAL_FRIENDS);
+			float score = mutual * MUTUAL_FRIEND_SCORE
+					+ compatibilityEngine.score(profile, tasteProfileStore.getOrEmpty(candidateId));
+
+			if (score > 0) {
+				top.offer(new ScoredUser(candidateId, score));
+
+				if (top.size() > limit) {
+					top.poll();
+				}
+			}
+		}
+
+		List<ScoredUser> ranked = new ArrayList<>(top);
+		ranked.sort(Comparator.comparingDouble(ScoredUser::score).reversed());
+
+		log.debug("recommend[1]: scored {} local candidates for user {}", candidates.size(), userId);
+		return ranked.stream().map(ScoredUser::userId).toList();
+	}
+
+	private record ScoredUser(UUID userId, float score) {
+	}
+}
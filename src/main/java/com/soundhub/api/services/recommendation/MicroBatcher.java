@@ -0,0 +1,94 @@
+package com.soundhub.api.services.recommendation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Collects submitted items and hands them to a sink in batches.
+ * <p>
+ * A batch is emitted as soon as it reaches {@code maxBatchSize}, or {@code linger} after its first item,
+ * whichever happens first. Full batches are emitted on the submitting thread, lingering ones on a single
+ * scheduler thread. The sink is responsible for handling its own failures.
+ */
+public class MicroBatcher<T> implements AutoCloseable {
+	private final int maxBatchSize;
+	private final long lingerNanos;
+	private final Consumer<List<T>> sink;
+	private final ScheduledExecutorService scheduler;
+	private final Object lock = new Object();
+
+	private List<T> buffer;
+	private ScheduledFuture<?> scheduledFlush;
+
+	public MicroBatcher(String name, int maxBatchSize, Duration linger, Consumer<List<T>> sink) {
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("maxBatchSize must be positive");
+		}
+
+		this.maxBatchSize = maxBatchSize;
+		this.lingerNanos = linger.toNanos();
+		this.sink = sink;
+		this.buffer = new ArrayList<>(maxBatchSize);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public void submit(T item) {
+		List<T> ready = null;
+
+		synchronized (lock) {
+			buffer.add(item);
+
+			if (buffer.size() >= maxBatchSize) {
+				ready = drain();
+			} else if (buffer.size() == 1) {
+				scheduledFlush = scheduler.schedule(this::flush, lingerNanos, TimeUnit.NANOSECONDS);
+			}
+		}
+
+		if (ready != null) {
+			sink.accept(ready);
+		}
+	}
+
+	public void flush() {
+		List<T> ready;
+
+		synchronized (lock) {
+			if (buffer.isEmpty()) {
+				return;
+			}
+
+			ready = drain();
+		}
+
+		sink.accept(ready);
+	}
+
+	@Override
+	public void close() {
+		flush();
+		scheduler.shutdown();
+	}
+
+	private List<T> drain() {
+		List<T> ready = buffer;
+		buffer = new ArrayList<>(maxBatchSize);
+
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+			scheduledFlush = null;
+		}
+
+		return ready;
+	}
+}
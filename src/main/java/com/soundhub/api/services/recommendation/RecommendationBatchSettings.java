@@ -0,0 +1,13 @@
+package com.soundhub.api.services.recommendation;
+
+import java.time.Duration;
+
+/**
+ * Micro-batching of recommendation requests, see {@link RecommendationKafkaClient}.
+ * Requires a recommender that understands batched request records, so it is disabled by default.
+ */
+public record RecommendationBatchSettings(boolean enabled, int maxBatchSize, Duration linger) {
+	public static RecommendationBatchSettings disabled() {
+		return new RecommendationBatchSettings(false, 1, Duration.ZERO);
+	}
+}
@@ -0,0 +1,148 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user cache of recommended user ids in front of the recommender.
+ * <p>
+ * Concurrent callers for the same user share one in-flight request. A result is served
+ * from memory for {@code ttl}; after that, and until {@code max-stale}, the stale result is still
+ * returned immediately while a single background request refreshes it (stale-while-revalidate).
+ * Only raw recommender output is cached: filtering by the caller's current friends happens after lookup.
+ * A user's entry is dropped once their profile or friend list changes, so the next lookup asks the recommender again.
+ */
+@Slf4j
+@Component
+public class RecommendationCache {
+	private final Map<UUID, CompletableFuture<List<UUID>>> inFlight = new ConcurrentHashMap<>();
+	private final Map<UUID, Entry> entries;
+	private final long ttlNanos;
+	private final long maxStaleNanos;
+	private final LongSupplier clock;
+
+	@Autowired
+	public RecommendationCache(
+			@Value("${recommendation.cache.ttl:60s}") Duration ttl,
+			@Value("${recommendation.cache.max-stale:10m}") Duration maxStale,
+			@Value("${recommendation.cache.max-size:10000}") int maxSize
+	) {
+		this(ttl, maxStale, maxSize, System::nanoTime);
+	}
+
+	RecommendationCache(Duration ttl, Duration maxStale, int maxSize, LongSupplier clock) {
+		this.ttlNanos = ttl.toNanos();
+		this.maxStaleNanos = Math.max(ttl.toNanos(), maxStale.toNanos());
+		this.clock = clock;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	public CompletableFuture<List<UUID>> get(UUID userId, Function<UUID, CompletableFuture<List<UUID>>> loader) {
+		Entry entry;
+
+		synchronized (entries) {
+			entry = entries.get(userId);
+		}
+
+		if (entry != null) {
+			long age = clock.getAsLong() - entry.loadedAt();
+
+			if (age < ttlNanos) {
+				return CompletableFuture.completedFuture(entry.userIds());
+			}
+
+			if (age < maxStaleNanos) {
+				load(userId, loader).exceptionally(error -> {
+					log.warn("get[1]: background refresh for user {} failed: {}", userId, error.getMessage());
+					return null;
+				});
+
+				return CompletableFuture.completedFuture(entry.userIds());
+			}
+		}
+
+		return load(userId, loader);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserProfileChanged(UserProfileChangedEvent event) {
+		invalidate(event.getUser().getId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onFriendshipChanged(FriendshipChangedEvent event) {
+		invalidate(event.getUserId());
+		invalidate(event.getFriendId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		invalidate(event.getUserId());
+	}
+
+	public void invalidate(UUID userId) {
+		synchronized (entries) {
+			entries.remove(userId);
+		}
+	}
+
+	int inFlightCount() {
+		return inFlight.size();
+	}
+
+	private CompletableFuture<List<UUID>> load(UUID userId, Function<UUID, CompletableFuture<List<UUID>>> loader) {
+		CompletableFuture<List<UUID>> created = new CompletableFuture<>();
+		CompletableFuture<List<UUID>> existing = inFlight.putIfAbsent(userId, created);
+
+		if (existing != null) {
+			return existing;
+		}
+
+		try {
+			loader.apply(userId).whenComplete((userIds, error) -> {
+				if (error == null) {
+					synchronized (entries) {
+						entries.put(userId, new Entry(userIds, clock.getAsLong()));
+					}
+				}
+
+				inFlight.remove(userId, created);
+
+				if (error == null) {
+					created.complete(userIds);
+				} else {
+					created.completeExceptionally(error);
+				}
+			});
+		} catch (RuntimeException error) {
+			inFlight.remove(userId, created);
+			created.completeExceptionally(error);
+		}
+
+		return created;
+	}
+
+	private record Entry(List<UUID> userIds, long loadedAt) {
+	}
+}
@@ -0,0 +1,213 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.exceptions.RecommendationCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Correlation id to reply future registry for recommendation requests.
+ * <p>
+ * The number of in-flight requests is capped: beyond {@code capacity}, {@link #register(String)}
+ * fails fast with 503 instead of queueing more work for a recommender that is already behind.
+ * Expiry is driven by a hashed timer wheel, so each request costs O(1) to schedule and cancel and
+ * no sweeping over the whole map is needed. Replies that arrive after expiry are counted as late,
+ * replies for unknown ids as orphaned.
+ */
+@Slf4j
+@Component
+public class RecommendationCorrelationRegistry {
+	private static final int RECENTLY_EXPIRED_LIMIT = 10_000;
+
+	private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+	private final Set<String> recentlyExpired;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final int capacity;
+	private final long timeoutNanos;
+	private final HashedWheelTimer timer;
+
+	private final Counter rejectedCounter;
+	private final Counter timeoutCounter;
+	private final Counter lateReplyCounter;
+	private final Counter orphanedReplyCounter;
+	private final Timer roundTripTimer;
+
+	@Autowired
+	public RecommendationCorrelationRegistry(
+			@Value("${spring.kafka.recommendation.max-in-flight:10000}") int capacity,
+			@Value("${spring.kafka.recommendation.request-timeout:5s}") Duration timeout,
+			MeterRegistry meterRegistry
+	) {
+		this.capacity = capacity;
+		this.timeoutNanos = timeout.toNanos();
+		this.timer = new HashedWheelTimer(runnable -> {
+			Thread thread = new Thread(runnable, "recommendation-timeouts");
+			thread.setDaemon(true);
+			return thread;
+		}, 10, TimeUnit.MILLISECONDS, 512);
+		this.recentlyExpired = Collections.newSetFromMap(new LinkedHashMap<>(16, 0.75f, false) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+				return size() > RECENTLY_EXPIRED_LIMIT;
+			}
+		});
+
+		Gauge.builder("recommendation.requests.in.flight", inFlight, AtomicInteger::get)
+				.description("Recommendation requests waiting for a reply")
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("recommendation.requests.rejected")
+				.description("Requests rejected because the in-flight limit was reached")
+				.register(meterRegistry);
+		this.timeoutCounter = Counter.builder("recommendation.requests.timeouts")
+				.description("Requests that expired without a reply")
+				.register(meterRegistry);
+		this.lateReplyCounter = Counter.builder("recommendation.replies.late")
+				.description("Replies received after their request expired")
+				.register(meterRegistry);
+		this.orphanedReplyCounter = Counter.builder("recommendation.replies.orphaned")
+				.description("Replies with an unknown correlation id")
+				.register(meterRegistry);
+		this.roundTripTimer = Timer.builder("recommendation.round.trip")
+				.description("Time from request to reply from the recommender")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Registers a request and returns the future its reply completes.
+	 *
+	 * @throws RecommendationCapacityExceededException when the in-flight limit is reached
+	 */
+	public CompletableFuture<List<UUID>> register(String correlationId) {
+		if (inFlight.incrementAndGet() > capacity) {
+			inFlight.decrementAndGet();
+			rejectedCounter.increment();
+
+			throw new RecommendationCapacityExceededException();
+		}
+
+		PendingRequest pending = new PendingRequest(new CompletableFuture<>(), System.nanoTime());
+		pendingRequests.put(correlationId, pending);
+		pending.timeout = timer.newTimeout(timeout -> expire(correlationId), timeoutNanos, TimeUnit.NANOSECONDS);
+
+		return pending.future;
+	}
+
+	public void complete(String correlationId, List<UUID> userIds) {
+		PendingRequest pending = remove(correlationId, true);
+
+		if (pending != null) {
+			roundTripTimer.record(System.nanoTime() - pending.startedAt, TimeUnit.NANOSECONDS);
+			pending.future.complete(userIds);
+		}
+	}
+
+	public void fail(String correlationId, Throwable error) {
+		PendingRequest pending = remove(correlationId, true);
+
+		if (pending != null) {
+			roundTripTimer.record(System.nanoTime() - pending.startedAt, TimeUnit.NANOSECONDS);
+			pending.future.completeExceptionally(error);
+		}
+	}
+
+	/**
+	 * Drops a request whose record could not be sent, without recording a round trip.
+	 */
+	public void cancel(String correlationId, Throwable error) {
+		PendingRequest pending = remove(correlationId, false);
+
+		if (pending != null) {
+			pending.future.completeExceptionally(error);
+		}
+	}
+
+	public int size() {
+		return inFlight.get();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		timer.stop();
+	}
+
+	private PendingRequest remove(String correlationId, boolean isReply) {
+		PendingRequest pending = correlationId != null ? pendingRequests.remove(correlationId) : null;
+
+		if (pending == null) {
+			if (isReply) {
+				countUnmatchedReply(correlationId);
+			}
+
+			return null;
+		}
+
+		inFlight.decrementAndGet();
+
+		if (pending.timeout != null) {
+			pending.timeout.cancel();
+		}
+
+		return pending;
+	}
+
+	private void expire(String correlationId) {
+		PendingRequest pending = pendingRequests.remove(correlationId);
+
+		if (pending == null) {
+			return;
+		}
+
+		inFlight.decrementAndGet();
+		timeoutCounter.increment();
+
+		synchronized (recentlyExpired) {
+			recentlyExpired.add(correlationId);
+		}
+
+		pending.future.completeExceptionally(new TimeoutException());
+	}
+
+	private void countUnmatchedReply(String correlationId) {
+		boolean late;
+
+		synchronized (recentlyExpired) {
+			late = correlationId != null && recentlyExpired.remove(correlationId);
+		}
+
+		if (late) {
+			lateReplyCounter.increment();
+			log.debug("countUnmatchedReply[1]: late reply {}", correlationId);
+		} else {
+			orphanedReplyCounter.increment();
+			log.debug("countUnmatchedReply[2]: orphaned reply {}", correlationId);
+		}
+	}
+
+	private static class PendingRequest {
+		private final CompletableFuture<List<UUID>> future;
+		private final long startedAt;
+		private volatile Timeout timeout;
+
+		PendingRequest(CompletableFuture<List<UUID>> future, long startedAt) {
+			this.future = future;
+			this.startedAt = startedAt;
+		}
+	}
+}
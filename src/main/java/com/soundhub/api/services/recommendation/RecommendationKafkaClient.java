@@ -0,0 +1,291 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.exceptions.KafkaResponseException;
+import com.soundhub.api.exceptions.RecommendationCapacityExceededException;
+import com.soundhub.api.util.KafkaResponseParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.soundhub.api.Constants.*;
+
+/**
+ * Request/reply client of the recommendation service over Kafka.
+ * <p>
+ * Each request is correlated by a random id and answered through a {@link CompletableFuture}
+ * that completes on the listener thread, so no caller thread waits for the reply.
+ * Pending futures, their capacity limit and their expiry are owned by {@link RecommendationCorrelationRegistry}.
+ * <p>
+ * Pending futures only exist in the JVM that sent the request, so replies must come back to it.
+ * Every request carries {@link KafkaHeaders#REPLY_TOPIC} and {@link KafkaHeaders#REPLY_PARTITION}
+ * pointing at this instance's own partition of the response and error topics, and this instance
+ * reads exactly that partition through a manually assigned listener instead of a shared consumer group.
+ * Each instance must therefore be configured with a distinct {@code spring.kafka.recommendation.reply-partition}.
+ * <p>
+ * With batching enabled, requests are gathered by a {@link MicroBatcher} and sent as one record holding
+ * a list of (correlation id, user id) pairs, marked with the {@link com.soundhub.api.Constants#RECOMMENDATION_BATCH_HEADER}
+ * header. The recommender answers with one record holding (correlation id, user ids) pairs, which is
+ * demultiplexed back to the individual futures.
+ */
+@Slf4j
+@Component
+public class RecommendationKafkaClient {
+	private final String RECOMMENDATION_PRODUCER_TOPIC;
+
+	private final String replyTopic;
+
+	private final int replyPartition;
+
+	private final String instanceId;
+
+	private final KafkaTemplate<String, String> kafkaTemplate;
+
+	private final KafkaResponseParser kafkaResponseParser;
+
+	private final RecommendationCorrelationRegistry pendingRequests;
+
+	private final MicroBatcher<BatchedRecommendationRequest> batcher;
+
+	private final Counter requestCounter;
+
+	private final Counter singleRecordCounter;
+
+	private final Counter batchRecordCounter;
+
+	private final DistributionSummary batchSizeSummary;
+
+	public RecommendationKafkaClient(
+			@Autowired KafkaTemplate<String, String> kafkaTemplate,
+			@Autowired KafkaResponseParser kafkaResponseParser,
+			@Autowired RecommendationCorrelationRegistry pendingRequests,
+			@Autowired RecommendationBatchSettings batchSettings,
+			@Autowired MeterRegistry meterRegistry,
+
+			@Value("${spring.kafka.recommendation.request-topic}")
+			String topic,
+
+			@Value("${spring.kafka.recommendation.response-topic}")
+			String replyTopic,
+
+			@Value("${spring.kafka.recommendation.reply-partition:0}")
+			int replyPartition,
+
+			@Value("${spring.kafka.recommendation.instance-id:${random.uuid}}")
+			String instanceId
+	) {
+		this.kafkaTemplate = kafkaTemplate;
+		this.kafkaResponseParser = kafkaResponseParser;
+		this.pendingRequests = pendingRequests;
+		this.RECOMMENDATION_PRODUCER_TOPIC = topic;
+		this.replyTopic = replyTopic;
+		this.replyPartition = replyPartition;
+		this.instanceId = instanceId;
+
+		this.batcher = batchSettings.enabled()
+				? new MicroBatcher<>("recommendation-batcher", batchSettings.maxBatchSize(), batchSettings.linger(), this::sendBatch)
+				: null;
+
+		this.requestCounter = Counter.builder("recommendation.requests")
+				.description("Recommendation requests issued")
+				.register(meterRegistry);
+		this.singleRecordCounter = Counter.builder("recommendation.request.records")
+				.description("Request records produced to Kafka")
+				.tag("type", "single")
+				.register(meterRegistry);
+		this.batchRecordCounter = Counter.builder("recommendation.request.records")
+				.description("Request records produced to Kafka")
+				.tag("type", "batch")
+				.register(meterRegistry);
+		this.batchSizeSummary = DistributionSummary.builder("recommendation.batch.size")
+				.description("Requests per batched record")
+				.register(meterRegistry);
+
+		log.info("RecommendationKafkaClient[1]: instance {} receives replies on {}-{}", instanceId, replyTopic, replyPartition);
+	}
+
+	/**
+	 * Sends a recommendation request for the user. The returned future completes with the recommended ids,
+	 * fails with {@link KafkaResponseException} on an error reply, or with a {@link java.util.concurrent.TimeoutException}.
+	 *
+	 * @throws RecommendationCapacityExceededException when too many requests are already in flight
+	 * @throws ApiException with 503 when the record cannot be sent
+	 */
+	public CompletableFuture<List<UUID>> requestRecommendations(UUID userId) {
+		String requestId = UUID.randomUUID().toString();
+		CompletableFuture<List<UUID>> futureResponse = pendingRequests.register(requestId);
+
+		requestCounter.increment();
+
+		if (batcher != null) {
+			batcher.submit(new BatchedRecommendationRequest(requestId, userId));
+			return futureResponse;
+		}
+
+		try {
+			kafkaTemplate.send(
+					MessageBuilder.withPayload(userId)
+							.setHeader(KafkaHeaders.TOPIC, RECOMMENDATION_PRODUCER_TOPIC)
+							.setHeader(KafkaHeaders.KEY, requestId)
+							.setHeader(KafkaHeaders.CORRELATION_ID, requestId)
+							.setHeader(KafkaHeaders.REPLY_TOPIC, replyTopic)
+							.setHeader(KafkaHeaders.REPLY_PARTITION, encodePartition(replyPartition))
+							.setHeader(REPLY_INSTANCE_HEADER, instanceId)
+							.build()
+			);
+		} catch (KafkaException error) {
+			ApiException exception = new ApiException(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage());
+
+			pendingRequests.cancel(requestId, exception);
+			throw exception;
+		}
+
+		singleRecordCounter.increment();
+
+		return futureResponse;
+	}
+
+	public int pendingRequestCount() {
+		return pendingRequests.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		if (batcher != null) {
+			batcher.close();
+		}
+	}
+
+	void sendBatch(List<BatchedRecommendationRequest> batch) {
+		try {
+			kafkaTemplate.send(
+					MessageBuilder.withPayload(batch)
+							.setHeader(KafkaHeaders.TOPIC, RECOMMENDATION_PRODUCER_TOPIC)
+							.setHeader(KafkaHeaders.KEY, instanceId)
+							.setHeader(KafkaHeaders.REPLY_TOPIC, replyTopic)
+							.setHeader(KafkaHeaders.REPLY_PARTITION, encodePartition(replyPartition))
+							.setHeader(REPLY_INSTANCE_HEADER, instanceId)
+							.setHeader(RECOMMENDATION_BATCH_HEADER, String.valueOf(batch.size()))
+							.build()
+			).whenComplete((result, error) -> {
+				if (error != null) {
+					failBatch(batch, error);
+				}
+			});
+		} catch (KafkaException error) {
+			failBatch(batch, error);
+			return;
+		}
+
+		batchRecordCounter.increment();
+		batchSizeSummary.record(batch.size());
+	}
+
+	private void failBatch(List<BatchedRecommendationRequest> batch, Throwable error) {
+		log.error("sendBatch[1]: failed to send {} requests: {}", batch.size(), error.getMessage());
+		ApiException exception = new ApiException(HttpStatus.SERVICE_UNAVAILABLE, error.getMessage());
+
+		batch.forEach(request -> pendingRequests.cancel(request.correlationId(), exception));
+	}
+
+	public int getReplyPartition() {
+		return replyPartition;
+	}
+
+	@KafkaListener(
+			topicPartitions = @TopicPartition(
+					topic = "${spring.kafka.error-topic}",
+					partitions = "${spring.kafka.recommendation.reply-partition:0}"
+			),
+			groupId = "${spring.kafka.recommendation.group}"
+	)
+	void handleRecommendationError(
+			@Payload String payload,
+			@Header(KafkaHeaders.CORRELATION_ID) String messageKey,
+			@Header("origin_topic") String originalTopic
+	) {
+		if (!RECOMMENDATION_PRODUCER_TOPIC.equals(originalTopic)) {
+			return;
+		}
+
+		log.error("handleRecommendationError[1]: payload: {}", payload);
+		KafkaResponseException exception = kafkaResponseParser.parseException(payload);
+
+		pendingRequests.fail(messageKey, exception);
+	}
+
+	/**
+	 * Receives every record of a poll at once. Each record is a single or a batched reply,
+	 * told apart by the {@link com.soundhub.api.Constants#RECOMMENDATION_BATCH_HEADER} header.
+	 */
+	@KafkaListener(
+			topicPartitions = @TopicPartition(
+					topic = "${spring.kafka.recommendation.response-topic}",
+					partitions = "${spring.kafka.recommendation.reply-partition:0}"
+			),
+			groupId = "${spring.kafka.recommendation.group}",
+			containerFactory = RECOMMENDATION_REPLY_LISTENER_FACTORY,
+			properties = "max.poll.records:${spring.kafka.recommendation.listener.max-poll-records:500}"
+	)
+	void handleRecommendationResponses(List<ConsumerRecord<String, String>> records) {
+		log.debug("handleRecommendationResponses[1]: {} replies", records.size());
+
+		for (ConsumerRecord<String, String> record : records) {
+			handleRecommendationResponse(
+					record.value(),
+					headerValue(record, KafkaHeaders.CORRELATION_ID),
+					headerValue(record, RECOMMENDATION_BATCH_HEADER)
+			);
+		}
+	}
+
+	void handleRecommendationResponse(String payload, String messageKey, String batch) {
+		log.debug("handleRecommendationResponse[1]: payload: {}", payload);
+
+		if (batch != null) {
+			kafkaResponseParser.parseBatch(payload).forEach(pendingRequests::complete);
+			return;
+		}
+
+		if (messageKey == null) {
+			log.warn("handleRecommendationResponse[2]: reply without correlation id dropped");
+			return;
+		}
+
+		pendingRequests.complete(messageKey, Arrays.asList(kafkaResponseParser.parseUuidArray(payload)));
+	}
+
+	private static String headerValue(ConsumerRecord<String, String> record, String name) {
+		var header = record.headers().lastHeader(name);
+
+		return header != null && header.value() != null
+				? new String(header.value(), StandardCharsets.UTF_8)
+				: null;
+	}
+
+	private static byte[] encodePartition(int partition) {
+		return ByteBuffer.allocate(Integer.BYTES).putInt(partition).array();
+	}
+}
@@ -0,0 +1,185 @@
+package com.soundhub.api.services.search;
+
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.UserSearchView;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process prefix index over normalized user name tokens, used for typeahead search.
+ * <p>
+ * Every user is indexed under each name token and under both full-name orders ("ivan petrov", "petrov ivan"),
+ * so single-token and multi-token prefixes resolve to a sorted range scan of a skip list.
+ * A lookup costs O(log n + k) and never touches the database.
+ * <p>
+ * Writes are serialized and only happen on profile changes; reads are lock-free.
+ */
+@Slf4j
+@Component
+public class UserAutocompleteIndex {
+	private final ConcurrentSkipListMap<String, Set<UUID>> tokens = new ConcurrentSkipListMap<>();
+	private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+	private final Object writeLock = new Object();
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		List<UserSearchView> users = userRepository.findAllSearchViews();
+		users.forEach(user -> put(new Entry(
+				user.getId(),
+				user.getFirstName(),
+				user.getLastName(),
+				user.getAvatarUrl()
+		)));
+
+		log.info("warmUp[1]: autocomplete index loaded {} users", users.size());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserProfileChanged(UserProfileChangedEvent event) {
+		User user = event.getUser();
+
+		put(new Entry(user.getId(), user.getFirstName(), user.getLastName(), user.getAvatarUrl()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserDeleted(UserDeletedEvent event) {
+		remove(event.getUserId());
+	}
+
+	public void put(Entry entry) {
+		synchronized (writeLock) {
+			Entry previous = entries.put(entry.getId(), entry);
+
+			if (previous != null) {
+				unlinkTokens(previous);
+			}
+
+			keysOf(entry).forEach(key -> tokens.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entry.getId()));
+		}
+	}
+
+	public void remove(UUID userId) {
+		synchronized (writeLock) {
+			Entry previous = entries.remove(userId);
+
+			if (previous != null) {
+				unlinkTokens(previous);
+			}
+		}
+	}
+
+	/**
+	 * Returns up to {@code limit} users whose name tokens start with the given prefix.
+	 * Keys are scanned in lexicographic order, so an exact token match comes first and the remaining completions
+	 * follow alphabetically ("anna", "anna b…", "annie"), not by length or relevance.
+	 */
+	public List<Entry> suggest(String prefix, int limit) {
+		String key = normalize(prefix);
+
+		if (key.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+
+		Set<UUID> found = new LinkedHashSet<>();
+		NavigableMap<String, Set<UUID>> range = tokens.subMap(key, true, key + Character.MAX_VALUE, false);
+
+		for (Set<UUID> ids : range.values()) {
+			for (UUID id : ids) {
+				found.add(id);
+
+				if (found.size() >= limit) {
+					return resolve(found);
+				}
+			}
+		}
+
+		return resolve(found);
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private List<Entry> resolve(Set<UUID> ids) {
+		List<Entry> result = new ArrayList<>(ids.size());
+
+		ids.forEach(id -> {
+			Entry entry = entries.get(id);
+
+			if (entry != null) {
+				result.add(entry);
+			}
+		});
+
+		return result;
+	}
+
+	private void unlinkTokens(Entry entry) {
+		keysOf(entry).forEach(key -> {
+			Set<UUID> ids = tokens.get(key);
+
+			if (ids != null) {
+				ids.remove(entry.getId());
+
+				if (ids.isEmpty()) {
+					tokens.remove(key);
+				}
+			}
+		});
+	}
+
+	private static Set<String> keysOf(Entry entry) {
+		String firstName = normalize(entry.getFirstName());
+		String lastName = normalize(entry.getLastName());
+		Set<String> keys = new HashSet<>();
+
+		for (String token : (firstName + " " + lastName).split(" ")) {
+			if (!token.isEmpty()) {
+				keys.add(token);
+			}
+		}
+
+		if (!firstName.isEmpty() && !lastName.isEmpty()) {
+			keys.add(firstName + " " + lastName);
+			keys.add(lastName + " " + firstName);
+		}
+
+		return keys;
+	}
+
+	static String normalize(String value) {
+		if (value == null) {
+			return "";
+		}
+
+		return value.trim()
+				.replaceAll("\\s+", " ")
+				.toLowerCase(Locale.ROOT)
+				.replace('ё', 'е');
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class Entry {
+		private final UUID id;
+		private final String firstName;
+		private final String lastName;
+		private final String avatarUrl;
+	}
+}
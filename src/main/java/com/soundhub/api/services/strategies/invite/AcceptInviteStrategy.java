@@ -12,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -41,6 +42,7 @@ public class AcceptInviteStrategy implements InviteStrategy {
 	 * @throws ApiException              If the provided recipient does not match the invitation's recipient.
 	 */
 	@Override
+	@Transactional
 	public Invite execute(User inviteRecipient, UUID inviteId) {
 		Invite invite = inviteRepository.findById(inviteId)
 				.orElseThrow(() -> new ResourceNotFoundException(Constants.INVITE_RESOURCE_NAME, Constants.ID_FIELD, inviteId));
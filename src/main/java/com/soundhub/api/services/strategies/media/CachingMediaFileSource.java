@@ -0,0 +1,438 @@
+package com.soundhub.api.services.strategies.media;
+
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Read-through disk cache in front of {@link S3MediaFileSource}, selected with {@code media.source=cached_s3}.
+ * <p>
+ * Downloaded objects are kept under {@code media.cache.disk.path}, evicting the least recently used ones once
+ * they take more than {@code media.cache.disk.max-size}; objects above {@code media.cache.disk.max-file-size}
+ * are streamed from S3 without being cached. A cached object is served without contacting S3 for
+ * {@code media.cache.disk.revalidate-after}, then revalidated with a conditional GET on its entity tag,
+ * which costs no body transfer while the object is unchanged. Concurrent misses of the same object share
+ * a single download.
+ * <p>
+ * The index only lives in memory, so each instance keeps its files in its own subdirectory of
+ * {@code media.cache.disk.path}, holding a lock file in it while running. The subdirectory is removed on
+ * shutdown, and subdirectories whose lock is no longer held, left behind by instances that did not shut
+ * down cleanly, are removed on startup. Other instances sharing the path keep their files.
+ * Uploads, deletes and presigned redirects go straight to S3.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "media.source", havingValue = "cached_s3")
+public class CachingMediaFileSource implements MediaFileSourceStrategy {
+	private static final String LOCK_FILE = ".lock";
+
+	/**
+	 * Cached objects by key, in access order, so the first entry is the least recently used one.
+	 * Guarded by itself, together with {@link #cachedBytes} and the files on disk.
+	 */
+	private final LinkedHashMap<String, CachedFile> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final Map<String, CompletableFuture<CachedFile>> loading = new ConcurrentHashMap<>();
+
+	private long cachedBytes;
+
+	private final S3MediaFileSource delegate;
+
+	private final Path root;
+
+	private final Path directory;
+
+	private FileChannel lockChannel;
+
+	private final long maxSize;
+
+	private final long maxFileSize;
+
+	private final Duration revalidateAfter;
+
+	private final Counter hitCounter;
+
+	private final Counter missCounter;
+
+	private final Counter revalidatedCounter;
+
+	private final Counter evictedCounter;
+
+	public CachingMediaFileSource(
+			@Autowired S3MediaFileSource delegate,
+			@Autowired MeterRegistry meterRegistry,
+			@Value("${media.cache.disk.path:${java.io.tmpdir}/soundhub-media-cache}") String directory,
+			@Value("${media.cache.disk.max-size:1GB}") DataSize maxSize,
+			@Value("${media.cache.disk.max-file-size:32MB}") DataSize maxFileSize,
+			@Value("${media.cache.disk.revalidate-after:1m}") Duration revalidateAfter
+	) {
+		this.delegate = delegate;
+		this.root = Paths.get(directory).toAbsolutePath().normalize();
+		this.directory = root.resolve(UUID.randomUUID().toString());
+		this.maxSize = maxSize.toBytes();
+		this.maxFileSize = Math.min(maxFileSize.toBytes(), this.maxSize);
+		this.revalidateAfter = revalidateAfter;
+		this.hitCounter = requestCounter(meterRegistry, "hit");
+		this.missCounter = requestCounter(meterRegistry, "miss");
+		this.revalidatedCounter = requestCounter(meterRegistry, "revalidated");
+		this.evictedCounter = Counter.builder("media.cache.evictions")
+				.description("Media files evicted from the disk cache")
+				.register(meterRegistry);
+
+		Gauge.builder("media.cache.size", this, CachingMediaFileSource::getCachedBytes)
+				.description("Bytes of media files held in the disk cache")
+				.baseUnit("bytes")
+				.register(meterRegistry);
+
+		prepareDirectory();
+	}
+
+	@Override
+	public InputStream getFile(String path) {
+		CachedFile entry = lookup(path);
+
+		if (entry != null && isFresh(entry)) {
+			InputStream inputStream = open(path, entry);
+
+			if (inputStream != null) {
+				hitCounter.increment();
+				return inputStream;
+			}
+		}
+
+		entry = load(path);
+		InputStream inputStream = entry != null ? open(path, entry) : null;
+
+		return inputStream != null ? inputStream : delegate.getFile(path);
+	}
+
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		CachedFile entry = lookup(path);
+
+		if (entry != null && !isFresh(entry)) {
+			entry = load(path);
+		}
+
+		return entry != null ? entry.metadata() : delegate.getMetadata(path);
+	}
+
+	@Override
+	public Optional<PresignedUrl> getRedirectUrl(String path) {
+		return delegate.getRedirectUrl(path);
+	}
+
+	@Override
+	public String uploadFile(String folder, MultipartFile file) {
+		return delegate.uploadFile(folder, file);
+	}
+
+	@Override
+	public void deleteFile(String folder, String fileName) {
+		delegate.deleteFile(folder, fileName);
+		invalidate(Paths.get(folder, fileName).toString());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		synchronized (entries) {
+			entries.clear();
+			cachedBytes = 0;
+		}
+
+		try {
+			if (lockChannel != null) {
+				lockChannel.close();
+			}
+		} catch (IOException e) {
+			log.warn("shutdown[1]: lock of {} not released: {}", directory, e.getMessage());
+		}
+
+		deleteDirectory(directory);
+	}
+
+	public S3MediaFileSource getDelegate() {
+		return delegate;
+	}
+
+	public long getCachedBytes() {
+		synchronized (entries) {
+			return cachedBytes;
+		}
+	}
+
+	/**
+	 * Downloads or revalidates the object, sharing the result with concurrent callers for the same key.
+	 * Returns {@code null} when the object is too large to be cached.
+	 */
+	private CachedFile load(String path) {
+		CompletableFuture<CachedFile> flight = new CompletableFuture<>();
+		CompletableFuture<CachedFile> running = loading.putIfAbsent(path, flight);
+
+		if (running != null) {
+			try {
+				return running.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException cause ? cause : e;
+			}
+		}
+
+		try {
+			CachedFile entry = fetch(path);
+			flight.complete(entry);
+
+			return entry;
+		} catch (RuntimeException e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(path, flight);
+		}
+	}
+
+	private CachedFile fetch(String path) {
+		CachedFile stale = lookup(path);
+		Optional<ResponseInputStream<GetObjectResponse>> response;
+
+		try {
+			response = delegate.getObject(path, stale != null ? stale.eTag() : null);
+		} catch (ResourceNotFoundException e) {
+			invalidate(path);
+			throw e;
+		}
+
+		if (response.isEmpty()) {
+			revalidatedCounter.increment();
+			return revalidate(path, stale);
+		}
+
+		missCounter.increment();
+
+		try (ResponseInputStream<GetObjectResponse> inputStream = response.get()) {
+			GetObjectResponse object = inputStream.response();
+
+			if (object.contentLength() != null && object.contentLength() > maxFileSize) {
+				inputStream.abort();
+				return null;
+			}
+
+			Path file = directory.resolve(UUID.randomUUID().toString());
+
+			try {
+				long size = Files.copy(inputStream, file);
+				CachedFile entry = new CachedFile(
+						file,
+						object.eTag(),
+						object.lastModified(),
+						size,
+						S3MediaFileSource.getContentType(path, object.contentType()),
+						Instant.now()
+				);
+
+				store(path, entry);
+				log.debug("fetch[1]: cached {} ({} bytes)", path, size);
+
+				return entry;
+			} catch (IOException | RuntimeException e) {
+				deleteQuietly(file);
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage(), e);
+		}
+	}
+
+	private CachedFile lookup(String path) {
+		synchronized (entries) {
+			return entries.get(path);
+		}
+	}
+
+	/**
+	 * Opens the cached file, or returns {@code null} when it is gone. Opening under the lock keeps
+	 * eviction from deleting the file in between; an open file stays readable after it is deleted.
+	 */
+	private InputStream open(String path, CachedFile entry) {
+		synchronized (entries) {
+			try {
+				return new FileInputStream(entry.file().toFile());
+			} catch (FileNotFoundException e) {
+				if (entries.get(path) == entry) {
+					entries.remove(path);
+					cachedBytes -= entry.size();
+				}
+
+				return null;
+			}
+		}
+	}
+
+	private CachedFile revalidate(String path, CachedFile stale) {
+		CachedFile entry = stale.revalidated(Instant.now());
+
+		synchronized (entries) {
+			if (entries.get(path) == stale) {
+				entries.put(path, entry);
+			}
+		}
+
+		return entry;
+	}
+
+	private void store(String path, CachedFile entry) {
+		List<Path> evicted = new ArrayList<>();
+
+		synchronized (entries) {
+			CachedFile previous = entries.put(path, entry);
+			cachedBytes += entry.size();
+
+			if (previous != null) {
+				cachedBytes -= previous.size();
+				evicted.add(previous.file());
+			}
+
+			Iterator<Map.Entry<String, CachedFile>> iterator = entries.entrySet().iterator();
+
+			while (cachedBytes > maxSize && iterator.hasNext()) {
+				CachedFile eldest = iterator.next().getValue();
+
+				if (eldest == entry) {
+					break;
+				}
+
+				iterator.remove();
+				cachedBytes -= eldest.size();
+				evicted.add(eldest.file());
+				evictedCounter.increment();
+			}
+
+			evicted.forEach(this::deleteQuietly);
+		}
+	}
+
+	private void invalidate(String path) {
+		synchronized (entries) {
+			CachedFile entry = entries.remove(path);
+
+			if (entry != null) {
+				cachedBytes -= entry.size();
+				deleteQuietly(entry.file());
+			}
+		}
+	}
+
+	private boolean isFresh(CachedFile entry) {
+		return Instant.now().isBefore(entry.validatedAt().plus(revalidateAfter));
+	}
+
+	private void prepareDirectory() {
+		try {
+			Files.createDirectories(root);
+
+			try (Stream<Path> directories = Files.list(root)) {
+				directories.filter(Files::isDirectory).forEach(this::removeIfAbandoned);
+			}
+
+			Files.createDirectories(directory);
+			lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			lockChannel.lock();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Media cache directory " + root + " is not usable", e);
+		}
+	}
+
+	/**
+	 * Removes the subdirectory of another instance once its lock file can be locked, which means the owner
+	 * is gone. A subdirectory without a lock file may still be being set up and is left alone.
+	 */
+	private void removeIfAbandoned(Path instanceDirectory) {
+		try (FileChannel channel = FileChannel.open(instanceDirectory.resolve(LOCK_FILE), StandardOpenOption.WRITE);
+			 FileLock lock = channel.tryLock()) {
+			if (lock != null) {
+				log.info("removeIfAbandoned[1]: removing abandoned media cache {}", instanceDirectory);
+				deleteDirectory(instanceDirectory);
+			}
+		} catch (NoSuchFileException | OverlappingFileLockException e) {
+			// being set up, or owned by another cache in this JVM
+		} catch (IOException e) {
+			log.warn("removeIfAbandoned[2]: {} not checked: {}", instanceDirectory, e.getMessage());
+		}
+	}
+
+	private void deleteDirectory(Path path) {
+		try (Stream<Path> files = Files.walk(path)) {
+			files.sorted(Comparator.reverseOrder()).forEach(this::deleteQuietly);
+		} catch (NoSuchFileException e) {
+			// already gone
+		} catch (IOException e) {
+			log.warn("deleteDirectory[1]: {} not deleted: {}", path, e.getMessage());
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("deleteQuietly[1]: {} not deleted: {}", file, e.getMessage());
+		}
+	}
+
+	private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("media.cache.requests")
+				.description("Media file reads served by the disk cache")
+				.tag("result", result)
+				.register(meterRegistry);
+	}
+
+	private record CachedFile(
+			Path file,
+			String eTag,
+			Instant lastModified,
+			long size,
+			MediaType contentType,
+			Instant validatedAt
+	) {
+		CachedFile revalidated(Instant now) {
+			return new CachedFile(file, eTag, lastModified, size, contentType, now);
+		}
+
+		MediaFileMetadata metadata() {
+			return new MediaFileMetadata(eTag, lastModified, size, contentType);
+		}
+	}
+}
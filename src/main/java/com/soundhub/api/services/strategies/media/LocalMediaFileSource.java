@@ -4,21 +4,38 @@ import com.soundhub.api.Constants;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import com.soundhub.api.util.FileUtils;
+import com.soundhub.api.util.LocalFileResponseWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Objects;
+import java.time.Instant;
+import java.util.*;
 
 @Slf4j
 @Service
 public class LocalMediaFileSource implements MediaFileSourceStrategy {
+	private static final int MAX_CACHED_ETAGS = 10_000;
+
+	/**
+	 * Content hashes by file, reused while the size and modification time of the file stay the same.
+	 */
+	private final Map<Path, CachedETag> eTags = Collections.synchronizedMap(
+			new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Path, CachedETag> eldest) {
+					return size() > MAX_CACHED_ETAGS;
+				}
+			}
+	);
+
 	@Value("${project.resources.path}")
 	private String resourcesPath;
 
@@ -28,16 +45,7 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 	@Override
 	public InputStream getFile(String path) {
 		try {
-			Path staticFilePath = Paths.get(resourcesPath, staticFolder, path);
-			File staticFile = staticFilePath.toFile();
-
-			if (!staticFile.exists()) {
-				String message = String.format(Constants.FILE_NOT_FOUND, path);
-
-				throw new ResourceNotFoundException(message);
-			}
-
-			return new FileInputStream(staticFile);
+			return new FileInputStream(resolveFile(path).toFile());
 		} catch (FileNotFoundException exception) {
 			String message = String.format(Constants.FILE_NOT_FOUND, path);
 
@@ -45,6 +53,34 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 		}
 	}
 
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		Path file = resolveFile(path);
+
+		try {
+			long size = Files.size(file);
+			Instant lastModified = Files.getLastModifiedTime(file).toInstant();
+			CachedETag cached = eTags.get(file);
+
+			if (cached == null || cached.size() != size || !cached.lastModified().equals(lastModified)) {
+				try (InputStream inputStream = Files.newInputStream(file)) {
+					cached = new CachedETag(size, lastModified, "\"" + DigestUtils.md5DigestAsHex(inputStream) + "\"");
+				}
+
+				eTags.put(file, cached);
+			}
+
+			return new MediaFileMetadata(cached.eTag(), lastModified, size, LocalFileResponseWriter.getContentType(file));
+		} catch (IOException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	@Override
+	public Optional<Path> getLocalPath(String path) {
+		return Optional.of(resolveFile(path));
+	}
+
 	@Override
 	public String uploadFile(String folder, MultipartFile file) {
 		log.debug("LocaleMediaFileSource.upload[1]: multipart file is {}", file);
@@ -53,7 +89,7 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_MULTIPART);
 		}
 
-		String fileName = file.getOriginalFilename();
+		String fileName = FileUtils.generateFileName(file.getOriginalFilename());
 
 		File fileFolder = getStaticPath(folder).toFile();
 		File staticResourcesPath = Paths.get(resourcesPath, staticFolder).toFile();
@@ -98,7 +134,24 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 		}
 	}
 
+	/**
+	 * Resolves a path relative to the static folder, rejecting paths that escape it.
+	 */
+	private Path resolveFile(String path) {
+		Path root = Paths.get(resourcesPath, staticFolder).toAbsolutePath().normalize();
+		Path file = root.resolve(path).normalize();
+
+		if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		}
+
+		return file;
+	}
+
 	public Path getStaticPath(String path) {
 		return Paths.get(resourcesPath, staticFolder, path);
 	}
+
+	private record CachedETag(long size, Instant lastModified, String eTag) {
+	}
 }
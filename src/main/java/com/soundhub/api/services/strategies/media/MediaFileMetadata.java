@@ -0,0 +1,40 @@
+package com.soundhub.api.services.strategies.media;
+
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Validators and type of a stored media file, used for conditional requests.
+ *
+ * @param eTag          strong entity tag, including the surrounding quotes
+ * @param lastModified  last modification time of the stored file
+ * @param contentLength size in bytes
+ * @param contentType   detected content type
+ */
+public record MediaFileMetadata(String eTag, Instant lastModified, long contentLength, MediaType contentType) {
+	/**
+	 * Checks an {@code If-Range} value: a strong entity tag must match exactly, a date must equal the
+	 * last modification time to the second.
+	 */
+	public boolean matchesIfRange(String ifRange) {
+		if (ifRange == null) {
+			return true;
+		}
+
+		if (ifRange.startsWith("\"")) {
+			return ifRange.equals(eTag);
+		}
+
+		try {
+			Instant date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+
+			return lastModified != null && date.getEpochSecond() == lastModified.getEpochSecond();
+		} catch (DateTimeParseException e) {
+			return false;
+		}
+	}
+}
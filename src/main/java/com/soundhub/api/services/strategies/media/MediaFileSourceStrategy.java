@@ -3,10 +3,34 @@ package com.soundhub.api.services.strategies.media;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 public interface MediaFileSourceStrategy {
 	InputStream getFile(String path);
 
+	/**
+	 * Returns the entity tag, modification time, size and content type of the file. Sources that derive the
+	 * entity tag from the content may read the body to compute it; the local source hashes the file once
+	 * and reuses the tag while its size and modification time stay the same.
+	 */
+	MediaFileMetadata getMetadata(String path);
+
+	/**
+	 * Returns the file on the local file system when the source keeps its files there,
+	 * so it can be served with ranges and without copying through the heap.
+	 */
+	default Optional<Path> getLocalPath(String path) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns a URL the client can download the file from directly, when the source is configured to redirect.
+	 */
+	default Optional<PresignedUrl> getRedirectUrl(String path) {
+		return Optional.empty();
+	}
+
 	String uploadFile(String folder, MultipartFile file);
 
 	void deleteFile(String folder, String fileName);
@@ -2,10 +2,13 @@ package com.soundhub.api.services.strategies.media;
 
 import com.soundhub.api.util.MediaSourceType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 @Component
 @Slf4j
 public class MediaFileSourceStrategyFactory {
@@ -15,6 +18,10 @@ public class MediaFileSourceStrategyFactory {
 	@Autowired
 	private S3MediaFileSource s3Strategy;
 
+	// only created with media.source=cached_s3
+	@Autowired
+	private ObjectProvider<CachingMediaFileSource> cachedS3Strategy;
+
 	@Value("${media.source}")
 	private String mediaSourceType;
 
@@ -29,6 +36,8 @@ public class MediaFileSourceStrategyFactory {
 		return switch (type) {
 			case LOCAL -> localStrategy;
 			case S3 -> s3Strategy;
+			case CACHED_S3 -> Optional.ofNullable(cachedS3Strategy.getIfAvailable())
+					.orElseThrow(() -> new RuntimeException("Cached S3 media source requires media.source=cached_s3"));
 			default -> throw new RuntimeException("Unknown media source type");
 		};
 	}
@@ -0,0 +1,14 @@
+package com.soundhub.api.services.strategies.media;
+
+import java.net.URI;
+import java.time.Instant;
+
+/**
+ * A presigned object URL.
+ *
+ * @param url       the signed URL
+ * @param expiresAt when the signature stops being accepted
+ * @param refreshAt until when the URL is handed out again instead of signing a new one
+ */
+public record PresignedUrl(URI url, Instant expiresAt, Instant refreshAt) {
+}
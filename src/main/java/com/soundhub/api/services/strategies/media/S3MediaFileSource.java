@@ -3,30 +3,74 @@ package com.soundhub.api.services.strategies.media;
 import com.soundhub.api.Constants;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
+import com.soundhub.api.util.FileUtils;
+import com.soundhub.api.util.LocalFileResponseWriter;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
 public class S3MediaFileSource implements MediaFileSourceStrategy {
+	private static final int MAX_CACHED_URLS = 10_000;
+
+	/**
+	 * Smallest part S3 accepts for every part but the last one.
+	 */
+	private static final DataSize MIN_PART_SIZE = DataSize.ofMegabytes(5);
+
 	private S3Client client;
 
+	private S3Presigner presigner;
+
+	private S3AsyncClient asyncClient;
+
+	private S3MultipartUploader multipartUploader;
+
+	/**
+	 * Presigned GET URLs by object key, handed out again until shortly before they expire,
+	 * so clients and CDNs keep hitting the same URL.
+	 */
+	private final Map<String, PresignedUrl> presignedGets = Collections.synchronizedMap(
+			new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, PresignedUrl> eldest) {
+					return size() > MAX_CACHED_URLS;
+				}
+			}
+	);
+
 	@Value("${s3.bucket.name}")
 	private String bucketName;
 
@@ -45,6 +89,30 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 	@Value("${s3.region}")
 	private String region;
 
+	@Value("${media.s3.redirect.enabled:false}")
+	private boolean redirectEnabled;
+
+	@Value("${media.s3.presign.ttl:15m}")
+	private Duration presignTtl;
+
+	@Value("${media.s3.presign.refresh-before:3m}")
+	private Duration presignRefreshBefore;
+
+	@Value("${media.s3.multipart.threshold:16MB}")
+	private DataSize multipartThreshold;
+
+	@Value("${media.s3.multipart.part-size:8MB}")
+	private DataSize multipartPartSize;
+
+	@Value("${media.s3.multipart.max-concurrent-parts:4}")
+	private int multipartMaxConcurrentParts;
+
+	@Value("${media.s3.multipart.max-attempts:3}")
+	private int multipartMaxAttempts;
+
+	@Value("${media.s3.multipart.retry-backoff:200ms}")
+	private Duration multipartRetryBackoff;
+
 	@PostConstruct
 	private void initClient() {
 		String accessKey = getAccessKey();
@@ -59,6 +127,40 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 				.serviceConfiguration(builder -> builder.pathStyleAccessEnabled(true))
 				.region(Region.of(region))
 				.build();
+
+		this.presigner = S3Presigner.builder()
+				.endpointOverride(endpointUri)
+				.credentialsProvider(credentialsProvider)
+				.serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+				.region(Region.of(region))
+				.build();
+
+		this.asyncClient = S3AsyncClient.builder()
+				.endpointOverride(endpointUri)
+				.credentialsProvider(credentialsProvider)
+				.serviceConfiguration(builder -> builder.pathStyleAccessEnabled(true))
+				.region(Region.of(region))
+				.build();
+
+		this.multipartUploader = new S3MultipartUploader(
+				asyncClient,
+				bucketName,
+				Math.max(multipartPartSize.toBytes(), MIN_PART_SIZE.toBytes()),
+				multipartMaxConcurrentParts,
+				multipartMaxAttempts,
+				multipartRetryBackoff.toMillis()
+		);
+	}
+
+	@PreDestroy
+	private void closeClients() {
+		if (presigner != null) {
+			presigner.close();
+		}
+
+		if (asyncClient != null) {
+			asyncClient.close();
+		}
 	}
 
 	private String getAccessKey() {
@@ -67,28 +169,144 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 
 	@Override
 	public InputStream getFile(String path) {
+		return getObject(path, null).orElseThrow();
+	}
+
+	/**
+	 * Downloads the object, or returns nothing when its entity tag still equals {@code ifNoneMatch}.
+	 */
+	public Optional<ResponseInputStream<GetObjectResponse>> getObject(String path, String ifNoneMatch) {
 		GetObjectRequest request = GetObjectRequest.builder()
 				.bucket(bucketName)
 				.key(path)
+				.ifNoneMatch(ifNoneMatch)
 				.build();
 
 		try {
-			return client.getObject(request);
+			return Optional.of(client.getObject(request));
 		} catch (NoSuchKeyException e) {
 			String message = String.format(Constants.FILE_NOT_FOUND, path);
 
 			throw new ResourceNotFoundException(message);
 		} catch (NoSuchBucketException e) {
 			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		} catch (S3Exception e) {
+			if (ifNoneMatch != null && e.statusCode() == HttpStatus.NOT_MODIFIED.value()) {
+				return Optional.empty();
+			}
+
+			throw e;
 		}
 	}
 
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		HeadObjectRequest request = HeadObjectRequest.builder()
+				.bucket(bucketName)
+				.key(path)
+				.build();
+
+		try {
+			HeadObjectResponse response = client.headObject(request);
+
+			return new MediaFileMetadata(
+					response.eTag(),
+					response.lastModified(),
+					response.contentLength(),
+					getContentType(path, response.contentType())
+			);
+		} catch (NoSuchKeyException e) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		} catch (S3Exception e) {
+			if (e.statusCode() == HttpStatus.NOT_FOUND.value()) {
+				throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+			}
+
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	/**
+	 * With {@code media.s3.redirect.enabled}, downloads are redirected to a presigned GET URL
+	 * instead of being proxied through the API.
+	 */
+	@Override
+	public Optional<PresignedUrl> getRedirectUrl(String path) {
+		return redirectEnabled ? Optional.of(presignGet(path)) : Optional.empty();
+	}
+
+	public PresignedUrl presignGet(String path) {
+		PresignedUrl cached = presignedGets.get(path);
+
+		if (cached != null && Instant.now().isBefore(cached.refreshAt())) {
+			return cached;
+		}
+
+		PresignedGetObjectRequest presigned = presigner.presignGetObject(request -> request
+				.signatureDuration(presignTtl)
+				.getObjectRequest(object -> object.bucket(bucketName).key(path))
+		);
+		PresignedUrl url = new PresignedUrl(
+				URI.create(presigned.url().toString()),
+				presigned.expiration(),
+				presigned.expiration().minus(presignRefreshBefore)
+		);
+
+		presignedGets.put(path, url);
+		log.debug("presignGet[1]: signed GET of {} until {}", path, url.expiresAt());
+
+		return url;
+	}
+
+	/**
+	 * Signs a PUT of exactly {@code contentLength} bytes of {@code contentType} to {@code path}.
+	 */
+	public PresignedPutObjectRequest presignPut(String path, String contentType, long contentLength) {
+		return presigner.presignPutObject(request -> request
+				.signatureDuration(presignTtl)
+				.putObjectRequest(object -> object
+						.bucket(bucketName)
+						.key(path)
+						.contentType(contentType)
+						.contentLength(contentLength)
+				)
+		);
+	}
+
+	/**
+	 * Prefers the type stored with the object, falling back to the file extension for objects
+	 * uploaded without one.
+	 */
+	static MediaType getContentType(String path, String storedType) {
+		if (storedType != null && !storedType.isBlank() && !storedType.equals(MediaType.APPLICATION_OCTET_STREAM_VALUE)) {
+			try {
+				return MediaType.parseMediaType(storedType);
+			} catch (InvalidMediaTypeException e) {
+				log.debug("getContentType[1]: invalid stored content type {} of {}", storedType, path);
+			}
+		}
+
+		return LocalFileResponseWriter.getContentType(Paths.get(path));
+	}
+
+	/**
+	 * Files above {@code media.s3.multipart.threshold} are uploaded in parallel parts by {@link S3MultipartUploader},
+	 * smaller ones with a single {@code PutObject}.
+	 */
 	@Override
 	public String uploadFile(String folder, MultipartFile file) {
 		log.debug("uploadFile[1]: resources path: {}", folder);
 
+		String fileName = FileUtils.generateFileName(file.getOriginalFilename());
+
 		try (InputStream inputStream = file.getInputStream()) {
-			Path path = Paths.get(folder, file.getOriginalFilename());
+			Path path = Paths.get(folder, fileName);
+			long fileSize = file.getSize();
+
+			if (fileSize > multipartThreshold.toBytes()) {
+				multipartUploader.upload(path.toString(), file.getContentType(), inputStream, fileSize);
+				return fileName;
+			}
 
 			PutObjectRequest request = PutObjectRequest.builder()
 					.bucket(bucketName)
@@ -96,15 +314,16 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 					.contentType(file.getContentType())
 					.build();
 
-			long fileSize = file.getSize();
 			RequestBody body = RequestBody.fromInputStream(inputStream, fileSize);
 
 			client.putObject(request, body);
+		} catch (ApiException e) {
+			throw e;
 		} catch (Exception e) {
 			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
 		}
 
-		return file.getOriginalFilename();
+		return fileName;
 	}
 
 	@Override
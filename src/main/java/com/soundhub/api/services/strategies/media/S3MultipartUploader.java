@@ -0,0 +1,188 @@
+package com.soundhub.api.services.strategies.media;
+
+import com.soundhub.api.exceptions.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads large objects with the S3 multipart API on the async client.
+ * <p>
+ * The stream is cut into {@code partSize} parts that are uploaded in parallel, at most {@code maxConcurrentParts}
+ * at a time, which also bounds the memory held per upload. A part that fails with a retryable error (network,
+ * throttling, 5xx) is retried alone with exponential backoff, up to {@code maxAttempts} times. If the upload fails
+ * anyway, it is aborted so S3 drops the parts already stored.
+ * <p>
+ * Works against any S3-compatible endpoint the client is built for, e.g. a local MinIO instance.
+ */
+@Slf4j
+public class S3MultipartUploader {
+	private final S3AsyncClient client;
+
+	private final String bucketName;
+
+	private final long partSize;
+
+	private final int maxConcurrentParts;
+
+	private final int maxAttempts;
+
+	private final long retryBackoffMs;
+
+	public S3MultipartUploader(
+			S3AsyncClient client,
+			String bucketName,
+			long partSize,
+			int maxConcurrentParts,
+			int maxAttempts,
+			long retryBackoffMs
+	) {
+		this.client = client;
+		this.bucketName = bucketName;
+		this.partSize = partSize;
+		this.maxConcurrentParts = Math.max(1, maxConcurrentParts);
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.retryBackoffMs = retryBackoffMs;
+	}
+
+	/**
+	 * Uploads exactly {@code contentLength} bytes of {@code input} to {@code key} and returns once the object
+	 * is complete.
+	 */
+	public void upload(String key, String contentType, InputStream input, long contentLength) {
+		String uploadId = client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+				.bucket(bucketName)
+				.key(key)
+				.contentType(contentType)
+				.build()
+		).join().uploadId();
+
+		int partCount = (int) Math.max(1, (contentLength + partSize - 1) / partSize);
+		CompletedPart[] parts = new CompletedPart[partCount];
+		List<CompletableFuture<CompletedPart>> uploads = new ArrayList<>(partCount);
+		Semaphore permits = new Semaphore(maxConcurrentParts);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		try {
+			for (int partNumber = 1; partNumber <= partCount && failure.get() == null; partNumber++) {
+				long offset = (partNumber - 1) * partSize;
+				int length = (int) Math.min(partSize, contentLength - offset);
+				int index = partNumber - 1;
+
+				permits.acquire();
+
+				byte[] bytes = input.readNBytes(length);
+
+				if (bytes.length < length) {
+					permits.release();
+					throw new IOException("Stream ended after " + (offset + bytes.length) + " of " + contentLength + " bytes");
+				}
+
+				uploads.add(uploadPart(key, uploadId, partNumber, bytes, 1).whenComplete((part, error) -> {
+					permits.release();
+
+					if (error != null) {
+						failure.compareAndSet(null, error);
+					} else {
+						parts[index] = part;
+					}
+				}));
+			}
+
+			CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+
+			client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+					.bucket(bucketName)
+					.key(key)
+					.uploadId(uploadId)
+					.multipartUpload(CompletedMultipartUpload.builder().parts(Arrays.asList(parts)).build())
+					.build()
+			).join();
+
+			log.debug("upload[1]: uploaded {} in {} parts", key, partCount);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			abort(key, uploadId);
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Interrupted while uploading " + key);
+		} catch (IOException | RuntimeException e) {
+			// parts still in flight could otherwise be stored after the abort
+			CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).handle((result, error) -> null).join();
+			abort(key, uploadId);
+
+			Throwable cause = unwrap(e);
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to upload " + key + ": " + cause.getMessage(), cause);
+		}
+	}
+
+	private CompletableFuture<CompletedPart> uploadPart(
+			String key,
+			String uploadId,
+			int partNumber,
+			byte[] bytes,
+			int attempt
+	) {
+		UploadPartRequest request = UploadPartRequest.builder()
+				.bucket(bucketName)
+				.key(key)
+				.uploadId(uploadId)
+				.partNumber(partNumber)
+				.contentLength((long) bytes.length)
+				.build();
+
+		return client.uploadPart(request, AsyncRequestBody.fromBytes(bytes))
+				.thenApply(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build())
+				.exceptionallyCompose(error -> {
+					if (attempt >= maxAttempts || !isRetryable(error)) {
+						return CompletableFuture.failedFuture(error);
+					}
+
+					long delay = retryBackoffMs << (attempt - 1);
+					log.warn("uploadPart[1]: part {} of {} failed (attempt {}), retrying in {} ms: {}",
+							partNumber, key, attempt, delay, unwrap(error).getMessage());
+
+					return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+							.thenCompose(ignored -> uploadPart(key, uploadId, partNumber, bytes, attempt + 1));
+				});
+	}
+
+	private void abort(String key, String uploadId) {
+		try {
+			client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+					.bucket(bucketName)
+					.key(key)
+					.uploadId(uploadId)
+					.build()
+			).join();
+		} catch (RuntimeException e) {
+			log.error("abort[1]: multipart upload {} of {} not aborted: {}", uploadId, key, unwrap(e).getMessage());
+		}
+	}
+
+	private static boolean isRetryable(Throwable error) {
+		Throwable cause = unwrap(error);
+
+		if (cause instanceof S3Exception s3Exception) {
+			return s3Exception.statusCode() >= 500 || s3Exception.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value();
+		}
+
+		return cause instanceof SdkClientException || cause instanceof IOException;
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	}
+}
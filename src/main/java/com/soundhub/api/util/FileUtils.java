@@ -5,6 +5,7 @@ import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
@@ -12,6 +13,7 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 public class FileUtils {
@@ -28,6 +30,18 @@ public class FileUtils {
 		}
 	}
 
+	/**
+	 * Returns a new unique name for an uploaded file that keeps the extension of its original name,
+	 * so a stored file is never overwritten by a later upload and can be cached as immutable.
+	 */
+	public static String generateFileName(String originalFilename) {
+		String extension = StringUtils.getFilenameExtension(originalFilename);
+
+		return extension != null && !extension.isBlank()
+				? UUID.randomUUID() + "." + extension
+				: UUID.randomUUID().toString();
+	}
+
 	public static List<File> convertMultipartToFiles(List<MultipartFile> files) {
 		return files.stream()
 				.map(file -> {
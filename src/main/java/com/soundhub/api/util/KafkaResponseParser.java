@@ -1,9 +1,11 @@
 package com.soundhub.api.util;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.CollectionType;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.KafkaResponseException;
 import lombok.extern.slf4j.Slf4j;
@@ -11,28 +13,84 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.io.IOException;
+import java.util.*;
 
 @Slf4j
 @Service
 public class KafkaResponseParser {
 	ObjectMapper objectMapper;
 
-	KafkaResponseParser(@Autowired ObjectMapper objectMapper) {
+	public KafkaResponseParser(@Autowired ObjectMapper objectMapper) {
 		this.objectMapper = objectMapper;
 	}
 
-	public <T> List<T> parseList(String json, Class<T> classType) {
+	/**
+	 * Parses a single reply holding a JSON array of user ids, optionally encoded as a JSON string.
+	 * <p>
+	 * The payload is read with the streaming parser straight into an array: no intermediate tree,
+	 * collection type or second {@code readValue} round trip. A string-encoded payload is unwrapped
+	 * by taking the text of its only token and streaming over that.
+	 */
+	public UUID[] parseUuidArray(String json) {
+		try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+			JsonToken token = parser.nextToken();
+
+			if (token == JsonToken.VALUE_STRING) {
+				return parseUuidArray(parser.getText());
+			}
+
+			if (token != JsonToken.START_ARRAY) {
+				throw new JsonParseException(parser, "Expected an array of user ids");
+			}
+
+			UUID[] ids = new UUID[16];
+			int size = 0;
+
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token != JsonToken.VALUE_STRING) {
+					throw new JsonParseException(parser, "Expected a user id string");
+				}
+
+				if (size == ids.length) {
+					ids = Arrays.copyOf(ids, size * 2);
+				}
+
+				ids[size++] = UUID.fromString(parser.getText());
+			}
+
+			return size == ids.length ? ids : Arrays.copyOf(ids, size);
+		} catch (IOException | IllegalArgumentException e) {
+			log.error("KafkaResponseParser.parseUuidArray[1]: error: {}", e.getMessage());
+			return new UUID[0];
+		}
+	}
+
+	/**
+	 * Parses a batched reply: an array of {@code {"correlation_id": ..., "user_ids": [...]}} objects,
+	 * optionally encoded as a JSON string like single replies.
+	 */
+	public Map<String, List<UUID>> parseBatch(String json) {
 		try {
-			String innerJson = objectMapper.readValue(json, String.class);
-			CollectionType collectionType = objectMapper
-					.getTypeFactory()
-					.constructCollectionType(List.class, classType);
+			JsonNode root = objectMapper.readTree(json);
 
-			return objectMapper.readValue(innerJson, collectionType);
-		} catch (JsonProcessingException e) {
-			log.error("KafkaResponseParser.parseList[1]: error: {}", e.getMessage());
-			return List.of();
+			if (root.isTextual()) {
+				root = objectMapper.readTree(root.asText());
+			}
+
+			Map<String, List<UUID>> replies = new HashMap<>();
+
+			for (JsonNode reply : root) {
+				List<UUID> userIds = new ArrayList<>();
+				reply.path("user_ids").forEach(id -> userIds.add(UUID.fromString(id.asText())));
+
+				replies.put(reply.path("correlation_id").asText(), userIds);
+			}
+
+			return replies;
+		} catch (JsonProcessingException | IllegalArgumentException e) {
+			log.error("KafkaResponseParser.parseBatch[1]: error: {}", e.getMessage());
+			return Map.of();
 		}
 	}
 
@@ -0,0 +1,114 @@
+package com.soundhub.api.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.Globals;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes a file from the local media folder to the response, honouring a single-range {@code Range} header.
+ * <p>
+ * When the container supports sendfile (Tomcat NIO), the file region is handed to it and the kernel copies it to the
+ * socket without passing through the heap. Otherwise it is written with {@link FileChannel#transferTo} to the servlet
+ * output stream, which the JDK still copies through a heap buffer. Multiple or malformed ranges are ignored and the
+ * whole file is sent, as RFC 9110 allows.
+ */
+@Slf4j
+public class LocalFileResponseWriter {
+	private static final String BYTES_UNIT = "bytes";
+
+	public static void write(
+			Path file,
+			String rangeHeader,
+			HttpServletRequest request,
+			HttpServletResponse response
+	) throws IOException {
+		long length = Files.size(file);
+		long start = 0;
+		long end = length - 1;
+
+		response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+		response.setContentType(getContentType(file).toString());
+
+		HttpRange range = parseSingleRange(rangeHeader);
+
+		if (range != null) {
+			start = range.getRangeStart(length);
+			end = Math.min(range.getRangeEnd(length), length - 1);
+
+			if (start >= length || start > end) {
+				response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+				response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+				return;
+			}
+
+			response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+			response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " " + start + "-" + end + "/" + length);
+		}
+
+		long count = end - start + 1;
+		response.setContentLengthLong(count);
+
+		if (count == 0) {
+			return;
+		}
+
+		if (Boolean.TRUE.equals(request.getAttribute(Globals.SENDFILE_SUPPORTED_ATTR))) {
+			request.setAttribute(Globals.SENDFILE_FILENAME_ATTR, file.toRealPath().toString());
+			request.setAttribute(Globals.SENDFILE_FILE_START_ATTR, start);
+			request.setAttribute(Globals.SENDFILE_FILE_END_ATTR, start + count);
+			return;
+		}
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+			long position = start;
+			long remaining = count;
+
+			while (remaining > 0) {
+				long sent = channel.transferTo(position, remaining, target);
+
+				if (sent <= 0) {
+					break;
+				}
+
+				position += sent;
+				remaining -= sent;
+			}
+		}
+	}
+
+	public static MediaType getContentType(Path file) {
+		return MediaTypeFactory.getMediaType(file.getFileName().toString())
+				.orElse(MediaType.APPLICATION_OCTET_STREAM);
+	}
+
+	private static HttpRange parseSingleRange(String rangeHeader) {
+		if (rangeHeader == null || rangeHeader.isBlank()) {
+			return null;
+		}
+
+		try {
+			List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+
+			return ranges.size() == 1 ? ranges.get(0) : null;
+		} catch (IllegalArgumentException e) {
+			log.debug("parseSingleRange[1]: ignoring invalid range {}", rangeHeader);
+			return null;
+		}
+	}
+}
@@ -5,7 +5,8 @@ import lombok.Getter;
 @Getter
 public enum MediaSourceType {
     S3("s3"),
-    LOCAL("local");
+    LOCAL("local"),
+    CACHED_S3("cached_s3");
 
     private final String value;
 
@@ -0,0 +1,72 @@
+package com.soundhub.api.util;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.exceptions.ApiException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Keyset position of a post in newest-first {@code (createdAt, id)} order, and the opaque page cursor built from it.
+ * <p>
+ * Timestamps are kept at microsecond precision and ids are compared as unsigned bytes, which is how
+ * Postgres stores and orders {@code timestamp} and {@code uuid}, so in-memory and SQL orderings agree.
+ */
+public record PostCursor(LocalDateTime createdAt, UUID id) {
+	public static final Comparator<PostCursor> NEWEST_FIRST = Comparator
+			.comparing(PostCursor::createdAt)
+			.thenComparing(PostCursor::id, PostCursor::compareUnsigned)
+			.reversed();
+
+	public PostCursor {
+		createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+	}
+
+	public String encode() {
+		long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+		String raw = micros + ":" + id;
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decodes a cursor produced by {@link #encode()}; a {@code null} or blank token means the first page.
+	 *
+	 * @throws ApiException with 400 when the token is malformed
+	 */
+	public static PostCursor decode(String token) {
+		if (token == null || token.isBlank()) {
+			return null;
+		}
+
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(':');
+			long micros = Long.parseLong(raw.substring(0, separator));
+			LocalDateTime createdAt = LocalDateTime.ofEpochSecond(
+					Math.floorDiv(micros, 1_000_000L),
+					(int) Math.floorMod(micros, 1_000_000L) * 1_000,
+					ZoneOffset.UTC
+			);
+
+			return new PostCursor(createdAt, UUID.fromString(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException e) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_PAGE_CURSOR);
+		}
+	}
+
+	private static int compareUnsigned(UUID first, UUID second) {
+		int result = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+
+		return result != 0
+				? result
+				: Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+	}
+}
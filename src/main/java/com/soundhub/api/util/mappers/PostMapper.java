@@ -4,15 +4,22 @@ import com.soundhub.api.dto.PostDto;
 import com.soundhub.api.models.Post;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface PostMapper {
+	@Mapping(target = "likes", ignore = true)
+	@Mapping(target = "likeCount", ignore = true)
+	@Mapping(target = "likedByMe", ignore = true)
 	@BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 	void updatePostFromDto(PostDto postResponse, @MappingTarget Post entity);
 
 	PostDto toPostDto(Post post);
 
+	@Mapping(target = "likes", ignore = true)
+	@Mapping(target = "likeCount", ignore = true)
+	@Mapping(target = "likedByMe", ignore = true)
 	Post dtoToPost(PostDto postDto);
 }
@@ -9,6 +9,7 @@ public interface UserMapper {
 	@BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 	@Mapping(target = "role", ignore = true)
 	@Mapping(target = "authorities", ignore = true)
+	@Mapping(target = "profileVersion", ignore = true)
 	void updateUserFromDto(UserDto userDto, @MappingTarget User entity);
 
 	@Mapping(source = "online", target = "online")
@@ -16,5 +17,6 @@ public interface UserMapper {
 	UserDto userToUserDto(User user);
 
 	@Mapping(target = "role", ignore = true)
+	@Mapping(target = "profileVersion", ignore = true)
 	User userDtoToUser(UserDto userDto);
 }
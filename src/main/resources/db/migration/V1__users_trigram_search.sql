@@ -0,0 +1,9 @@
+-- Trigram indexes backing the ranked user search (UserRepository.searchRanked).
+-- Both name orders are indexed so "ivan petrov" and "petrov ivan" hit an index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+CREATE INDEX IF NOT EXISTS users_full_name_trgm_idx
+	ON public.users USING gin (lower(first_name || ' ' || last_name) public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS users_reversed_full_name_trgm_idx
+	ON public.users USING gin (lower(last_name || ' ' || first_name) public.gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Taste profile version used to key cached compatibility scores (User.profileVersion).
+ALTER TABLE public.users ADD COLUMN IF NOT EXISTS profile_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Transactional outbox of user change events (OutboxEvent), relayed to Kafka by OutboxRelay.
+-- Rows are inserted in the transaction of the change and deleted once published.
+CREATE TABLE IF NOT EXISTS public.outbox_events (
+	id           BIGSERIAL PRIMARY KEY,
+	aggregate_id UUID        NOT NULL,
+	event_type   VARCHAR(32) NOT NULL,
+	payload      TEXT,
+	created_at   TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,4 @@
+-- Keyset index for newest-first post listings by author (feed pulls and paginated author listings).
+-- Post uses JOINED inheritance, so author and creation time live on content_entity.
+CREATE INDEX IF NOT EXISTS content_entity_author_created_idx
+	ON public.content_entity (user_id, created_at DESC, id DESC);
@@ -0,0 +1,8 @@
+-- Denormalized like counter (Post.likeCount), backfilled from the user_posts join rows.
+ALTER TABLE public.posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE public.posts p
+SET like_count = (SELECT COUNT(*) FROM public.user_posts up WHERE up.post_id = p.id);
+
+-- One like per (post, user): PostRepository.insertLike relies on it for ON CONFLICT DO NOTHING.
+CREATE UNIQUE INDEX IF NOT EXISTS user_posts_post_user_idx ON public.user_posts (post_id, user_id);
@@ -0,0 +1,2 @@
+-- Outbox rows only name the changed user; OutboxRelay reads the user's committed state when it publishes.
+ALTER TABLE public.outbox_events DROP COLUMN IF EXISTS payload;
@@ -0,0 +1,143 @@
+package com.soundhub.api.benchmarks;
+
+import com.soundhub.api.services.compatibility.CompatibilityEngine;
+import com.soundhub.api.services.compatibility.TasteProfile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares the list-based Jaccard scoring that {@code UserCompatibilityServiceImpl} used before
+ * with {@link CompatibilityEngine} on dictionary-encoded profiles.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=com.soundhub.api.benchmarks.CompatibilityScoringBenchmark -Dexec.classpathScope=test}
+ * or from the IDE through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompatibilityScoringBenchmark {
+	private static final int ARTIST_POOL = 5_000;
+	private static final int GENRE_POOL = 200;
+	private static final int ARTISTS_PER_USER = 40;
+	private static final int GENRES_PER_USER = 8;
+
+	@Param({"10", "1000", "100000"})
+	public int candidates;
+
+	private List<UUID> artistsCompareTo;
+	private List<UUID> genresCompareTo;
+	private List<List<UUID>> candidateArtists;
+	private List<List<UUID>> candidateGenres;
+
+	private CompatibilityEngine engine;
+	private TasteProfile profileCompareTo;
+	private TasteProfile[] candidateProfiles;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		List<UUID> artistPool = randomIds(ARTIST_POOL);
+		List<UUID> genrePool = randomIds(GENRE_POOL);
+
+		artistsCompareTo = sample(artistPool, ARTISTS_PER_USER, random);
+		genresCompareTo = sample(genrePool, GENRES_PER_USER, random);
+		candidateArtists = new ArrayList<>(candidates);
+		candidateGenres = new ArrayList<>(candidates);
+
+		for (int i = 0; i < candidates; i++) {
+			candidateArtists.add(sample(artistPool, ARTISTS_PER_USER, random));
+			candidateGenres.add(sample(genrePool, GENRES_PER_USER, random));
+		}
+
+		engine = new CompatibilityEngine();
+		profileCompareTo = engine.profileOf(artistsCompareTo, genresCompareTo);
+		candidateProfiles = new TasteProfile[candidates];
+
+		for (int i = 0; i < candidates; i++) {
+			candidateProfiles[i] = engine.profileOf(candidateArtists.get(i), candidateGenres.get(i));
+		}
+	}
+
+	@Benchmark
+	public void legacyListScoring(Blackhole blackhole) {
+		for (int i = 0; i < candidates; i++) {
+			float artists = legacyJaccard(candidateArtists.get(i), artistsCompareTo);
+			float genres = legacyJaccard(candidateGenres.get(i), genresCompareTo);
+
+			blackhole.consume(CompatibilityEngine.mean(artists, genres));
+		}
+	}
+
+	@Benchmark
+	public void encodedScoring(Blackhole blackhole) {
+		for (TasteProfile candidate : candidateProfiles) {
+			blackhole.consume(engine.score(profileCompareTo, candidate));
+		}
+	}
+
+	@Benchmark
+	public void encodedScoringWithEncoding(Blackhole blackhole) {
+		TasteProfile profile = engine.profileOf(artistsCompareTo, genresCompareTo);
+
+		for (int i = 0; i < candidates; i++) {
+			TasteProfile candidate = engine.profileOf(candidateArtists.get(i), candidateGenres.get(i));
+			blackhole.consume(engine.score(profile, candidate));
+		}
+	}
+
+	/**
+	 * Copy of the previous {@code calculateCompatibilityForUserBy} implementation, kept as the baseline.
+	 */
+	private static <T> float legacyJaccard(List<T> entityCompareWith, List<T> entityCompareTo) {
+		if (entityCompareTo.isEmpty() || entityCompareWith.isEmpty()) {
+			return 0f;
+		}
+
+		Set<T> intersection = entityCompareWith.stream()
+				.filter(entityCompareTo::contains)
+				.collect(Collectors.toSet());
+
+		Set<T> total = Stream.concat(entityCompareWith.stream(), entityCompareTo.stream())
+				.collect(Collectors.toSet());
+
+		return ((float) intersection.size() / (float) total.size()) * 100;
+	}
+
+	private static List<UUID> randomIds(int count) {
+		List<UUID> ids = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			ids.add(UUID.randomUUID());
+		}
+
+		return ids;
+	}
+
+	private static List<UUID> sample(List<UUID> pool, int count, Random random) {
+		Set<UUID> sample = new LinkedHashSet<>();
+
+		while (sample.size() < count) {
+			sample.add(pool.get(random.nextInt(pool.size())));
+		}
+
+		return new ArrayList<>(sample);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(CompatibilityScoringBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+}
@@ -0,0 +1,77 @@
+package com.soundhub.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundhub.api.services.recommendation.BatchedRecommendationRequest;
+import com.soundhub.api.services.recommendation.MicroBatcher;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Producer-side cost of issuing recommendation requests one record at a time versus through the
+ * {@link MicroBatcher}. The sink serializes the record payload the same way the Kafka JsonSerializer does
+ * and counts records; network and broker costs, which batching saves most on, are not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationBatchingBenchmark {
+	@Param({"1", "16", "100"})
+	public int batchSize;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final LongAdder records = new LongAdder();
+	private MicroBatcher<BatchedRecommendationRequest> batcher;
+
+	@Setup
+	public void setup() {
+		batcher = new MicroBatcher<>("benchmark-batcher", batchSize, Duration.ofMillis(5), batch -> {
+			serialize(batch);
+			records.increment();
+		});
+	}
+
+	@TearDown
+	public void tearDown() {
+		batcher.close();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void singleRecordPerRequest(Blackhole blackhole) {
+		blackhole.consume(serialize(UUID.randomUUID()));
+		records.increment();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void batchedRecords() {
+		batcher.submit(new BatchedRecommendationRequest(UUID.randomUUID().toString(), UUID.randomUUID()));
+	}
+
+	private byte[] serialize(Object payload) {
+		try {
+			return objectMapper.writeValueAsBytes(payload);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RecommendationBatchingBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+}
@@ -0,0 +1,66 @@
+package com.soundhub.api.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.soundhub.api.util.KafkaResponseParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Cost of parsing one string-encoded recommendation reply, as the recommender sends it:
+ * the previous double {@code readValue} into a {@code List<UUID>} versus
+ * {@link KafkaResponseParser#parseUuidArray(String)}. Run with {@code -prof gc} to compare allocation per reply.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecommendationReplyParsingBenchmark {
+	@Param({"10", "100", "1000"})
+	public int replySize;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final KafkaResponseParser parser = new KafkaResponseParser(objectMapper);
+	private String payload;
+
+	@Setup
+	public void setup() throws JsonProcessingException {
+		List<String> ids = IntStream.range(0, replySize)
+				.mapToObj(i -> UUID.randomUUID().toString())
+				.toList();
+
+		payload = objectMapper.writeValueAsString(objectMapper.writeValueAsString(ids));
+	}
+
+	@Benchmark
+	public List<UUID> doubleParse() throws JsonProcessingException {
+		String innerJson = objectMapper.readValue(payload, String.class);
+		CollectionType collectionType = objectMapper
+				.getTypeFactory()
+				.constructCollectionType(List.class, UUID.class);
+
+		return objectMapper.readValue(innerJson, collectionType);
+	}
+
+	@Benchmark
+	public UUID[] streamingParse() {
+		return parser.parseUuidArray(payload);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(RecommendationReplyParsingBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+}
@@ -0,0 +1,88 @@
+package com.soundhub.api.benchmarks;
+
+import com.soundhub.api.services.search.UserAutocompleteIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one typeahead keystroke on {@link UserAutocompleteIndex}: every invocation types the next prefix
+ * of a name ("i", "iv", "iva", ...), from one letter up to the full "first last" form.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.mainClass=com.soundhub.api.benchmarks.UserAutocompleteBenchmark -Dexec.classpathScope=test}
+ * or from the IDE through {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserAutocompleteBenchmark {
+	private static final String[] SYLLABLES = {
+			"an", "na", "iv", "pe", "tr", "ov", "ma", "ri", "ya", "ko", "le", "va", "se", "ge", "di", "mi",
+			"ol", "ga", "ni", "ta", "ro", "ka", "sa", "li", "el", "en", "ar", "in", "ev", "ok"
+	};
+	private static final int LIMIT = 10;
+
+	@Param({"10000", "100000", "500000"})
+	public int users;
+
+	private UserAutocompleteIndex index;
+	private String[] keystrokes;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		index = new UserAutocompleteIndex();
+
+		for (int i = 0; i < users; i++) {
+			index.put(new UserAutocompleteIndex.Entry(UUID.randomUUID(), name(random), name(random), null));
+		}
+
+		keystrokes = new String[1_000];
+
+		for (int i = 0; i < keystrokes.length; ) {
+			String query = name(random) + " " + name(random);
+
+			for (int length = 1; length <= query.length() && i < keystrokes.length; length++) {
+				keystrokes[i++] = query.substring(0, length);
+			}
+		}
+	}
+
+	@Benchmark
+	public void suggestPerKeystroke(Blackhole blackhole) {
+		String prefix = keystrokes[next];
+		next = (next + 1) % keystrokes.length;
+
+		blackhole.consume(index.suggest(prefix, LIMIT));
+	}
+
+	private static String name(Random random) {
+		StringBuilder name = new StringBuilder();
+		int syllables = 2 + random.nextInt(3);
+
+		for (int i = 0; i < syllables; i++) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+
+		name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+
+		return name.toString();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(UserAutocompleteBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+}
@@ -0,0 +1,139 @@
+package com.soundhub.api.controllers;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.models.User;
+import com.soundhub.api.security.BlacklistingService;
+import com.soundhub.api.security.JwtService;
+import com.soundhub.api.services.GenreService;
+import com.soundhub.api.services.RecommendationService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Saturates {@code /recommendedFriends} with slow recommender replies on a deliberately tiny Tomcat pool
+ * and checks that an unrelated endpoint keeps answering quickly, i.e. waiting requests hold no worker thread.
+ */
+@Slf4j
+@SpringBootTest(
+		webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = {
+				"server.tomcat.threads.max=" + RecommendationLoadTest.WORKER_THREADS,
+				"server.tomcat.threads.min-spare=" + RecommendationLoadTest.WORKER_THREADS
+		}
+)
+public class RecommendationLoadTest {
+	static final int WORKER_THREADS = 4;
+	private static final int SLOW_REQUESTS = WORKER_THREADS * 8;
+	private static final long RECOMMENDER_DELAY_MS = 2_000;
+	private static final int PROBES = 20;
+	private static final long MAX_PROBE_LATENCY_MS = 500;
+
+	@LocalServerPort
+	private int port;
+
+	@MockitoBean
+	private RecommendationService recommendationService;
+
+	@MockitoBean
+	private GenreService genreService;
+
+	@MockitoBean
+	private JwtService jwtService;
+
+	@MockitoBean
+	private BlacklistingService blacklistingService;
+
+	@MockitoBean
+	private UserDetailsService userDetailsService;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.build();
+
+	@BeforeEach
+	public void setUp() {
+		UserDetails user = User.builder().email("load@test.com").build();
+
+		when(jwtService.extractUsername(anyString())).thenReturn(user.getUsername());
+		when(jwtService.isTokenValid(anyString(), any(UserDetails.class))).thenReturn(true);
+		when(userDetailsService.loadUserByUsername(anyString())).thenReturn(user);
+		when(genreService.getAllGenres()).thenReturn(List.of());
+		when(recommendationService.getRecommendedUsers()).thenAnswer(invocation -> CompletableFuture.supplyAsync(
+				List::<User>of,
+				CompletableFuture.delayedExecutor(RECOMMENDER_DELAY_MS, TimeUnit.MILLISECONDS)
+		));
+	}
+
+	@Test
+	public void otherEndpointsStayResponsiveWhileRecommendationsAreSlow() throws Exception {
+		long baseline = measureProbeLatency();
+
+		List<CompletableFuture<HttpResponse<String>>> slowRequests = new ArrayList<>();
+
+		for (int i = 0; i < SLOW_REQUESTS; i++) {
+			slowRequests.add(httpClient.sendAsync(
+					request("/api/v1/users/recommendedFriends")
+							.header(Constants.AUTHORIZATION_HEADER_NAME, Constants.BEARER_PREFIX + "token")
+							.build(),
+					HttpResponse.BodyHandlers.ofString()
+			));
+		}
+
+		// give the slow requests time to occupy the worker threads if they were blocking
+		Thread.sleep(200);
+		long underLoad = measureProbeLatency();
+
+		log.info("otherEndpointsStayResponsive[1]: p100 baseline {} ms, under load {} ms", baseline, underLoad);
+		assertTrue(
+				underLoad < MAX_PROBE_LATENCY_MS,
+				"genres latency under recommendation load was " + underLoad + " ms"
+		);
+
+		for (CompletableFuture<HttpResponse<String>> slowRequest : slowRequests) {
+			assertEquals(200, slowRequest.get(RECOMMENDER_DELAY_MS * 5, TimeUnit.MILLISECONDS).statusCode());
+		}
+	}
+
+	/**
+	 * Returns the worst latency of sequential requests to a cheap endpoint, in milliseconds.
+	 */
+	private long measureProbeLatency() throws Exception {
+		long worst = 0;
+
+		for (int i = 0; i < PROBES; i++) {
+			long start = System.nanoTime();
+			HttpResponse<String> response = httpClient.send(request("/api/v1/genres").build(), HttpResponse.BodyHandlers.ofString());
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			assertEquals(200, response.statusCode());
+			worst = Math.max(worst, elapsed);
+		}
+
+		return worst;
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+	}
+}
@@ -35,6 +35,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -273,13 +275,13 @@ public class UserControllerTest extends BaseTest {
 
 
 		when(userService.getCurrentUser()).thenReturn(currentUser);
-		when(recommendationService.getRecommendedUsers()).thenReturn(recommendedUsers);
+		when(recommendationService.getRecommendedUsers()).thenReturn(CompletableFuture.completedFuture(recommendedUsers));
 		when(userMapper.userToUserDto(any(User.class))).thenAnswer(invocation -> {
 			User user = invocation.getArgument(0);
 			return UserDto.builder().id(user.getId()).build();
 		});
 
-		ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends();
+		ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends().join();
 
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
@@ -397,9 +399,9 @@ public class UserControllerTest extends BaseTest {
 				.build();
 
 		when(userService.getCurrentUser()).thenReturn(currentUser);
-		when(recommendationService.getRecommendedUsers()).thenReturn(List.of());
+		when(recommendationService.getRecommendedUsers()).thenReturn(CompletableFuture.completedFuture(List.of()));
 
-		ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends();
+		ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends().join();
 
 		assertEquals(HttpStatus.OK, response.getStatusCode());
 		assertNotNull(response.getBody());
@@ -417,12 +419,14 @@ public class UserControllerTest extends BaseTest {
 
 		when(userService.getCurrentUser()).thenReturn(currentUser);
 		when(recommendationService.getRecommendedUsers())
-				.thenThrow(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable"));
+				.thenReturn(CompletableFuture.failedFuture(new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable")));
 
-		assertThrows(ApiException.class, () -> {
-			userController.getRecommendedFriends();
+		CompletionException exception = assertThrows(CompletionException.class, () -> {
+			userController.getRecommendedFriends().join();
 		});
 
+		assertInstanceOf(ApiException.class, exception.getCause());
+
 		verify(recommendationService, times(1)).getRecommendedUsers();
 	}
 
@@ -0,0 +1,187 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.dto.response.PostPageResponse;
+import com.soundhub.api.events.PostCreatedEvent;
+import com.soundhub.api.events.PostDeletedEvent;
+import com.soundhub.api.models.Post;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.PostRepository;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.PostKeyView;
+import com.soundhub.api.services.feed.FeedTimelineStore;
+import com.soundhub.api.services.impl.FeedServiceImpl;
+import com.soundhub.api.services.likes.PostLikeCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedServiceTest {
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private PostRepository postRepository;
+
+	@Mock
+	private PostLikeCounter postLikeCounter;
+
+	private FeedServiceImpl feedService;
+	private FeedTimelineStore feedTimelineStore;
+
+	private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+	private final Map<UUID, Post> posts = new HashMap<>();
+	private User friend;
+	private User currentUser;
+
+	@BeforeEach
+	void setUp() {
+		feedTimelineStore = new FeedTimelineStore(10, 100, 1);
+		ReflectionTestUtils.setField(feedTimelineStore, "userRepository", userRepository);
+		ReflectionTestUtils.setField(feedTimelineStore, "postRepository", postRepository);
+
+		feedService = new FeedServiceImpl();
+		ReflectionTestUtils.setField(feedService, "userService", userService);
+		ReflectionTestUtils.setField(feedService, "feedTimelineStore", feedTimelineStore);
+		ReflectionTestUtils.setField(feedService, "postRepository", postRepository);
+		ReflectionTestUtils.setField(feedService, "postLikeCounter", postLikeCounter);
+
+		friend = User.builder().id(UUID.randomUUID()).build();
+		currentUser = User.builder().id(UUID.randomUUID()).friends(new ArrayList<>(List.of(friend))).build();
+
+		when(userService.getCurrentUser()).thenReturn(currentUser);
+		lenient().when(postRepository.findKeysByAuthors(anyCollection(), any(), anyInt())).thenCallRealMethod();
+		lenient().when(postRepository.findAllWithImagesInOrder(anyList())).thenCallRealMethod();
+		lenient().when(postRepository.findAllWithImagesByIdIn(anyCollection())).thenAnswer(invocation ->
+				invocation.<Collection<UUID>>getArgument(0).stream().map(posts::get).filter(Objects::nonNull).toList());
+	}
+
+	@Test
+	void getFeed_ShouldPageThroughTimelineWithCursor() {
+		Post newest = post(friend, 3);
+		Post middle = post(friend, 2);
+		Post oldest = post(friend, 1);
+
+		when(postRepository.findLatestKeysByAuthors(eq(List.of(friend.getId())), any(Pageable.class)))
+				.thenReturn(keys(newest, middle, oldest));
+
+		PostPageResponse first = feedService.getFeed(null, 2);
+		PostPageResponse second = feedService.getFeed(first.getNextCursor(), 2);
+
+		assertEquals(List.of(newest, middle), first.getPosts());
+		assertNotNull(first.getNextCursor());
+		assertEquals(List.of(oldest), second.getPosts());
+		assertNull(second.getNextCursor());
+		verify(postRepository, times(1)).findLatestKeysByAuthors(anyCollection(), any(Pageable.class));
+	}
+
+	@Test
+	void onPostCreated_ShouldPushIntoMaterializedFollowerTimelines() {
+		Post older = post(friend, 1);
+
+		when(postRepository.findLatestKeysByAuthors(eq(List.of(friend.getId())), any(Pageable.class)))
+				.thenReturn(keys(older));
+		feedService.getFeed(null, 10);
+
+		Post created = post(friend, 5);
+		when(userRepository.findFollowerIds(eq(friend.getId()), any(Pageable.class)))
+				.thenReturn(List.of(currentUser.getId()));
+		feedTimelineStore.onPostCreated(new PostCreatedEvent(created.getId(), friend.getId(), created.getCreatedAt()));
+
+		assertEquals(List.of(created, older), feedService.getFeed(null, 10).getPosts());
+		verify(postRepository, times(1)).findLatestKeysByAuthors(anyCollection(), any(Pageable.class));
+	}
+
+	@Test
+	void onPostDeleted_ShouldRemovePostFromTimelinesSoPagesStayFull() {
+		Post newest = post(friend, 3);
+		Post deleted = post(friend, 2);
+		Post oldest = post(friend, 1);
+
+		when(postRepository.findLatestKeysByAuthors(eq(List.of(friend.getId())), any(Pageable.class)))
+				.thenReturn(keys(newest, deleted, oldest));
+		feedService.getFeed(null, 2);
+
+		posts.remove(deleted.getId());
+		feedTimelineStore.onPostDeleted(new PostDeletedEvent(deleted.getId(), friend.getId(), deleted.getCreatedAt()));
+		PostPageResponse page = feedService.getFeed(null, 2);
+
+		assertEquals(List.of(newest, oldest), page.getPosts());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void getFeed_ShouldPullPostsOfCelebrityFriendsOnRead() {
+		User celebrity = User.builder().id(UUID.randomUUID()).build();
+		currentUser.getFriends().add(celebrity);
+
+		Post friendPost = post(friend, 1);
+		Post celebrityPost = post(celebrity, 2);
+
+		when(userRepository.findFollowerIds(eq(celebrity.getId()), any(Pageable.class)))
+				.thenReturn(List.of(currentUser.getId(), UUID.randomUUID()));
+		feedTimelineStore.onPostCreated(new PostCreatedEvent(celebrityPost.getId(), celebrity.getId(), celebrityPost.getCreatedAt()));
+
+		when(postRepository.findLatestKeysByAuthors(eq(List.of(friend.getId(), celebrity.getId())), any(Pageable.class)))
+				.thenReturn(keys(friendPost));
+		when(postRepository.findLatestKeysByAuthors(eq(List.of(celebrity.getId())), any(Pageable.class)))
+				.thenReturn(keys(celebrityPost));
+
+		assertEquals(List.of(celebrityPost, friendPost), feedService.getFeed(null, 10).getPosts());
+	}
+
+	@Test
+	void getFeed_ShouldReturnEmptyPageWithoutFriends() {
+		currentUser.getFriends().clear();
+
+		PostPageResponse page = feedService.getFeed(null, 10);
+
+		assertTrue(page.getPosts().isEmpty());
+		assertNull(page.getNextCursor());
+		verify(postRepository, never()).findLatestKeysByAuthors(anyCollection(), any(Pageable.class));
+	}
+
+	private Post post(User author, int minutes) {
+		Post post = Post.builder()
+				.id(UUID.randomUUID())
+				.author(author)
+				.createdAt(now.plusMinutes(minutes))
+				.images(new ArrayList<>())
+				.build();
+
+		posts.put(post.getId(), post);
+		return post;
+	}
+
+	private static List<PostKeyView> keys(Post... posts) {
+		return Arrays.stream(posts).map(post -> (PostKeyView) new PostKeyView() {
+			@Override
+			public UUID getId() {
+				return post.getId();
+			}
+
+			@Override
+			public LocalDateTime getCreatedAt() {
+				return post.getCreatedAt();
+			}
+		}).toList();
+	}
+}
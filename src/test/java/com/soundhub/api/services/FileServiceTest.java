@@ -1,18 +1,23 @@
 package com.soundhub.api.services;
 
+import com.soundhub.api.dto.request.PresignedUploadRequest;
 import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import com.soundhub.api.services.impl.FileServiceImpl;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
@@ -21,6 +26,9 @@ import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,6 +50,9 @@ class FileServiceTest {
 	@BeforeEach
 	void setUp() {
 		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		ReflectionTestUtils.setField(fileService, "uploadExecutor", new SimpleAsyncTaskExecutor());
+		ReflectionTestUtils.setField(fileService, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(fileService, "maxConcurrencyPerRequest", 2);
 	}
 
 	@Test
@@ -73,9 +84,11 @@ class FileServiceTest {
 				"file2", "b.txt", "text/plain", "b".getBytes()
 		);
 
-		when(strategy.uploadFile(eq(path), any(MultipartFile.class)))
-				.thenReturn("a.txt")
-				.thenReturn("b.txt");
+		when(strategy.uploadFile(path, file1)).thenAnswer(invocation -> {
+			Thread.sleep(50);
+			return "a.txt";
+		});
+		when(strategy.uploadFile(path, file2)).thenReturn("b.txt");
 
 		List<String> names = fileService.uploadFileList(path, Arrays.asList(file1, file2));
 
@@ -99,6 +112,86 @@ class FileServiceTest {
 		assertTrue(ex.getMessage().contains("IO failure"));
 	}
 
+	@Test
+	void uploadFileList_ShouldDeleteUploadedFiles_WhenOneUploadFails() {
+		String path = "upload";
+		MultipartFile file1 = new MockMultipartFile("file1", "a.txt", "text/plain", "a".getBytes());
+		MultipartFile file2 = new MockMultipartFile("file2", "b.txt", "text/plain", "b".getBytes());
+
+		when(strategy.uploadFile(path, file1)).thenReturn("a.txt");
+		when(strategy.uploadFile(path, file2)).thenThrow(new ApiException(HttpStatus.BAD_REQUEST, "IO failure"));
+
+		assertThrows(ApiException.class, () -> fileService.uploadFileList(path, List.of(file1, file2)));
+
+		verify(strategy).deleteFile(path, "a.txt");
+		verify(strategy, never()).deleteFile(path, "b.txt");
+	}
+
+	@Test
+	void uploadFileList_ShouldDeleteFilesFinishedAfterAnotherUploadErrored() {
+		String path = "upload";
+		MultipartFile file1 = new MockMultipartFile("file1", "a.txt", "text/plain", "a".getBytes());
+		MultipartFile file2 = new MockMultipartFile("file2", "b.txt", "text/plain", "b".getBytes());
+
+		when(strategy.uploadFile(path, file1)).thenThrow(new Error("upload crashed"));
+		when(strategy.uploadFile(path, file2)).thenAnswer(invocation -> {
+			Thread.sleep(100);
+			return "b.txt";
+		});
+
+		ApiException ex = assertThrows(ApiException.class, () -> fileService.uploadFileList(path, List.of(file1, file2)));
+
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getHttpStatus());
+		verify(strategy).deleteFile(path, "b.txt");
+	}
+
+	@Test
+	void uploadFileList_ShouldLimitConcurrentUploadsPerRequest() {
+		String path = "upload";
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		List<MultipartFile> files = IntStream.range(0, 6)
+				.mapToObj(i -> (MultipartFile) new MockMultipartFile("file" + i, i + ".txt", "text/plain", "x".getBytes()))
+				.toList();
+
+		when(strategy.uploadFile(eq(path), any(MultipartFile.class))).thenAnswer(invocation -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return invocation.<MultipartFile>getArgument(1).getOriginalFilename();
+		});
+
+		List<String> names = fileService.uploadFileList(path, files);
+
+		assertEquals(List.of("0.txt", "1.txt", "2.txt", "3.txt", "4.txt", "5.txt"), names);
+		assertTrue(maxRunning.get() <= 2);
+	}
+
+	@Test
+	void uploadFileList_ShouldRejectWithServiceUnavailable_WhenExecutorIsSaturated() {
+		MultipartFile file = new MockMultipartFile("file", "a.txt", "text/plain", "a".getBytes());
+		ReflectionTestUtils.setField(fileService, "uploadExecutor", new SimpleAsyncTaskExecutor() {
+			@Override
+			public Future<?> submit(Runnable task) {
+				throw new TaskRejectedException("saturated");
+			}
+		});
+
+		ApiException ex = assertThrows(ApiException.class, () -> fileService.uploadFileList("upload", List.of(file)));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
+		verify(strategy, never()).uploadFile(anyString(), any(MultipartFile.class));
+	}
+
+	@Test
+	void createPresignedUpload_ShouldRequireS3Source() {
+		PresignedUploadRequest request = new PresignedUploadRequest("a.png", "image/png", 10L);
+
+		ApiException ex = assertThrows(ApiException.class, () -> fileService.createPresignedUpload("static/", request));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+	}
+
 	@Test
 	void getFile_ShouldReturnInputStream_WhenFileExists() {
 		String path = "dir";
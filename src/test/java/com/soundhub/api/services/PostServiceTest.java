@@ -2,26 +2,38 @@ package com.soundhub.api.services;
 
 import com.soundhub.api.BaseTest;
 import com.soundhub.api.dto.PostDto;
+import com.soundhub.api.dto.response.PostPageResponse;
+import com.soundhub.api.events.PostCreatedEvent;
+import com.soundhub.api.events.PostDeletedEvent;
+import com.soundhub.api.events.PostLikeToggledEvent;
+import com.soundhub.api.exceptions.ApiException;
 import com.soundhub.api.exceptions.ResourceNotFoundException;
 import com.soundhub.api.models.Post;
 import com.soundhub.api.models.User;
 import com.soundhub.api.repositories.PostRepository;
+import com.soundhub.api.repositories.UserRepository;
 import com.soundhub.api.services.impl.PostServiceImpl;
+import com.soundhub.api.services.likes.PostLikeCounter;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.util.PostCursor;
 import com.soundhub.api.util.mappers.PostMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,12 +48,21 @@ public class PostServiceTest extends BaseTest {
 	@Mock
 	private UserService userService;
 
+	@Mock
+	private UserRepository userRepository;
+
 	@Mock
 	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
 
 	@Mock
 	private PostMapper postMapper;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private PostLikeCounter postLikeCounter;
+
 	private UUID postId;
 	private UUID authorId;
 	private PostDto postDto;
@@ -82,6 +103,18 @@ public class PostServiceTest extends BaseTest {
 		verify(postRepository, times(1)).save(any(Post.class));
 	}
 
+	@Test
+	public void testAddPost_ShouldPublishPostCreatedEvent() {
+		when(userService.getCurrentUser()).thenReturn(user);
+		when(postRepository.save(any(Post.class))).thenReturn(post);
+
+		postService.addPost(postDto, null);
+
+		verify(eventPublisher).publishEvent(argThat((PostCreatedEvent event) ->
+				postId.equals(event.getPostId()) && authorId.equals(event.getAuthorId())
+		));
+	}
+
 	@Test
 	public void testAddPost_Negative() {
 		when(userService.getCurrentUser()).thenReturn(user);
@@ -93,12 +126,44 @@ public class PostServiceTest extends BaseTest {
 	@Test
 	public void testToggleLike_Positive() {
 		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
-		when(postRepository.save(any(Post.class))).thenReturn(post);
+		when(postRepository.existsLike(postId, authorId)).thenReturn(false);
+		when(postRepository.insertLike(postId, authorId)).thenReturn(1);
 
 		Post result = postService.toggleLike(postId, user);
 
 		assertEquals(post, result);
-		verify(postRepository, times(1)).save(any(Post.class));
+		assertEquals(1, result.getLikeCount());
+		assertTrue(result.isLikedByMe());
+		assertEquals(1, publishedLikeDelta());
+		verify(postRepository, never()).save(any(Post.class));
+	}
+
+	@Test
+	public void testToggleLike_ShouldRemoveExistingLike() {
+		post.setLikeCount(3);
+		when(postLikeCounter.pending(postId)).thenReturn(2L);
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(postRepository.existsLike(postId, authorId)).thenReturn(true);
+		when(postRepository.deleteLike(postId, authorId)).thenReturn(1);
+
+		Post result = postService.toggleLike(postId, user);
+
+		assertEquals(4, result.getLikeCount());
+		assertFalse(result.isLikedByMe());
+		assertEquals(-1, publishedLikeDelta());
+	}
+
+	@Test
+	public void testToggleLike_ShouldNotCountConcurrentDuplicate() {
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(postRepository.existsLike(postId, authorId)).thenReturn(false);
+		when(postRepository.insertLike(postId, authorId)).thenReturn(0);
+
+		Post result = postService.toggleLike(postId, user);
+
+		assertEquals(0, result.getLikeCount());
+		assertTrue(result.isLikedByMe());
+		verify(eventPublisher, never()).publishEvent(any(PostLikeToggledEvent.class));
 	}
 
 	@Test
@@ -117,6 +182,19 @@ public class PostServiceTest extends BaseTest {
 		assertEquals(post, result);
 	}
 
+	@Test
+	public void testGetPostById_ShouldMarkLikedByCurrentUser() {
+		when(userService.getCurrentUserId()).thenReturn(authorId);
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(postRepository.findLikedPostIds(authorId, List.of(postId))).thenReturn(List.of(postId));
+		doCallRealMethod().when(postRepository).markLikedBy(anyList(), any());
+
+		Post result = postService.getPostById(postId);
+
+		assertTrue(result.isLikedByMe());
+		verify(userService, never()).getCurrentUser();
+	}
+
 	@Test
 	public void testGetPostById_Negative() {
 		when(postRepository.findById(postId)).thenReturn(Optional.empty());
@@ -135,6 +213,18 @@ public class PostServiceTest extends BaseTest {
 		verify(postRepository, times(1)).delete(any(Post.class));
 	}
 
+	@Test
+	public void testDeletePost_ShouldPublishPostDeletedEvent() {
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(userService.getCurrentUser()).thenReturn(user);
+
+		postService.deletePost(postId);
+
+		verify(eventPublisher).publishEvent(argThat((PostDeletedEvent event) ->
+				postId.equals(event.getPostId()) && authorId.equals(event.getAuthorId())
+		));
+	}
+
 	@Test
 	public void testDeletePost_Negative() {
 		when(postRepository.findById(postId)).thenReturn(Optional.empty());
@@ -181,4 +271,59 @@ public class PostServiceTest extends BaseTest {
 
 		assertEquals(0, result.size());
 	}
+
+	@Test
+	public void testGetPostsByAuthorPage_ShouldReturnCursorWhenMorePostsExist() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+		PostCursor newest = new PostCursor(createdAt, postId);
+		PostCursor older = new PostCursor(createdAt.minusMinutes(1), UUID.randomUUID());
+
+		when(userRepository.existsById(authorId)).thenReturn(true);
+		when(postRepository.findKeysByAuthors(List.of(authorId), null, 2)).thenReturn(List.of(newest, older));
+		when(postRepository.findAllWithImagesInOrder(List.of(postId))).thenReturn(List.of(post));
+
+		PostPageResponse result = postService.getPostsByAuthor(authorId, null, 1);
+
+		assertEquals(List.of(post), result.getPosts());
+		assertEquals(newest, PostCursor.decode(result.getNextCursor()));
+	}
+
+	@Test
+	public void testGetPostsByAuthorPage_ShouldContinueFromCursor() {
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2024, 5, 1, 12, 0), UUID.randomUUID());
+
+		when(userRepository.existsById(authorId)).thenReturn(true);
+		when(postRepository.findKeysByAuthors(List.of(authorId), cursor, 21)).thenReturn(List.of());
+		when(postRepository.findAllWithImagesInOrder(List.of())).thenReturn(List.of());
+
+		PostPageResponse result = postService.getPostsByAuthor(authorId, cursor.encode(), 20);
+
+		assertTrue(result.getPosts().isEmpty());
+		assertNull(result.getNextCursor());
+	}
+
+	@Test
+	public void testGetPostsByAuthorPage_ShouldThrowWhenAuthorDoesNotExist() {
+		when(userRepository.existsById(authorId)).thenReturn(false);
+
+		assertThrows(ResourceNotFoundException.class, () -> postService.getPostsByAuthor(authorId, null, 20));
+		verify(userService, never()).getUserById(any());
+		verify(postRepository, never()).findKeysByAuthors(anyList(), any(), anyInt());
+	}
+
+	@Test
+	public void testGetPostsByAuthorPage_ShouldRejectMalformedCursor() {
+		ApiException ex = assertThrows(ApiException.class, () -> postService.getPostsByAuthor(authorId, "%%%", 20));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+		verifyNoInteractions(postRepository);
+	}
+
+	private long publishedLikeDelta() {
+		ArgumentCaptor<PostLikeToggledEvent> captor = ArgumentCaptor.forClass(PostLikeToggledEvent.class);
+		verify(eventPublisher).publishEvent(captor.capture());
+
+		assertEquals(postId, captor.getValue().getPostId());
+		return captor.getValue().getDelta();
+	}
 }
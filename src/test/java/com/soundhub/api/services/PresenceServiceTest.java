@@ -0,0 +1,147 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.PresenceDto;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.services.impl.PresenceServiceImpl;
+import com.soundhub.api.services.presence.PresenceSubscriptionRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceTest {
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+
+	@Mock
+	private PresenceSubscriptionRegistry subscriptionRegistry;
+
+	@InjectMocks
+	private PresenceServiceImpl presenceService;
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void flush_ShouldCoalesceTogglesIntoSingleRowUpdate() {
+		UUID userId = UUID.randomUUID();
+		LocalDateTime lastOnline = LocalDateTime.now();
+
+		presenceService.updatePresence(userId, true, null);
+		presenceService.updatePresence(userId, false, lastOnline);
+		presenceService.updatePresence(userId, true, null);
+		presenceService.flush();
+
+		ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+
+		assertEquals(1, batch.getValue().size());
+		assertArrayEquals(new Object[]{true, null, userId}, batch.getValue().get(0));
+	}
+
+	@Test
+	void flush_ShouldSkipDatabaseWhenNothingChanged() {
+		presenceService.flush();
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+
+	@Test
+	void flush_ShouldRetryFailedBatch() {
+		UUID userId = UUID.randomUUID();
+
+		presenceService.updatePresence(userId, true, null);
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+		presenceService.flush();
+		presenceService.flush();
+
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+	}
+
+	@Test
+	void flush_ShouldEvictPersistedOfflineUsers() {
+		UUID onlineUser = UUID.randomUUID();
+		UUID offlineUser = UUID.randomUUID();
+
+		presenceService.updatePresence(onlineUser, true, null);
+		presenceService.updatePresence(offlineUser, false, LocalDateTime.now());
+		presenceService.flush();
+
+		assertTrue(presenceService.getPresence(onlineUser).isPresent());
+		assertTrue(presenceService.getPresence(offlineUser).isEmpty());
+	}
+
+	@Test
+	void flush_ShouldKeepOfflineUsersWhenBatchFails() {
+		UUID userId = UUID.randomUUID();
+
+		presenceService.updatePresence(userId, false, LocalDateTime.now());
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+		presenceService.flush();
+
+		assertTrue(presenceService.getPresence(userId).isPresent());
+	}
+
+	@Test
+	void applyPresence_ShouldOverrideEntityState() {
+		UUID userId = UUID.randomUUID();
+		LocalDateTime lastOnline = LocalDateTime.now();
+		User user = User.builder().id(userId).online(true).build();
+
+		presenceService.updatePresence(userId, false, lastOnline);
+		presenceService.applyPresence(user);
+
+		assertFalse(user.isOnline());
+		assertEquals(lastOnline, user.getLastOnline());
+	}
+
+	@Test
+	void updatePresence_ShouldNotifyOnlySubscribedFriends() {
+		UUID userId = UUID.randomUUID();
+		UUID subscribedFriend = UUID.randomUUID();
+		UUID offlineFriend = UUID.randomUUID();
+
+		when(subscriptionRegistry.hasSubscribers()).thenReturn(true);
+		when(subscriptionRegistry.isSubscribed(subscribedFriend)).thenReturn(true);
+		when(subscriptionRegistry.isSubscribed(offlineFriend)).thenReturn(false);
+		when(userRepository.findFriendIds(userId)).thenReturn(List.of(subscribedFriend, offlineFriend));
+
+		presenceService.updatePresence(userId, true, null);
+
+		verify(messagingTemplate).convertAndSend(
+				eq(Constants.PRESENCE_QUEUE_PREFIX + subscribedFriend), any(PresenceDto.class)
+		);
+		verify(messagingTemplate, never()).convertAndSend(
+				eq(Constants.PRESENCE_QUEUE_PREFIX + offlineFriend), any(PresenceDto.class)
+		);
+	}
+
+	@Test
+	void updatePresence_ShouldNotQueryFriendsWithoutSubscribers() {
+		presenceService.updatePresence(UUID.randomUUID(), true, null);
+
+		verifyNoInteractions(userRepository, messagingTemplate);
+	}
+}
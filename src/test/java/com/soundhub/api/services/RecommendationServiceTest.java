@@ -0,0 +1,174 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.exceptions.KafkaResponseException;
+import com.soundhub.api.exceptions.RecommendationCapacityExceededException;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.services.impl.RecommendationServiceImpl;
+import com.soundhub.api.services.recommendation.CircuitBreaker;
+import com.soundhub.api.services.recommendation.LocalRecommender;
+import com.soundhub.api.services.recommendation.RecommendationCache;
+import com.soundhub.api.services.recommendation.RecommendationKafkaClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private RecommendationKafkaClient recommendationKafkaClient;
+
+	@Mock
+	private LocalRecommender localRecommender;
+
+	private CircuitBreaker circuitBreaker;
+
+	private RecommendationServiceImpl recommendationService;
+
+	private User currentUser;
+	private User friend;
+
+	@BeforeEach
+	void setUp() {
+		circuitBreaker = new CircuitBreaker("recommendation", 2, Duration.ofMinutes(1));
+		recommendationService = new RecommendationServiceImpl(
+				userRepository, userService, recommendationKafkaClient,
+				new RecommendationCache(Duration.ofMinutes(1), Duration.ofMinutes(10), 100),
+				localRecommender, circuitBreaker, Runnable::run
+		);
+
+		friend = User.builder().id(UUID.randomUUID()).build();
+		currentUser = User.builder()
+				.id(UUID.randomUUID())
+				.friends(new ArrayList<>(List.of(friend)))
+				.build();
+
+		when(userService.getCurrentUser()).thenReturn(currentUser);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldNotBlockUntilReplyArrives() {
+		CompletableFuture<List<UUID>> reply = new CompletableFuture<>();
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId())).thenReturn(reply);
+
+		CompletableFuture<List<User>> result = recommendationService.getRecommendedUsers();
+
+		assertFalse(result.isDone());
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldFilterOutFriends() {
+		UUID strangerId = UUID.randomUUID();
+		User stranger = User.builder().id(strangerId).build();
+
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenReturn(CompletableFuture.completedFuture(List.of(friend.getId(), strangerId)));
+		when(userRepository.findAllById(List.of(strangerId))).thenReturn(List.of(stranger));
+
+		List<User> result = recommendationService.getRecommendedUsers().join();
+
+		assertEquals(List.of(stranger), result);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldFallBackToLocalRecommenderOnTimeout() {
+		UUID strangerId = UUID.randomUUID();
+		User stranger = User.builder().id(strangerId).build();
+
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+		when(localRecommender.recommend(currentUser.getId())).thenReturn(List.of(strangerId));
+		when(userRepository.findAllById(List.of(strangerId))).thenReturn(List.of(stranger));
+
+		assertEquals(List.of(stranger), recommendationService.getRecommendedUsers().join());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldSkipKafkaWhileCircuitIsOpen() {
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+		when(localRecommender.recommend(currentUser.getId())).thenReturn(List.of());
+		when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(List.of(), recommendationService.getRecommendedUsers().join());
+		}
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		verify(recommendationKafkaClient, times(2)).requestRecommendations(currentUser.getId());
+		verify(localRecommender, times(3)).recommend(currentUser.getId());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldNotFallBackOnRecommenderError() {
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenReturn(CompletableFuture.failedFuture(new KafkaResponseException("ValidationError", 400, "bad user")));
+
+		CompletionException exception = assertThrows(
+				CompletionException.class, () -> recommendationService.getRecommendedUsers().join()
+		);
+
+		ApiException cause = assertInstanceOf(ApiException.class, exception.getCause());
+		assertEquals(HttpStatus.BAD_REQUEST, cause.getHttpStatus());
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		verifyNoInteractions(localRecommender);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldFailFastWithoutTrippingCircuitWhenOverloaded() {
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenThrow(new RecommendationCapacityExceededException());
+
+		for (int i = 0; i < 3; i++) {
+			CompletionException exception = assertThrows(
+					CompletionException.class, () -> recommendationService.getRecommendedUsers().join()
+			);
+
+			ApiException cause = assertInstanceOf(RecommendationCapacityExceededException.class, exception.getCause());
+			assertEquals(HttpStatus.SERVICE_UNAVAILABLE, cause.getHttpStatus());
+		}
+
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		verifyNoInteractions(localRecommender);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldApplyFriendFilterAfterCache() {
+		UUID strangerId = UUID.randomUUID();
+		User stranger = User.builder().id(strangerId).build();
+
+		when(recommendationKafkaClient.requestRecommendations(currentUser.getId()))
+				.thenReturn(CompletableFuture.completedFuture(List.of(strangerId)));
+		when(userRepository.findAllById(List.of(strangerId))).thenReturn(List.of(stranger));
+		when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+		assertEquals(List.of(stranger), recommendationService.getRecommendedUsers().join());
+
+		currentUser.getFriends().add(stranger);
+
+		assertEquals(List.of(), recommendationService.getRecommendedUsers().join());
+		verify(recommendationKafkaClient, times(1)).requestRecommendations(currentUser.getId());
+	}
+}
@@ -1,9 +1,14 @@
 package com.soundhub.api.services;
 
 import com.soundhub.api.BaseTest;
+import com.soundhub.api.dto.CompatibilityScoreDto;
 import com.soundhub.api.dto.UserCompatibilityDto;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 import com.soundhub.api.models.User;
+import com.soundhub.api.services.compatibility.CompatibilityEngine;
+import com.soundhub.api.services.compatibility.CompatibilityScoreCache;
+import com.soundhub.api.services.compatibility.TasteProfile;
+import com.soundhub.api.services.compatibility.TasteProfileStore;
 import com.soundhub.api.services.impl.UserCompatibilityServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,16 +16,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -33,6 +44,15 @@ public class UserCompatibilityServiceTest extends BaseTest {
 	@Mock
 	private UserService userService;
 
+	@Spy
+	private CompatibilityEngine compatibilityEngine;
+
+	@Mock
+	private TasteProfileStore tasteProfileStore;
+
+	@Spy
+	private CompatibilityScoreCache compatibilityScoreCache = new CompatibilityScoreCache(100);
+
 	@BeforeEach
 	public void setup() {
 		MockitoAnnotations.openMocks(this);
@@ -71,4 +91,32 @@ public class UserCompatibilityServiceTest extends BaseTest {
 		assertEquals(otherUser, compatibilityDto.getUser());
 		assertEquals(20f, compatibilityDto.getCompatibility(), 0.01);
 	}
+
+	@Test
+	public void testFindMostCompatibleUsers() {
+		UUID sharedArtist = UUID.randomUUID();
+		UUID closeId = UUID.randomUUID();
+		UUID distantId = UUID.randomUUID();
+		UUID unrelatedId = UUID.randomUUID();
+
+		TasteProfile profile = compatibilityEngine.profileOf(List.of(sharedArtist, UUID.randomUUID()), List.of());
+		TasteProfile close = compatibilityEngine.profileOf(List.of(sharedArtist), List.of());
+		TasteProfile distant = compatibilityEngine.profileOf(List.of(sharedArtist, UUID.randomUUID(), UUID.randomUUID()), List.of());
+		TasteProfile unrelated = compatibilityEngine.profileOf(List.of(UUID.randomUUID()), List.of());
+
+		ReflectionTestUtils.setField(userCompatibilityService, "maxLshCandidates", 100);
+		when(tasteProfileStore.get(user.getId())).thenReturn(Optional.of(profile));
+		when(tasteProfileStore.get(closeId)).thenReturn(Optional.of(close));
+		when(tasteProfileStore.get(distantId)).thenReturn(Optional.of(distant));
+		when(tasteProfileStore.get(unrelatedId)).thenReturn(Optional.of(unrelated));
+		when(tasteProfileStore.candidatesOf(any(TasteProfile.class), anyInt()))
+				.thenReturn(Set.of(user.getId(), closeId, distantId, unrelatedId));
+
+		List<CompatibilityScoreDto> result = userCompatibilityService.findMostCompatibleUsers(10);
+
+		assertEquals(2, result.size());
+		assertEquals(closeId, result.get(0).getUserId());
+		assertEquals(50f, result.get(0).getCompatibility(), 0.01);
+		assertEquals(distantId, result.get(1).getUserId());
+	}
 }
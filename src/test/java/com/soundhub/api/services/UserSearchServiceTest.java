@@ -0,0 +1,140 @@
+package com.soundhub.api.services;
+
+import com.soundhub.api.dto.PresenceDto;
+import com.soundhub.api.dto.UserSearchResultDto;
+import com.soundhub.api.dto.response.UserSearchPageResponse;
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.repositories.UserRepository;
+import com.soundhub.api.repositories.projections.UserSearchView;
+import com.soundhub.api.services.impl.UserSearchServiceImpl;
+import com.soundhub.api.services.search.UserAutocompleteIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private ValueTransformer<String> fileUrlTransformer;
+
+	@Mock
+	private UserAutocompleteIndex autocompleteIndex;
+
+	@Mock
+	private PresenceService presenceService;
+
+	@InjectMocks
+	private UserSearchServiceImpl userSearchService;
+
+	@Test
+	void searchRanked_ShouldNormalizeMultiPartNames() {
+		when(userRepository.searchRanked(anyString(), anyString(), anyString(), any(Pageable.class)))
+				.thenReturn(Page.empty());
+
+		userSearchService.searchRanked("  Anna   Maria  Smith ", 0, 20);
+
+		verify(userRepository).searchRanked(
+				eq("anna maria smith"),
+				eq("anna maria smith%"),
+				eq("%anna maria smith%"),
+				eq(PageRequest.of(0, 20))
+		);
+	}
+
+	@Test
+	void searchRanked_ShouldEscapeLikeWildcards() {
+		when(userRepository.searchRanked(anyString(), anyString(), anyString(), any(Pageable.class)))
+				.thenReturn(Page.empty());
+
+		userSearchService.searchRanked("100%_user", 0, 20);
+
+		verify(userRepository).searchRanked(
+				eq("100%_user"),
+				eq("100\\%\\_user%"),
+				eq("%100\\%\\_user%"),
+				any(Pageable.class)
+		);
+	}
+
+	@Test
+	void searchRanked_ShouldClampPageSize() {
+		when(userRepository.searchRanked(anyString(), anyString(), anyString(), any(Pageable.class)))
+				.thenReturn(Page.empty());
+
+		userSearchService.searchRanked("ivan", -1, 1000);
+
+		verify(userRepository).searchRanked(anyString(), anyString(), anyString(), eq(PageRequest.of(0, 50)));
+	}
+
+	@Test
+	void searchRanked_ShouldMapViewsToLightweightDtos() {
+		UUID id = UUID.randomUUID();
+		UserSearchView view = mock(UserSearchView.class);
+
+		when(view.getId()).thenReturn(id);
+		when(view.getFirstName()).thenReturn("Ivan");
+		when(view.getLastName()).thenReturn("Petrov");
+		when(view.getAvatarUrl()).thenReturn("avatar.jpg");
+		when(view.getOnline()).thenReturn(null);
+		when(fileUrlTransformer.transformValue("avatar.jpg")).thenReturn("http://host/api/v1/files/avatar.jpg");
+		when(userRepository.searchRanked(anyString(), anyString(), anyString(), any(Pageable.class)))
+				.thenReturn(new PageImpl<>(List.of(view)));
+
+		UserSearchPageResponse result = userSearchService.searchRanked("iva", 0, 20);
+
+		assertEquals(1, result.getTotalElements());
+		assertEquals(1, result.getTotalPages());
+		UserSearchResultDto dto = result.getUsers().get(0);
+		assertEquals(id, dto.getId());
+		assertEquals("Ivan", dto.getFirstName());
+		assertEquals("Petrov", dto.getLastName());
+		assertEquals("http://host/api/v1/files/avatar.jpg", dto.getAvatarUrl());
+		assertFalse(dto.isOnline());
+	}
+
+	@Test
+	void autocomplete_ShouldReadCurrentPresence() {
+		UUID onlineId = UUID.randomUUID();
+		UUID offlineId = UUID.randomUUID();
+
+		when(autocompleteIndex.suggest("iv", 10)).thenReturn(List.of(
+				new UserAutocompleteIndex.Entry(onlineId, "Ivan", "Petrov", null),
+				new UserAutocompleteIndex.Entry(offlineId, "Ivan", "Sidorov", null)
+		));
+		when(presenceService.getPresence(onlineId)).thenReturn(Optional.of(new PresenceDto(onlineId, true, null)));
+		when(presenceService.getPresence(offlineId)).thenReturn(Optional.empty());
+
+		List<UserSearchResultDto> result = userSearchService.autocomplete("iv", 10);
+
+		assertTrue(result.get(0).isOnline());
+		assertFalse(result.get(1).isOnline());
+	}
+
+	@Test
+	void searchRanked_ShouldRejectBlankQuery() {
+		ApiException ex = assertThrows(ApiException.class, () -> userSearchService.searchRanked("   ", 0, 20));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+		verifyNoInteractions(userRepository);
+	}
+}
@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +26,7 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,6 +50,12 @@ public class UserServiceTest extends BaseTest {
 	@Mock
 	private UserMapper userMapper;
 
+	@Mock
+	private ApplicationEventPublisher eventPublisher;
+
+	@Mock
+	private PresenceService presenceService;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -202,6 +210,38 @@ public class UserServiceTest extends BaseTest {
 		verify(userRepository).save(user);
 	}
 
+	@Test
+	public void testUpdateUser_ShouldBumpProfileVersionOnTasteChange() {
+		UserDto userDto = new UserDto();
+		userDto.setFavoriteArtistsMbids(new ArrayList<>(List.of(UUID.randomUUID())));
+		long version = user.getProfileVersion();
+
+		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+		doAnswer(invocation -> {
+			user.setFavoriteArtistsMbids(userDto.getFavoriteArtistsMbids());
+			return null;
+		}).when(userMapper).updateUserFromDto(userDto, user);
+		when(userRepository.findProfileVersion(user.getId())).thenReturn(version + 1);
+
+		userService.updateUser(user.getId(), userDto);
+
+		verify(userRepository).incrementProfileVersion(user.getId());
+		assertEquals(version + 1, user.getProfileVersion());
+	}
+
+	@Test
+	public void testUpdateUser_ShouldKeepProfileVersionWithoutTasteChange() {
+		UserDto userDto = new UserDto();
+		long version = user.getProfileVersion();
+
+		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+		userService.updateUser(user.getId(), userDto);
+
+		verify(userRepository, never()).incrementProfileVersion(any());
+		assertEquals(version, user.getProfileVersion());
+	}
+
 	@Test
 	public void testUpdateUserOnline() {
 		User result = userService.getCurrentUser();
@@ -211,5 +251,24 @@ public class UserServiceTest extends BaseTest {
 		User toggledUser = userService.updateUserOnline(!isOnline);
 
 		assertNotEquals(isOnline, toggledUser.isOnline());
+		verify(presenceService).updatePresence(user.getId(), toggledUser.isOnline(), toggledUser.getLastOnline());
+		verify(userRepository, never()).save(any(User.class));
+	}
+
+	@Test
+	public void testUpdateUserOnline_ShouldUseAuthenticatedPrincipal() {
+		Authentication authentication = mock(Authentication.class);
+		SecurityContext securityContext = mock(SecurityContext.class);
+		when(authentication.getPrincipal()).thenReturn(user);
+		when(securityContext.getAuthentication()).thenReturn(authentication);
+		SecurityContextHolder.setContext(securityContext);
+
+		boolean isOnline = user.isOnline();
+		User toggledUser = userService.updateUserOnline(!isOnline);
+
+		assertSame(user, toggledUser);
+		assertEquals(user.getId(), userService.getCurrentUserId());
+		verify(presenceService).updatePresence(user.getId(), !isOnline, toggledUser.getLastOnline());
+		verify(userRepository, never()).findByEmail(anyString());
 	}
 }
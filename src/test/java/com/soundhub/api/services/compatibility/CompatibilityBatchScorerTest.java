@@ -0,0 +1,87 @@
+package com.soundhub.api.services.compatibility;
+
+import com.soundhub.api.dto.response.CompatibilityBatchResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompatibilityBatchScorerTest {
+	@Spy
+	private CompatibilityEngine compatibilityEngine;
+
+	@Mock
+	private TasteProfileStore tasteProfileStore;
+
+	@InjectMocks
+	private CompatibilityBatchScorer compatibilityBatchScorer;
+
+	@Test
+	void score_ShouldSortByScoreAndApplyThresholdAndLimit() {
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+		UUID[] artists = {a, b, UUID.randomUUID(), UUID.randomUUID()};
+		TasteProfile profile = compatibilityEngine.profileOf(List.of(artists), List.of());
+
+		UUID half = UUID.randomUUID();
+		UUID quarter = UUID.randomUUID();
+		UUID low = UUID.randomUUID();
+		UUID none = UUID.randomUUID();
+
+		when(tasteProfileStore.getOrEmpty(any(UUID.class))).thenReturn(TasteProfile.EMPTY);
+		when(tasteProfileStore.getOrEmpty(half)).thenReturn(compatibilityEngine.profileOf(List.of(a, b), List.of()));
+		when(tasteProfileStore.getOrEmpty(quarter)).thenReturn(compatibilityEngine.profileOf(List.of(a), List.of()));
+		when(tasteProfileStore.getOrEmpty(low)).thenReturn(compatibilityEngine.profileOf(
+				List.of(a, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()),
+				List.of()
+		));
+
+		CompatibilityBatchResponse response = compatibilityBatchScorer.score(
+				profile, new UUID[]{low, none, quarter, half}, 10f, 2
+		);
+
+		assertArrayEquals(new UUID[]{half, quarter}, response.getUserIds());
+		assertArrayEquals(new float[]{50f, 25f}, response.getScores(), 0.01f);
+	}
+
+	@Test
+	void score_ShouldSplitLargeBatchesAcrossPool() {
+		UUID shared = UUID.randomUUID();
+		TasteProfile profile = compatibilityEngine.profileOf(List.of(shared), List.of());
+		TasteProfile match = compatibilityEngine.profileOf(List.of(shared), List.of());
+		UUID[] candidates = new UUID[CompatibilityBatchScorer.SEQUENTIAL_THRESHOLD * 4 + 3];
+
+		for (int i = 0; i < candidates.length; i++) {
+			candidates[i] = UUID.randomUUID();
+		}
+
+		when(tasteProfileStore.getOrEmpty(any(UUID.class))).thenReturn(match);
+
+		CompatibilityBatchResponse response = compatibilityBatchScorer.score(profile, candidates, 0f, Integer.MAX_VALUE);
+
+		assertEquals(candidates.length, response.getUserIds().length);
+
+		for (float score : response.getScores()) {
+			assertEquals(100f, score, 0.01f);
+		}
+	}
+
+	@Test
+	void rank_ShouldReturnEmptyResultForNonPositiveLimit() {
+		CompatibilityBatchResponse response = CompatibilityBatchScorer.rank(
+				new UUID[]{UUID.randomUUID()}, new float[]{42f}, 0f, 0
+		);
+
+		assertEquals(0, response.getUserIds().length);
+	}
+}
@@ -0,0 +1,57 @@
+package com.soundhub.api.services.compatibility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompatibilityEngineTest {
+	private final CompatibilityEngine engine = new CompatibilityEngine();
+
+	@Test
+	void encodeAll_ShouldReturnSortedDistinctCodes() {
+		TasteDictionary dictionary = new TasteDictionary();
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+
+		dictionary.encode(b);
+		int[] codes = dictionary.encodeAll(List.of(a, b, a));
+
+		assertArrayEquals(new int[]{0, 1}, codes);
+		assertEquals(2, dictionary.size());
+	}
+
+	@Test
+	void score_ShouldMatchJaccardPercentage() {
+		UUID shared = UUID.randomUUID();
+		TasteProfile profile = engine.profileOf(List.of(UUID.randomUUID(), UUID.randomUUID(), shared), List.of());
+		TasteProfile other = engine.profileOf(List.of(shared, UUID.randomUUID(), UUID.randomUUID()), List.of());
+
+		assertEquals(20f, engine.score(profile, other), 0.01);
+	}
+
+	@Test
+	void score_ShouldAverageNonZeroDimensions() {
+		UUID artist = UUID.randomUUID();
+		UUID genre = UUID.randomUUID();
+		TasteProfile profile = engine.profileOf(List.of(artist), List.of(genre, UUID.randomUUID()));
+		TasteProfile other = engine.profileOf(List.of(artist), List.of(genre));
+
+		assertEquals(75f, engine.score(profile, other), 0.01);
+	}
+
+	@Test
+	void score_ShouldBeZeroForEmptyProfiles() {
+		TasteProfile other = engine.profileOf(List.of(UUID.randomUUID()), List.of(UUID.randomUUID()));
+
+		assertEquals(0f, engine.score(TasteProfile.EMPTY, other));
+	}
+
+	@Test
+	void intersectionSize_ShouldCountCommonCodes() {
+		assertEquals(2, CompatibilityEngine.intersectionSize(new int[]{1, 3, 5, 7}, new int[]{0, 3, 7, 9}));
+		assertEquals(0, CompatibilityEngine.intersectionSize(new int[]{}, new int[]{1}));
+	}
+}
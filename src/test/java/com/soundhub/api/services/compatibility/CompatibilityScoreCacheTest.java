@@ -0,0 +1,55 @@
+package com.soundhub.api.services.compatibility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompatibilityScoreCacheTest {
+	@Test
+	void getOrCompute_ShouldReuseScoreForSamePairInEitherOrder() {
+		CompatibilityScoreCache cache = new CompatibilityScoreCache(10);
+		AtomicInteger computations = new AtomicInteger();
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+
+		cache.getOrCompute(a, 1, b, 2, () -> computeScore(computations));
+		float cached = cache.getOrCompute(b, 2, a, 1, () -> computeScore(computations));
+
+		assertEquals(42f, cached);
+		assertEquals(1, computations.get());
+	}
+
+	@Test
+	void getOrCompute_ShouldRecomputeWhenProfileVersionChanges() {
+		CompatibilityScoreCache cache = new CompatibilityScoreCache(10);
+		AtomicInteger computations = new AtomicInteger();
+		UUID a = UUID.randomUUID();
+		UUID b = UUID.randomUUID();
+
+		cache.getOrCompute(a, 1, b, 1, () -> computeScore(computations));
+		cache.getOrCompute(a, 2, b, 1, () -> computeScore(computations));
+
+		assertEquals(2, computations.get());
+	}
+
+	@Test
+	void getOrCompute_ShouldEvictLeastRecentlyUsedPairs() {
+		CompatibilityScoreCache cache = new CompatibilityScoreCache(2);
+		AtomicInteger computations = new AtomicInteger();
+		UUID a = UUID.randomUUID();
+
+		for (int i = 0; i < 5; i++) {
+			cache.getOrCompute(a, 0, UUID.randomUUID(), 0, () -> computeScore(computations));
+		}
+
+		assertEquals(2, cache.size());
+	}
+
+	private static float computeScore(AtomicInteger computations) {
+		computations.incrementAndGet();
+		return 42f;
+	}
+}
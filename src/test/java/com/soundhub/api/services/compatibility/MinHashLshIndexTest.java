@@ -0,0 +1,89 @@
+package com.soundhub.api.services.compatibility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashLshIndexTest {
+	private final CompatibilityEngine engine = new CompatibilityEngine();
+
+	@Test
+	void candidates_ShouldReturnUsersWithIdenticalTaste() {
+		MinHashLshIndex index = new MinHashLshIndex(32, 2);
+		List<UUID> artists = randomIds(20);
+		List<UUID> genres = randomIds(3);
+		UUID twin = UUID.randomUUID();
+
+		index.put(twin, engine.profileOf(artists, genres));
+		IntStream.range(0, 100).forEach(i -> index.put(UUID.randomUUID(), engine.profileOf(randomIds(20), randomIds(3))));
+
+		Set<UUID> candidates = index.candidates(engine.profileOf(artists, genres), 1000);
+
+		assertTrue(candidates.contains(twin));
+		assertTrue(candidates.size() < 101);
+	}
+
+	@Test
+	void candidates_ShouldKeepUsersSharingMostBucketsWhenTruncating() {
+		MinHashLshIndex index = new MinHashLshIndex(32, 2);
+		List<UUID> artists = randomIds(20);
+		UUID twin = UUID.randomUUID();
+
+		IntStream.range(0, 200).forEach(i -> {
+			List<UUID> partialOverlap = new ArrayList<>(artists.subList(0, 10));
+			partialOverlap.addAll(randomIds(10));
+			index.put(UUID.randomUUID(), engine.profileOf(partialOverlap, List.of()));
+		});
+		index.put(twin, engine.profileOf(artists, List.of()));
+
+		Set<UUID> candidates = index.candidates(engine.profileOf(artists, List.of()), 1);
+
+		assertEquals(Set.of(twin), candidates);
+	}
+
+	@Test
+	void put_ShouldReplacePreviousBuckets() {
+		MinHashLshIndex index = new MinHashLshIndex(16, 4);
+		UUID userId = UUID.randomUUID();
+		TasteProfile before = engine.profileOf(randomIds(10), List.of());
+		TasteProfile after = engine.profileOf(randomIds(10), List.of());
+
+		index.put(userId, before);
+		index.put(userId, after);
+
+		assertFalse(index.candidates(before, 10).contains(userId));
+		assertTrue(index.candidates(after, 10).contains(userId));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void remove_ShouldDropUserFromBuckets() {
+		MinHashLshIndex index = new MinHashLshIndex(16, 4);
+		UUID userId = UUID.randomUUID();
+		TasteProfile profile = engine.profileOf(randomIds(10), randomIds(2));
+
+		index.put(userId, profile);
+		index.remove(userId);
+
+		assertTrue(index.candidates(profile, 10).isEmpty());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void put_ShouldIgnoreEmptyProfiles() {
+		MinHashLshIndex index = new MinHashLshIndex(16, 4);
+		index.put(UUID.randomUUID(), TasteProfile.EMPTY);
+
+		assertEquals(0, index.size());
+	}
+
+	private static List<UUID> randomIds(int count) {
+		return IntStream.range(0, count).mapToObj(i -> UUID.randomUUID()).toList();
+	}
+}
@@ -0,0 +1,140 @@
+package com.soundhub.api.services.likes;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.models.Post;
+import com.soundhub.api.repositories.PostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostLikeCounterTest {
+	@Mock
+	private PostRepository postRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private PostLikeCounter postLikeCounter;
+
+	@BeforeEach
+	void setUp() {
+		postLikeCounter = new PostLikeCounter(
+				postRepository, new TransactionTemplate(transactionManager), new SimpleMeterRegistry(), 2, true
+		);
+	}
+
+	@Test
+	void flush_ShouldWriteMergedDeltasAndClearPending() {
+		UUID hotPost = UUID.randomUUID();
+		UUID otherPost = UUID.randomUUID();
+
+		IntStream.range(0, 5).parallel().forEach(i -> postLikeCounter.add(hotPost, 1));
+		postLikeCounter.add(otherPost, 1);
+		postLikeCounter.add(otherPost, -1);
+
+		assertEquals(5, postLikeCounter.pending(hotPost));
+
+		postLikeCounter.flush();
+
+		verify(postRepository).addToLikeCounts(List.of(hotPost), 5);
+		verify(postRepository, times(1)).addToLikeCounts(anyCollection(), anyLong());
+		assertEquals(0, postLikeCounter.pending(hotPost));
+	}
+
+	@Test
+	void flush_ShouldSplitDeltasIntoBatches() {
+		List<UUID> postIds = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+		postIds.forEach(postId -> postLikeCounter.add(postId, 1));
+
+		postLikeCounter.flush();
+
+		verify(postRepository, times(3)).addToLikeCounts(anyCollection(), eq(1L));
+	}
+
+	@Test
+	void flush_ShouldGroupPostsWithTheSameDelta() {
+		UUID firstPost = UUID.randomUUID();
+		UUID secondPost = UUID.randomUUID();
+		UUID unlikedPost = UUID.randomUUID();
+
+		postLikeCounter.add(firstPost, 2);
+		postLikeCounter.add(secondPost, 2);
+		postLikeCounter.add(unlikedPost, -1);
+
+		postLikeCounter.flush();
+
+		verify(postRepository).addToLikeCounts(
+				argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(firstPost, secondPost))), eq(2L)
+		);
+		verify(postRepository).addToLikeCounts(List.of(unlikedPost), -1);
+	}
+
+	@Test
+	void flush_ShouldKeepDeltasOfFailedBatch() {
+		UUID postId = UUID.randomUUID();
+		postLikeCounter.add(postId, 3);
+		when(postRepository.addToLikeCounts(anyCollection(), anyLong())).thenThrow(new IllegalStateException("deadlock detected"));
+
+		postLikeCounter.flush();
+
+		assertEquals(3, postLikeCounter.pending(postId));
+
+		reset(postRepository);
+		postLikeCounter.flush();
+
+		verify(postRepository).addToLikeCounts(List.of(postId), 3);
+	}
+
+	@Test
+	void flush_ShouldSkipDatabaseWhenNothingIsPending() {
+		postLikeCounter.flush();
+
+		verifyNoInteractions(postRepository, transactionManager);
+	}
+
+	@Test
+	void applyPending_ShouldAddBufferedDeltaToLoadedCount() {
+		Post post = Post.builder().id(UUID.randomUUID()).likeCount(10).build();
+		postLikeCounter.add(post.getId(), 2);
+
+		postLikeCounter.applyPending(List.of(post));
+
+		assertEquals(12, post.getLikeCount());
+	}
+
+	@Test
+	void recount_ShouldRecountFromLikeRowsOnStartup() {
+		when(postRepository.tryAdvisoryLock(Constants.LIKE_RECOUNT_LOCK_KEY)).thenReturn(true);
+		when(postRepository.recountLikes()).thenReturn(4);
+
+		postLikeCounter.recount();
+
+		verify(postRepository).recountLikes();
+	}
+
+	@Test
+	void recount_ShouldSkipWhileAnotherInstanceRecounts() {
+		when(postRepository.tryAdvisoryLock(Constants.LIKE_RECOUNT_LOCK_KEY)).thenReturn(false);
+
+		postLikeCounter.recount();
+
+		verify(postRepository, never()).recountLikes();
+	}
+}
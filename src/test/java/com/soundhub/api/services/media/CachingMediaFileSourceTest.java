@@ -0,0 +1,168 @@
+package com.soundhub.api.services.media;
+
+import com.soundhub.api.services.strategies.media.CachingMediaFileSource;
+import com.soundhub.api.services.strategies.media.MediaFileMetadata;
+import com.soundhub.api.services.strategies.media.S3MediaFileSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingMediaFileSourceTest {
+	@Mock
+	private S3MediaFileSource delegate;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void getFile_ShouldServeRepeatedReadsFromDisk() throws Exception {
+		CachingMediaFileSource source = createSource(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+		when(delegate.getObject("genres/rock.png", null)).thenAnswer(invocation -> response("rock", "\"e1\""));
+
+		assertEquals("rock", read(source, "genres/rock.png"));
+		assertEquals("rock", read(source, "genres/rock.png"));
+
+		MediaFileMetadata metadata = source.getMetadata("genres/rock.png");
+
+		assertEquals("\"e1\"", metadata.eTag());
+		assertEquals(4, metadata.contentLength());
+		verify(delegate, times(1)).getObject("genres/rock.png", null);
+		verify(delegate, never()).getMetadata(anyString());
+	}
+
+	@Test
+	void getFile_ShouldRevalidateStaleEntryWithETag() throws Exception {
+		CachingMediaFileSource source = createSource(DataSize.ofMegabytes(1), Duration.ZERO);
+		when(delegate.getObject("genres/rock.png", null)).thenAnswer(invocation -> response("rock", "\"e1\""));
+		when(delegate.getObject("genres/rock.png", "\"e1\"")).thenReturn(Optional.empty());
+
+		read(source, "genres/rock.png");
+
+		assertEquals("rock", read(source, "genres/rock.png"));
+		verify(delegate).getObject("genres/rock.png", "\"e1\"");
+	}
+
+	@Test
+	void getFile_ShouldReplaceEntryWhenObjectChanged() throws Exception {
+		CachingMediaFileSource source = createSource(DataSize.ofMegabytes(1), Duration.ZERO);
+		when(delegate.getObject("genres/rock.png", null)).thenAnswer(invocation -> response("rock", "\"e1\""));
+		when(delegate.getObject("genres/rock.png", "\"e1\"")).thenAnswer(invocation -> response("punk!", "\"e2\""));
+
+		read(source, "genres/rock.png");
+
+		assertEquals("punk!", read(source, "genres/rock.png"));
+		assertEquals(5, source.getCachedBytes());
+	}
+
+	@Test
+	void getFile_ShouldEvictLeastRecentlyUsedFiles() throws Exception {
+		CachingMediaFileSource source = createSource(DataSize.ofBytes(10), Duration.ofMinutes(1));
+		when(delegate.getObject("genres/a.png", null)).thenAnswer(invocation -> response("aaaaaa", "\"a\""));
+		when(delegate.getObject("genres/b.png", null)).thenAnswer(invocation -> response("bbbbbb", "\"b\""));
+
+		read(source, "genres/a.png");
+		read(source, "genres/b.png");
+		read(source, "genres/a.png");
+
+		assertEquals(6, source.getCachedBytes());
+		verify(delegate, times(2)).getObject("genres/a.png", null);
+	}
+
+	@Test
+	void getFile_ShouldShareDownloadBetweenConcurrentMisses() throws Exception {
+		CachingMediaFileSource source = createSource(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		when(delegate.getObject("genres/rock.png", null)).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return response("rock", "\"e1\"");
+		});
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> read(source, "genres/rock.png"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> read(source, "genres/rock.png"));
+
+		Thread.sleep(100);
+		release.countDown();
+
+		assertEquals("rock", first.get(5, TimeUnit.SECONDS));
+		assertEquals("rock", second.get(5, TimeUnit.SECONDS));
+		verify(delegate, times(1)).getObject("genres/rock.png", null);
+	}
+
+	@Test
+	void constructor_ShouldRemoveOnlyAbandonedInstanceDirectories() throws Exception {
+		Path abandoned = Files.createDirectories(directory.resolve("abandoned"));
+		Files.createFile(abandoned.resolve(".lock"));
+		Files.writeString(abandoned.resolve("object"), "rock");
+
+		CachingMediaFileSource running = createSource(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+		createSource(DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+
+		assertFalse(Files.exists(abandoned));
+		try (Stream<Path> instances = Files.list(directory)) {
+			assertEquals(2, instances.count());
+		}
+
+		running.shutdown();
+
+		try (Stream<Path> instances = Files.list(directory)) {
+			assertEquals(1, instances.count());
+		}
+	}
+
+	private CachingMediaFileSource createSource(DataSize maxSize, Duration revalidateAfter) {
+		return new CachingMediaFileSource(
+				delegate,
+				new SimpleMeterRegistry(),
+				directory.toString(),
+				maxSize,
+				maxSize,
+				revalidateAfter
+		);
+	}
+
+	private static Optional<ResponseInputStream<GetObjectResponse>> response(String body, String eTag) {
+		GetObjectResponse object = GetObjectResponse.builder()
+				.eTag(eTag)
+				.lastModified(Instant.parse("2024-01-01T00:00:00Z"))
+				.contentLength((long) body.length())
+				.contentType("image/png")
+				.build();
+
+		return Optional.of(new ResponseInputStream<>(object, AbortableInputStream.create(new ByteArrayInputStream(body.getBytes()))));
+	}
+
+	private static String read(CachingMediaFileSource source, String path) {
+		try (InputStream inputStream = source.getFile(path)) {
+			return new String(inputStream.readAllBytes());
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.soundhub.api.services.media;
+
+import com.soundhub.api.exceptions.ResourceNotFoundException;
+import com.soundhub.api.services.strategies.media.LocalMediaFileSource;
+import com.soundhub.api.services.strategies.media.MediaFileMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalMediaFileSourceTest {
+	@TempDir
+	private Path resources;
+
+	private LocalMediaFileSource localMediaFileSource;
+	private Path image;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		localMediaFileSource = new LocalMediaFileSource();
+		ReflectionTestUtils.setField(localMediaFileSource, "resourcesPath", resources.toString());
+		ReflectionTestUtils.setField(localMediaFileSource, "staticFolder", "static");
+
+		Files.createDirectories(resources.resolve("static/genres"));
+		image = Files.writeString(resources.resolve("static/genres/rock.png"), "png");
+	}
+
+	@Test
+	void getMetadata_ShouldReturnStrongContentHashETag() {
+		MediaFileMetadata metadata = localMediaFileSource.getMetadata("genres/rock.png");
+
+		assertTrue(metadata.eTag().matches("\"[0-9a-f]{32}\""));
+		assertEquals(3, metadata.contentLength());
+		assertEquals(MediaType.IMAGE_PNG, metadata.contentType());
+		assertEquals(metadata.eTag(), localMediaFileSource.getMetadata("genres/rock.png").eTag());
+	}
+
+	@Test
+	void getMetadata_ShouldChangeETagWhenFileChanges() throws IOException {
+		String before = localMediaFileSource.getMetadata("genres/rock.png").eTag();
+
+		Files.writeString(image, "jpeg");
+		Files.setLastModifiedTime(image, FileTime.from(Instant.now().plusSeconds(60)));
+
+		assertNotEquals(before, localMediaFileSource.getMetadata("genres/rock.png").eTag());
+	}
+
+	@Test
+	void getMetadata_ShouldRejectPathsOutsideStaticFolder() throws IOException {
+		Files.writeString(resources.resolve("secret.txt"), "secret");
+
+		assertThrows(ResourceNotFoundException.class, () -> localMediaFileSource.getMetadata("../secret.txt"));
+		assertThrows(ResourceNotFoundException.class, () -> localMediaFileSource.getMetadata("genres/missing.png"));
+	}
+
+	@Test
+	void matchesIfRange_ShouldCompareStrongETagOrDate() {
+		MediaFileMetadata metadata = localMediaFileSource.getMetadata("genres/rock.png");
+		String date = DateTimeFormatter.RFC_1123_DATE_TIME.format(metadata.lastModified().atOffset(ZoneOffset.UTC));
+
+		assertTrue(metadata.matchesIfRange(metadata.eTag()));
+		assertTrue(metadata.matchesIfRange(date));
+		assertFalse(metadata.matchesIfRange("W/" + metadata.eTag()));
+		assertFalse(metadata.matchesIfRange("\"other\""));
+	}
+}
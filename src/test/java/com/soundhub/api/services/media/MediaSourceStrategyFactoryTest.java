@@ -1,5 +1,6 @@
 package com.soundhub.api.services.media;
 
+import com.soundhub.api.services.strategies.media.CachingMediaFileSource;
 import com.soundhub.api.services.strategies.media.LocalMediaFileSource;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.services.strategies.media.MediaFileSourceStrategyFactory;
@@ -23,6 +24,9 @@ public class MediaSourceStrategyFactoryTest {
 	@MockitoBean
 	private S3MediaFileSource s3Strategy;
 
+	@MockitoBean
+	private CachingMediaFileSource cachedS3Strategy;
+
 	@Autowired
 	private MediaFileSourceStrategyFactory mediaSourceStrategyFactory;
 
@@ -37,4 +41,10 @@ public class MediaSourceStrategyFactoryTest {
 		MediaFileSourceStrategy strategy = mediaSourceStrategyFactory.getStrategy(MediaSourceType.LOCAL);
 		assertInstanceOf(LocalMediaFileSource.class, strategy);
 	}
+
+	@Test
+	public void test_isCachedS3Source() {
+		MediaFileSourceStrategy strategy = mediaSourceStrategyFactory.getStrategy(MediaSourceType.CACHED_S3);
+		assertInstanceOf(CachingMediaFileSource.class, strategy);
+	}
 }
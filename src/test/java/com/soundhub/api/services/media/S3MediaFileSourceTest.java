@@ -0,0 +1,78 @@
+package com.soundhub.api.services.media;
+
+import com.soundhub.api.services.strategies.media.PresignedUrl;
+import com.soundhub.api.services.strategies.media.S3MediaFileSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3MediaFileSourceTest {
+	@Mock
+	private S3Presigner presigner;
+
+	private S3MediaFileSource s3MediaFileSource;
+
+	@BeforeEach
+	void setUp() {
+		s3MediaFileSource = new S3MediaFileSource();
+		ReflectionTestUtils.setField(s3MediaFileSource, "presigner", presigner);
+		ReflectionTestUtils.setField(s3MediaFileSource, "bucketName", "media");
+		ReflectionTestUtils.setField(s3MediaFileSource, "presignTtl", Duration.ofMinutes(15));
+		ReflectionTestUtils.setField(s3MediaFileSource, "presignRefreshBefore", Duration.ofMinutes(3));
+		ReflectionTestUtils.setField(s3MediaFileSource, "redirectEnabled", true);
+	}
+
+	@Test
+	void presignGet_ShouldReuseUrlUntilCloseToExpiry() throws Exception {
+		stubPresignedGet(Instant.now().plus(Duration.ofMinutes(15)));
+
+		PresignedUrl first = s3MediaFileSource.presignGet("genres/rock.png");
+		PresignedUrl second = s3MediaFileSource.presignGet("genres/rock.png");
+
+		assertSame(first, second);
+		assertEquals(first.expiresAt().minus(Duration.ofMinutes(3)), first.refreshAt());
+		verify(presigner, times(1)).presignGetObject(ArgumentMatchers.<Consumer<GetObjectPresignRequest.Builder>>any());
+	}
+
+	@Test
+	void presignGet_ShouldSignAgainWhenCachedUrlIsAboutToExpire() throws Exception {
+		stubPresignedGet(Instant.now().plus(Duration.ofMinutes(2)));
+
+		s3MediaFileSource.presignGet("genres/rock.png");
+		s3MediaFileSource.presignGet("genres/rock.png");
+
+		verify(presigner, times(2)).presignGetObject(ArgumentMatchers.<Consumer<GetObjectPresignRequest.Builder>>any());
+	}
+
+	@Test
+	void getRedirectUrl_ShouldBeEmptyWhenRedirectIsDisabled() {
+		ReflectionTestUtils.setField(s3MediaFileSource, "redirectEnabled", false);
+
+		assertTrue(s3MediaFileSource.getRedirectUrl("genres/rock.png").isEmpty());
+		verifyNoInteractions(presigner);
+	}
+
+	private void stubPresignedGet(Instant expiration) throws Exception {
+		PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+
+		when(presigned.url()).thenReturn(URI.create("https://s3.example.com/media/genres/rock.png?X-Amz-Signature=1").toURL());
+		when(presigned.expiration()).thenReturn(expiration);
+		when(presigner.presignGetObject(ArgumentMatchers.<Consumer<GetObjectPresignRequest.Builder>>any())).thenReturn(presigned);
+	}
+}
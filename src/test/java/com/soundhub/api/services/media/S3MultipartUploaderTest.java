@@ -0,0 +1,93 @@
+package com.soundhub.api.services.media;
+
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.services.strategies.media.S3MultipartUploader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3MultipartUploaderTest {
+	private static final String KEY = "posts/video.mp4";
+
+	@Mock
+	private S3AsyncClient client;
+
+	private S3MultipartUploader uploader;
+
+	@BeforeEach
+	void setUp() {
+		uploader = new S3MultipartUploader(client, "media", 10, 2, 3, 1);
+
+		when(client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+				.thenReturn(CompletableFuture.completedFuture(CreateMultipartUploadResponse.builder().uploadId("upload-1").build()));
+	}
+
+	@Test
+	void upload_ShouldCompleteWithPartsInOrder() {
+		when(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+				.thenAnswer(invocation -> {
+					UploadPartRequest request = invocation.getArgument(0);
+					return CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build());
+				});
+		when(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+				.thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+		uploader.upload(KEY, "video/mp4", new ByteArrayInputStream(new byte[25]), 25);
+
+		ArgumentCaptor<UploadPartRequest> partCaptor = ArgumentCaptor.forClass(UploadPartRequest.class);
+		verify(client, times(3)).uploadPart(partCaptor.capture(), any(AsyncRequestBody.class));
+		assertEquals(List.of(10L, 10L, 5L), partCaptor.getAllValues().stream().map(UploadPartRequest::contentLength).toList());
+
+		ArgumentCaptor<CompleteMultipartUploadRequest> completeCaptor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+		verify(client).completeMultipartUpload(completeCaptor.capture());
+		List<CompletedPart> parts = completeCaptor.getValue().multipartUpload().parts();
+		assertEquals(List.of(1, 2, 3), parts.stream().map(CompletedPart::partNumber).toList());
+		assertEquals(List.of("etag-1", "etag-2", "etag-3"), parts.stream().map(CompletedPart::eTag).toList());
+		verify(client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+	}
+
+	@Test
+	void upload_ShouldRetryFailedPart() {
+		when(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+				.thenReturn(CompletableFuture.failedFuture(SdkClientException.create("connection reset")))
+				.thenReturn(CompletableFuture.completedFuture(UploadPartResponse.builder().eTag("etag-1").build()));
+		when(client.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+				.thenReturn(CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder().build()));
+
+		uploader.upload(KEY, "video/mp4", new ByteArrayInputStream(new byte[10]), 10);
+
+		verify(client, times(2)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+		verify(client).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+	}
+
+	@Test
+	void upload_ShouldAbortWhenPartKeepsFailing() {
+		when(client.uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class)))
+				.thenReturn(CompletableFuture.failedFuture(SdkClientException.create("connection reset")));
+		when(client.abortMultipartUpload(any(AbortMultipartUploadRequest.class)))
+				.thenReturn(CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build()));
+
+		assertThrows(ApiException.class,
+				() -> uploader.upload(KEY, "video/mp4", new ByteArrayInputStream(new byte[10]), 10));
+
+		verify(client, times(3)).uploadPart(any(UploadPartRequest.class), any(AsyncRequestBody.class));
+		verify(client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+		verify(client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+	}
+}
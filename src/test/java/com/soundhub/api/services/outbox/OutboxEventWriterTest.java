@@ -0,0 +1,69 @@
+package com.soundhub.api.services.outbox;
+
+import com.soundhub.api.enums.OutboxEventType;
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import com.soundhub.api.models.OutboxEvent;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventWriterTest {
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@InjectMocks
+	private OutboxEventWriter outboxEventWriter;
+
+	@Test
+	void onUserProfileChanged_ShouldWriteChangedUser() {
+		User user = User.builder().id(UUID.randomUUID()).build();
+
+		outboxEventWriter.onUserProfileChanged(new UserProfileChangedEvent(user));
+
+		OutboxEvent event = captureWritten();
+		assertEquals(user.getId(), event.getAggregateId());
+		assertEquals(OutboxEventType.USER_UPSERTED, event.getEventType());
+	}
+
+	@Test
+	void onFriendshipChanged_ShouldWriteUserWhoseFriendsChanged() {
+		UUID userId = UUID.randomUUID();
+
+		outboxEventWriter.onFriendshipChanged(new FriendshipChangedEvent(userId, UUID.randomUUID(), true));
+
+		OutboxEvent event = captureWritten();
+		assertEquals(userId, event.getAggregateId());
+		assertEquals(OutboxEventType.USER_UPSERTED, event.getEventType());
+	}
+
+	@Test
+	void onUserDeleted_ShouldWriteDeletion() {
+		UUID userId = UUID.randomUUID();
+
+		outboxEventWriter.onUserDeleted(new UserDeletedEvent(userId));
+
+		OutboxEvent event = captureWritten();
+		assertEquals(userId, event.getAggregateId());
+		assertEquals(OutboxEventType.USER_DELETED, event.getEventType());
+	}
+
+	private OutboxEvent captureWritten() {
+		ArgumentCaptor<OutboxEvent> captor = ArgumentCaptor.forClass(OutboxEvent.class);
+		verify(outboxEventRepository).save(captor.capture());
+
+		return captor.getValue();
+	}
+}
@@ -0,0 +1,179 @@
+package com.soundhub.api.services.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.UserChangeDto;
+import com.soundhub.api.enums.OutboxEventType;
+import com.soundhub.api.models.Genre;
+import com.soundhub.api.models.OutboxEvent;
+import com.soundhub.api.models.User;
+import com.soundhub.api.repositories.OutboxEventRepository;
+import com.soundhub.api.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private KafkaTemplate<String, String> kafkaTemplate;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private OutboxRelay outboxRelay;
+
+	@BeforeEach
+	void setUp() {
+		outboxRelay = new OutboxRelay(
+				outboxEventRepository, userRepository, objectMapper, kafkaTemplate, new TransactionTemplate(transactionManager),
+				new SimpleMeterRegistry(), 3, 1000
+		);
+	}
+
+	@Test
+	void relayBatch_ShouldPublishCommittedStateOncePerUserAndDeleteBatch() throws Exception {
+		User friend = User.builder().id(UUID.randomUUID()).build();
+		Genre genre = Genre.builder().id(UUID.randomUUID()).build();
+		UUID artistId = UUID.randomUUID();
+		User user = User.builder()
+				.id(UUID.randomUUID())
+				.profileVersion(3)
+				.friends(new ArrayList<>(List.of(friend)))
+				.favoriteGenres(new ArrayList<>(List.of(genre)))
+				.favoriteArtistsMbids(new ArrayList<>(List.of(artistId)))
+				.build();
+		UUID deletedUserId = UUID.randomUUID();
+		List<OutboxEvent> events = List.of(
+				event(1, user.getId(), OutboxEventType.USER_UPSERTED),
+				event(2, deletedUserId, OutboxEventType.USER_DELETED),
+				event(3, user.getId(), OutboxEventType.USER_UPSERTED)
+		);
+
+		when(outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(events);
+		when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+		when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		assertEquals(3, outboxRelay.relayBatch());
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(kafkaTemplate).send(eq(Constants.USER_CHANGES_TOPIC), eq(user.getId().toString()), payload.capture());
+		verify(kafkaTemplate).send(eq(Constants.USER_CHANGES_TOPIC), eq(deletedUserId.toString()), isNull());
+		verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
+		verify(outboxEventRepository).deleteAllInBatch(events);
+
+		UserChangeDto change = objectMapper.readValue(payload.getValue(), UserChangeDto.class);
+		assertEquals(3, change.getProfileVersion());
+		assertEquals(List.of(friend.getId()), change.getFriendIds());
+		assertEquals(List.of(genre.getId()), change.getFavoriteGenreIds());
+		assertEquals(List.of(artistId), change.getFavoriteArtistIds());
+	}
+
+	@Test
+	void relayBatch_ShouldTreatNullCollectionsAsEmpty() throws Exception {
+		User user = User.builder()
+				.id(UUID.randomUUID())
+				.friends(null)
+				.favoriteGenres(null)
+				.favoriteArtistsMbids(null)
+				.build();
+
+		when(outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(List.of(event(1, user.getId(), OutboxEventType.USER_UPSERTED)));
+		when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user));
+		when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relayBatch();
+
+		ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+		verify(kafkaTemplate).send(eq(Constants.USER_CHANGES_TOPIC), eq(user.getId().toString()), payload.capture());
+
+		UserChangeDto change = objectMapper.readValue(payload.getValue(), UserChangeDto.class);
+		assertEquals(List.of(), change.getFriendIds());
+		assertEquals(List.of(), change.getFavoriteGenreIds());
+		assertEquals(List.of(), change.getFavoriteArtistIds());
+	}
+
+	@Test
+	void relay_ShouldKeepBatchWhenSendFails() {
+		List<OutboxEvent> events = List.of(event(1, UUID.randomUUID(), OutboxEventType.USER_DELETED));
+
+		when(outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(events);
+		when(kafkaTemplate.send(anyString(), anyString(), any()))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+		assertDoesNotThrow(() -> outboxRelay.relay());
+
+		verify(outboxEventRepository, never()).deleteAllInBatch(any());
+		verify(transactionManager).rollback(any());
+	}
+
+	@Test
+	void relay_ShouldDrainBacklogInBatches() {
+		List<OutboxEvent> fullBatch = List.of(
+				event(1, UUID.randomUUID(), OutboxEventType.USER_DELETED),
+				event(2, UUID.randomUUID(), OutboxEventType.USER_DELETED),
+				event(3, UUID.randomUUID(), OutboxEventType.USER_DELETED)
+		);
+
+		when(outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)).thenReturn(true);
+		when(outboxEventRepository.lockOldest(3)).thenReturn(fullBatch, List.of());
+		when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relay();
+
+		verify(outboxEventRepository, times(2)).lockOldest(3);
+		verify(outboxEventRepository, times(1)).deleteAllInBatch(fullBatch);
+	}
+
+	@Test
+	void relayBatch_ShouldSkipWhileAnotherInstanceRelays() {
+		when(outboxEventRepository.tryRelayLock(Constants.OUTBOX_RELAY_LOCK_KEY)).thenReturn(false);
+
+		assertEquals(0, outboxRelay.relayBatch());
+
+		verify(outboxEventRepository, never()).lockOldest(anyInt());
+		verifyNoInteractions(kafkaTemplate);
+	}
+
+	private static OutboxEvent event(long id, UUID userId, OutboxEventType type) {
+		return OutboxEvent.builder()
+				.id(id)
+				.aggregateId(userId)
+				.eventType(type)
+				.createdAt(LocalDateTime.now())
+				.build();
+	}
+}
@@ -0,0 +1,75 @@
+package com.soundhub.api.services.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+	private final AtomicLong clock = new AtomicLong();
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker("test", 3, Duration.ofSeconds(30), clock::get);
+
+	@Test
+	void recordFailure_ShouldOpenAfterConsecutiveFailures() {
+		circuitBreaker.recordFailure();
+		circuitBreaker.recordFailure();
+		circuitBreaker.recordSuccess();
+		circuitBreaker.recordFailure();
+		circuitBreaker.recordFailure();
+
+		assertTrue(circuitBreaker.allowRequest());
+
+		circuitBreaker.recordFailure();
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.allowRequest());
+	}
+
+	@Test
+	void allowRequest_ShouldLetSingleTrialThroughAfterOpenDuration() {
+		openCircuit();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertTrue(circuitBreaker.allowRequest());
+		assertFalse(circuitBreaker.allowRequest());
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+		circuitBreaker.recordSuccess();
+
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertTrue(circuitBreaker.allowRequest());
+	}
+
+	@Test
+	void recordFailure_ShouldReopenWhenTrialFails() {
+		openCircuit();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertTrue(circuitBreaker.allowRequest());
+		circuitBreaker.recordFailure();
+
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+		clock.addAndGet(Duration.ofSeconds(29).toNanos());
+		assertFalse(circuitBreaker.allowRequest());
+	}
+
+	@Test
+	void releasePermit_ShouldFreeTrialSlotWithoutClosing() {
+		openCircuit();
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertTrue(circuitBreaker.allowRequest());
+		circuitBreaker.releasePermit();
+
+		assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		assertTrue(circuitBreaker.allowRequest());
+	}
+
+	private void openCircuit() {
+		for (int i = 0; i < 3; i++) {
+			circuitBreaker.recordFailure();
+		}
+	}
+}
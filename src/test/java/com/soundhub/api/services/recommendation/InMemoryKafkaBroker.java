@@ -0,0 +1,50 @@
+package com.soundhub.api.services.recommendation;
+
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Minimal stand-in for a Kafka cluster and the recommender behind it.
+ * Requests are answered by {@code recommender}; replies are written to the partition requested
+ * in the reply headers and delivered only to the consumer assigned to that partition.
+ * Requests without reply headers are answered on partition 0, like a shared consumer group would.
+ */
+class InMemoryKafkaBroker {
+	private final Map<String, BiConsumer<String, String>> consumers = new ConcurrentHashMap<>();
+	private final Function<UUID, List<UUID>> recommender;
+
+	InMemoryKafkaBroker(Function<UUID, List<UUID>> recommender) {
+		this.recommender = recommender;
+	}
+
+	/**
+	 * Assigns a partition to a consumer that receives (payload, correlation id) pairs.
+	 */
+	void assign(String topic, int partition, BiConsumer<String, String> consumer) {
+		consumers.put(topic + "-" + partition, consumer);
+	}
+
+	void handleRequest(Message<?> request) {
+		UUID userId = (UUID) request.getPayload();
+		String correlationId = (String) request.getHeaders().get(KafkaHeaders.CORRELATION_ID);
+		String replyTopic = (String) request.getHeaders().get(KafkaHeaders.REPLY_TOPIC);
+		byte[] replyPartition = (byte[]) request.getHeaders().get(KafkaHeaders.REPLY_PARTITION);
+
+		int partition = replyPartition != null ? ByteBuffer.wrap(replyPartition).getInt() : 0;
+		String payload = String.join(",", recommender.apply(userId).stream().map(UUID::toString).toList());
+
+		BiConsumer<String, String> consumer = consumers.get(replyTopic + "-" + partition);
+
+		if (consumer != null) {
+			consumer.accept(payload, correlationId);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserDeletedEvent;
+import com.soundhub.api.services.compatibility.CompatibilityEngine;
+import com.soundhub.api.services.compatibility.TasteProfileStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalRecommenderTest {
+	@Spy
+	private CompatibilityEngine compatibilityEngine;
+
+	@Spy
+	private TasteProfileStore tasteProfileStore = new TasteProfileStore(32, 2);
+
+	@InjectMocks
+	private LocalRecommender localRecommender;
+
+	private final UUID userId = UUID.randomUUID();
+	private final UUID friendId = UUID.randomUUID();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(localRecommender, "limit", 10);
+		ReflectionTestUtils.setField(localRecommender, "maxLshCandidates", 100);
+		connect(userId, friendId);
+	}
+
+	@Test
+	void recommend_ShouldRankByMutualFriendsAndExcludeFriends() {
+		UUID otherFriendId = UUID.randomUUID();
+		UUID closeStranger = UUID.randomUUID();
+		UUID farStranger = UUID.randomUUID();
+
+		connect(userId, otherFriendId);
+		connect(friendId, closeStranger);
+		connect(otherFriendId, closeStranger);
+		connect(friendId, farStranger);
+		connect(friendId, otherFriendId);
+
+		assertEquals(List.of(closeStranger, farStranger), localRecommender.recommend(userId));
+	}
+
+	@Test
+	void recommend_ShouldAddTasteOverlapToMutualFriendScore() {
+		UUID artist = UUID.randomUUID();
+		UUID genre = UUID.randomUUID();
+		UUID mutualOnly = UUID.randomUUID();
+		UUID mutualWithTaste = UUID.randomUUID();
+		UUID tasteOnly = UUID.randomUUID();
+
+		connect(friendId, mutualOnly);
+		connect(friendId, mutualWithTaste);
+		tasteProfileStore.put(userId, compatibilityEngine.profileOf(List.of(artist), List.of(genre)));
+		tasteProfileStore.put(mutualWithTaste, compatibilityEngine.profileOf(List.of(artist), List.of(genre)));
+		tasteProfileStore.put(tasteOnly, compatibilityEngine.profileOf(List.of(artist), List.of(genre)));
+
+		assertEquals(List.of(mutualWithTaste, tasteOnly, mutualOnly), localRecommender.recommend(userId));
+	}
+
+	@Test
+	void onFriendshipChanged_ShouldUpdateGraphIncrementally() {
+		UUID stranger = UUID.randomUUID();
+		connect(friendId, stranger);
+
+		localRecommender.onFriendshipChanged(new FriendshipChangedEvent(userId, stranger, true));
+		assertEquals(List.of(), localRecommender.recommend(userId));
+
+		localRecommender.onFriendshipChanged(new FriendshipChangedEvent(userId, stranger, false));
+		assertEquals(List.of(stranger), localRecommender.recommend(userId));
+
+		localRecommender.onUserDeleted(new UserDeletedEvent(friendId));
+		assertEquals(List.of(), localRecommender.recommend(userId));
+	}
+
+	private void connect(UUID first, UUID second) {
+		localRecommender.addFriend(first, second);
+		localRecommender.addFriend(second, first);
+	}
+}
@@ -0,0 +1,45 @@
+package com.soundhub.api.services.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroBatcherTest {
+	@Test
+	void submit_ShouldEmitFullBatchImmediately() {
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+		try (MicroBatcher<Integer> batcher = new MicroBatcher<>("test-batcher", 3, Duration.ofHours(1), batches::add)) {
+			for (int i = 0; i < 7; i++) {
+				batcher.submit(i);
+			}
+
+			assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)), batches);
+		}
+
+		assertEquals(List.of(6), batches.get(2));
+	}
+
+	@Test
+	void submit_ShouldEmitPartialBatchAfterLinger() throws InterruptedException {
+		CountDownLatch emitted = new CountDownLatch(1);
+		List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+		try (MicroBatcher<Integer> batcher = new MicroBatcher<>("test-batcher", 100, Duration.ofMillis(10), batch -> {
+			batches.add(batch);
+			emitted.countDown();
+		})) {
+			batcher.submit(1);
+			batcher.submit(2);
+
+			assertTrue(emitted.await(1, TimeUnit.SECONDS));
+			assertEquals(List.of(List.of(1, 2)), batches);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.events.FriendshipChangedEvent;
+import com.soundhub.api.events.UserProfileChangedEvent;
+import com.soundhub.api.models.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationCacheTest {
+	private final AtomicLong clock = new AtomicLong();
+	private final List<CompletableFuture<List<UUID>>> requests = new ArrayList<>();
+	private final Function<UUID, CompletableFuture<List<UUID>>> loader = userId -> {
+		CompletableFuture<List<UUID>> request = new CompletableFuture<>();
+		requests.add(request);
+		return request;
+	};
+
+	private final UUID userId = UUID.randomUUID();
+	private RecommendationCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new RecommendationCache(Duration.ofSeconds(60), Duration.ofMinutes(10), 100, clock::get);
+	}
+
+	@Test
+	void get_ShouldCoalesceConcurrentRequestsForSameUser() {
+		CompletableFuture<List<UUID>> first = cache.get(userId, loader);
+		CompletableFuture<List<UUID>> second = cache.get(userId, loader);
+
+		assertEquals(1, requests.size());
+
+		List<UUID> recommended = List.of(UUID.randomUUID());
+		requests.get(0).complete(recommended);
+
+		assertEquals(recommended, first.join());
+		assertEquals(recommended, second.join());
+		assertEquals(0, cache.inFlightCount());
+	}
+
+	@Test
+	void get_ShouldServeFreshResultFromCache() {
+		List<UUID> recommended = List.of(UUID.randomUUID());
+
+		cache.get(userId, loader);
+		requests.get(0).complete(recommended);
+		clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+		assertEquals(recommended, cache.get(userId, loader).join());
+		assertEquals(1, requests.size());
+	}
+
+	@Test
+	void get_ShouldServeStaleResultAndRefreshInBackground() {
+		List<UUID> stale = List.of(UUID.randomUUID());
+		List<UUID> refreshed = List.of(UUID.randomUUID());
+
+		cache.get(userId, loader);
+		requests.get(0).complete(stale);
+		clock.addAndGet(Duration.ofMinutes(2).toNanos());
+
+		CompletableFuture<List<UUID>> result = cache.get(userId, loader);
+
+		assertTrue(result.isDone());
+		assertEquals(stale, result.join());
+		assertEquals(2, requests.size());
+
+		requests.get(1).complete(refreshed);
+
+		assertEquals(refreshed, cache.get(userId, loader).join());
+	}
+
+	@Test
+	void get_ShouldWaitForReloadAfterMaxStale() {
+		cache.get(userId, loader);
+		requests.get(0).complete(List.of(UUID.randomUUID()));
+		clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+		assertFalse(cache.get(userId, loader).isDone());
+	}
+
+	@Test
+	void get_ShouldNotCacheFailures() {
+		CompletableFuture<List<UUID>> failed = cache.get(userId, loader);
+		requests.get(0).completeExceptionally(new IllegalStateException("recommender down"));
+
+		assertTrue(failed.isCompletedExceptionally());
+		assertFalse(cache.get(userId, loader).isDone());
+		assertEquals(2, requests.size());
+	}
+
+	@Test
+	void onUserProfileChanged_ShouldReloadOnNextLookup() {
+		cache.get(userId, loader);
+		requests.get(0).complete(List.of(UUID.randomUUID()));
+
+		cache.onUserProfileChanged(new UserProfileChangedEvent(User.builder().id(userId).build()));
+
+		assertFalse(cache.get(userId, loader).isDone());
+		assertEquals(2, requests.size());
+	}
+
+	@Test
+	void onFriendshipChanged_ShouldInvalidateBothUsers() {
+		UUID friendId = UUID.randomUUID();
+
+		cache.get(userId, loader);
+		cache.get(friendId, loader);
+		requests.forEach(request -> request.complete(List.of()));
+
+		cache.onFriendshipChanged(new FriendshipChangedEvent(userId, friendId, false));
+
+		assertFalse(cache.get(userId, loader).isDone());
+		assertFalse(cache.get(friendId, loader).isDone());
+		assertEquals(4, requests.size());
+	}
+}
@@ -0,0 +1,87 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.exceptions.ApiException;
+import com.soundhub.api.exceptions.RecommendationCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationCorrelationRegistryTest {
+	private SimpleMeterRegistry meterRegistry;
+	private RecommendationCorrelationRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		registry = new RecommendationCorrelationRegistry(2, Duration.ofMillis(100), meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		registry.shutdown();
+	}
+
+	@Test
+	void register_ShouldFailFastWhenCapacityIsReached() {
+		registry.register("first");
+		registry.register("second");
+
+		ApiException ex = assertThrows(RecommendationCapacityExceededException.class, () -> registry.register("third"));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
+		assertEquals(2, registry.size());
+		assertEquals(1, meterRegistry.get("recommendation.requests.rejected").counter().count());
+	}
+
+	@Test
+	void complete_ShouldReleaseCapacityAndRecordRoundTrip() {
+		List<UUID> recommended = List.of(UUID.randomUUID());
+		CompletableFuture<List<UUID>> future = registry.register("first");
+
+		registry.complete("first", recommended);
+
+		assertEquals(recommended, future.join());
+		assertEquals(0, registry.size());
+		assertEquals(1, meterRegistry.get("recommendation.round.trip").timer().count());
+		assertDoesNotThrow(() -> {
+			registry.register("second");
+			registry.register("third");
+		});
+	}
+
+	@Test
+	void register_ShouldExpireRequestWithoutReply() {
+		CompletableFuture<List<UUID>> future = registry.register("first");
+
+		ExecutionException ex = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+
+		assertInstanceOf(TimeoutException.class, ex.getCause());
+		assertEquals(0, registry.size());
+		assertEquals(1, meterRegistry.get("recommendation.requests.timeouts").counter().count());
+	}
+
+	@Test
+	void complete_ShouldCountLateAndOrphanedReplies() {
+		CompletableFuture<List<UUID>> future = registry.register("first");
+		assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+
+		registry.complete("first", List.of());
+		registry.complete("unknown", List.of());
+
+		assertEquals(1, meterRegistry.get("recommendation.replies.late").counter().count());
+		assertEquals(1, meterRegistry.get("recommendation.replies.orphaned").counter().count());
+		assertEquals(0, meterRegistry.get("recommendation.round.trip").timer().count());
+	}
+}
@@ -0,0 +1,178 @@
+package com.soundhub.api.services.recommendation;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.util.KafkaResponseParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RecommendationKafkaClientTest {
+	private static final String REQUEST_TOPIC = "user-recommendation-request";
+	private static final String RESPONSE_TOPIC = "user-recommendation-response";
+
+	private final UUID recommended = UUID.randomUUID();
+	private InMemoryKafkaBroker broker;
+	private KafkaResponseParser parser;
+
+	@BeforeEach
+	void setUp() {
+		broker = new InMemoryKafkaBroker(userId -> List.of(recommended));
+		parser = mock(KafkaResponseParser.class);
+
+		when(parser.parseUuidArray(anyString())).thenAnswer(invocation -> Arrays.stream(
+				invocation.<String>getArgument(0).split(",")
+		).map(UUID::fromString).toArray(UUID[]::new));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void requestRecommendations_ShouldSetReplyRoutingHeaders() {
+		KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+		RecommendationKafkaClient client = new RecommendationKafkaClient(
+				kafkaTemplate, parser, registry(), RecommendationBatchSettings.disabled(), new SimpleMeterRegistry(),
+				REQUEST_TOPIC, RESPONSE_TOPIC, 2, "api-2"
+		);
+
+		client.requestRecommendations(UUID.randomUUID());
+
+		verify(kafkaTemplate).send(argThat((Message<?> message) ->
+				RESPONSE_TOPIC.equals(message.getHeaders().get(KafkaHeaders.REPLY_TOPIC))
+						&& ByteBuffer.wrap((byte[]) message.getHeaders().get(KafkaHeaders.REPLY_PARTITION)).getInt() == 2
+						&& "api-2".equals(message.getHeaders().get(Constants.REPLY_INSTANCE_HEADER))
+						&& message.getHeaders().get(KafkaHeaders.CORRELATION_ID) != null
+		));
+	}
+
+	@Test
+	void requestRecommendations_ShouldResolveOnOriginatingInstance() throws Exception {
+		RecommendationKafkaClient first = startInstance(0, "api-0");
+		RecommendationKafkaClient second = startInstance(1, "api-1");
+
+		for (int i = 0; i < 10; i++) {
+			RecommendationKafkaClient client = i % 2 == 0 ? first : second;
+			CompletableFuture<List<UUID>> future = client.requestRecommendations(UUID.randomUUID());
+
+			assertEquals(List.of(recommended), future.get(1, TimeUnit.SECONDS));
+		}
+
+		assertEquals(0, first.pendingRequestCount());
+		assertEquals(0, second.pendingRequestCount());
+	}
+
+	@SuppressWarnings("unchecked")
+	private RecommendationKafkaClient startInstance(int partition, String instanceId) {
+		KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+		RecommendationKafkaClient client = new RecommendationKafkaClient(
+				kafkaTemplate, parser, registry(), RecommendationBatchSettings.disabled(), new SimpleMeterRegistry(),
+				REQUEST_TOPIC, RESPONSE_TOPIC, partition, instanceId
+		);
+
+		broker.assign(RESPONSE_TOPIC, partition, (payload, correlationId) ->
+				client.handleRecommendationResponse(payload, correlationId, null));
+		when(kafkaTemplate.send(any(Message.class))).thenAnswer(invocation -> {
+			broker.handleRequest(invocation.getArgument(0));
+			return new CompletableFuture<>();
+		});
+
+		return client;
+	}
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void requestRecommendations_ShouldBatchRequestsAndDemultiplexReplies() {
+		KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RecommendationKafkaClient client = new RecommendationKafkaClient(
+				kafkaTemplate, parser, registry(), new RecommendationBatchSettings(true, 2, Duration.ofHours(1)), meterRegistry,
+				REQUEST_TOPIC, RESPONSE_TOPIC, 0, "api-0"
+		);
+
+		when(kafkaTemplate.send(any(Message.class))).thenReturn(new CompletableFuture<>());
+
+		CompletableFuture<List<UUID>> first = client.requestRecommendations(UUID.randomUUID());
+		CompletableFuture<List<UUID>> second = client.requestRecommendations(UUID.randomUUID());
+
+		ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass((Class) Message.class);
+		verify(kafkaTemplate, times(1)).send(sent.capture());
+
+		List<BatchedRecommendationRequest> batch = (List<BatchedRecommendationRequest>) sent.getValue().getPayload();
+		assertEquals(2, batch.size());
+		assertEquals("2", sent.getValue().getHeaders().get(Constants.RECOMMENDATION_BATCH_HEADER));
+
+		UUID firstRecommended = UUID.randomUUID();
+		UUID secondRecommended = UUID.randomUUID();
+		when(parser.parseBatch("reply")).thenReturn(Map.of(
+				batch.get(0).correlationId(), List.of(firstRecommended),
+				batch.get(1).correlationId(), List.of(secondRecommended)
+		));
+
+		client.handleRecommendationResponse("reply", null, "2");
+
+		assertEquals(List.of(firstRecommended), first.join());
+		assertEquals(List.of(secondRecommended), second.join());
+		assertEquals(1, meterRegistry.get("recommendation.request.records").tag("type", "batch").counter().count());
+		assertEquals(2, meterRegistry.get("recommendation.requests").counter().count());
+	}
+
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	void handleRecommendationResponses_ShouldCompleteEveryReplyOfPoll() {
+		KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+		RecommendationKafkaClient client = new RecommendationKafkaClient(
+				kafkaTemplate, parser, registry(), RecommendationBatchSettings.disabled(), new SimpleMeterRegistry(),
+				REQUEST_TOPIC, RESPONSE_TOPIC, 0, "api-0"
+		);
+
+		when(kafkaTemplate.send(any(Message.class))).thenReturn(new CompletableFuture<>());
+
+		CompletableFuture<List<UUID>> first = client.requestRecommendations(UUID.randomUUID());
+		CompletableFuture<List<UUID>> second = client.requestRecommendations(UUID.randomUUID());
+
+		ArgumentCaptor<Message<?>> sent = ArgumentCaptor.forClass((Class) Message.class);
+		verify(kafkaTemplate, times(2)).send(sent.capture());
+
+		UUID firstRecommended = UUID.randomUUID();
+		UUID secondRecommended = UUID.randomUUID();
+		client.handleRecommendationResponses(List.of(
+				reply(sent.getAllValues().get(0), firstRecommended),
+				reply(sent.getAllValues().get(1), secondRecommended)
+		));
+
+		assertEquals(List.of(firstRecommended), first.join());
+		assertEquals(List.of(secondRecommended), second.join());
+		assertEquals(0, client.pendingRequestCount());
+	}
+
+	private static ConsumerRecord<String, String> reply(Message<?> request, UUID recommended) {
+		String correlationId = (String) request.getHeaders().get(KafkaHeaders.CORRELATION_ID);
+		ConsumerRecord<String, String> record = new ConsumerRecord<>(RESPONSE_TOPIC, 0, 0, correlationId, recommended.toString());
+
+		record.headers().add(KafkaHeaders.CORRELATION_ID, correlationId.getBytes(StandardCharsets.UTF_8));
+
+		return record;
+	}
+
+	private static RecommendationCorrelationRegistry registry() {
+		return new RecommendationCorrelationRegistry(100, Duration.ofSeconds(5), new SimpleMeterRegistry());
+	}
+}
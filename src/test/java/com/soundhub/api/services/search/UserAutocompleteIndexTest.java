@@ -0,0 +1,89 @@
+package com.soundhub.api.services.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserAutocompleteIndexTest {
+	private UserAutocompleteIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new UserAutocompleteIndex();
+	}
+
+	@Test
+	void suggest_ShouldMatchFirstAndLastNamePrefixes() {
+		UUID ivanId = put("Ivan", "Petrov");
+		UUID olegId = put("Oleg", "Ivanov");
+
+		List<UUID> byFirstName = ids(index.suggest("iv", 10));
+		List<UUID> byLastName = ids(index.suggest("PETR", 10));
+
+		assertEquals(List.of(ivanId, olegId), byFirstName);
+		assertEquals(List.of(ivanId), byLastName);
+	}
+
+	@Test
+	void suggest_ShouldMatchMultiTokenPrefixInEitherOrder() {
+		UUID id = put("Anna Maria", "Smith");
+		put("Anna", "Karenina");
+
+		assertEquals(List.of(id), ids(index.suggest("anna maria sm", 10)));
+		assertEquals(List.of(id), ids(index.suggest("smith  anna", 10)));
+	}
+
+	@Test
+	void suggest_ShouldRespectLimitWithoutDuplicates() {
+		put("Ivan", "Ivanov");
+		put("Ivan", "Sidorov");
+		put("Ivanna", "Petrova");
+
+		List<UUID> result = ids(index.suggest("ivan", 2));
+
+		assertEquals(2, result.size());
+		assertEquals(result.size(), result.stream().distinct().count());
+	}
+
+	@Test
+	void put_ShouldReplaceTokensOnUpdate() {
+		UUID id = put("Ivan", "Petrov");
+
+		index.put(new UserAutocompleteIndex.Entry(id, "Ivan", "Sidorov", null));
+
+		assertTrue(index.suggest("petrov", 10).isEmpty());
+		assertEquals(List.of(id), ids(index.suggest("sid", 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void remove_ShouldDropUserFromSuggestions() {
+		UUID id = put("Ivan", "Petrov");
+
+		index.remove(id);
+
+		assertTrue(index.suggest("ivan", 10).isEmpty());
+		assertEquals(0, index.size());
+	}
+
+	@Test
+	void suggest_ShouldTreatYoAsYe() {
+		UUID id = put("Пётр", "Иванов");
+
+		assertEquals(List.of(id), ids(index.suggest("петр", 10)));
+	}
+
+	private UUID put(String firstName, String lastName) {
+		UUID id = UUID.randomUUID();
+		index.put(new UserAutocompleteIndex.Entry(id, firstName, lastName, null));
+		return id;
+	}
+
+	private static List<UUID> ids(List<UserAutocompleteIndex.Entry> entries) {
+		return entries.stream().map(UserAutocompleteIndex.Entry::getId).toList();
+	}
+}
@@ -0,0 +1,22 @@
+package com.soundhub.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUtilsTest {
+	@Test
+	void generateFileName_ShouldKeepExtensionAndBeUnique() {
+		String first = FileUtils.generateFileName("cover.jpg");
+		String second = FileUtils.generateFileName("cover.jpg");
+
+		assertTrue(first.matches("[0-9a-f-]{36}\\.jpg"));
+		assertNotEquals(first, second);
+	}
+
+	@Test
+	void generateFileName_ShouldHandleNamesWithoutExtension() {
+		assertTrue(FileUtils.generateFileName("cover").matches("[0-9a-f-]{36}"));
+		assertTrue(FileUtils.generateFileName(null).matches("[0-9a-f-]{36}"));
+	}
+}
@@ -0,0 +1,52 @@
+package com.soundhub.api.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KafkaResponseParserTest {
+	private final KafkaResponseParser parser = new KafkaResponseParser(new ObjectMapper());
+
+	@Test
+	void parseUuidArray_ShouldParsePlainArray() {
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+
+		UUID[] result = parser.parseUuidArray("[\"" + first + "\",\"" + second + "\"]");
+
+		assertArrayEquals(new UUID[]{first, second}, result);
+	}
+
+	@Test
+	void parseUuidArray_ShouldUnwrapStringEncodedArray() {
+		UUID id = UUID.randomUUID();
+
+		UUID[] result = parser.parseUuidArray("\"[\\\"" + id + "\\\"]\"");
+
+		assertArrayEquals(new UUID[]{id}, result);
+	}
+
+	@Test
+	void parseUuidArray_ShouldGrowBeyondInitialCapacity() {
+		StringBuilder json = new StringBuilder("[");
+		UUID[] expected = new UUID[100];
+
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = UUID.randomUUID();
+			json.append(i > 0 ? "," : "").append('"').append(expected[i]).append('"');
+		}
+
+		assertArrayEquals(expected, parser.parseUuidArray(json.append(']').toString()));
+	}
+
+	@Test
+	void parseUuidArray_ShouldReturnEmptyArrayOnMalformedPayload() {
+		assertEquals(0, parser.parseUuidArray("[]").length);
+		assertEquals(0, parser.parseUuidArray("{\"user_ids\": []}").length);
+		assertEquals(0, parser.parseUuidArray("[\"not-a-uuid\"]").length);
+		assertEquals(0, parser.parseUuidArray("[1, 2]").length);
+	}
+}
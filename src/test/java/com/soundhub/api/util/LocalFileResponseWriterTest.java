@@ -0,0 +1,97 @@
+package com.soundhub.api.util;
+
+import org.apache.catalina.Globals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileResponseWriterTest {
+	@TempDir
+	private Path folder;
+
+	private Path file;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		file = Files.writeString(folder.resolve("preview.mp3"), "0123456789", StandardCharsets.UTF_8);
+		request = new MockHttpServletRequest();
+		response = new MockHttpServletResponse();
+	}
+
+	@Test
+	void write_ShouldSendWholeFileWithoutRange() throws IOException {
+		LocalFileResponseWriter.write(file, null, request, response);
+
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+		assertEquals(10, response.getContentLengthLong());
+		assertEquals("audio/mpeg", response.getContentType());
+		assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+	}
+
+	@Test
+	void write_ShouldSendPartialContentForSingleRange() throws IOException {
+		LocalFileResponseWriter.write(file, "bytes=2-5", request, response);
+
+		assertEquals(HttpStatus.PARTIAL_CONTENT.value(), response.getStatus());
+		assertEquals("2345", response.getContentAsString());
+		assertEquals(4, response.getContentLengthLong());
+		assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void write_ShouldClampOpenAndSuffixRanges() throws IOException {
+		LocalFileResponseWriter.write(file, "bytes=-3", request, response);
+
+		assertEquals("789", response.getContentAsString());
+		assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+
+		MockHttpServletResponse openRange = new MockHttpServletResponse();
+		LocalFileResponseWriter.write(file, "bytes=8-100", request, openRange);
+
+		assertEquals("89", openRange.getContentAsString());
+		assertEquals("bytes 8-9/10", openRange.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void write_ShouldRejectUnsatisfiableRange() throws IOException {
+		LocalFileResponseWriter.write(file, "bytes=10-20", request, response);
+
+		assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value(), response.getStatus());
+		assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void write_ShouldIgnoreMalformedAndMultipleRanges() throws IOException {
+		LocalFileResponseWriter.write(file, "bytes=0-1,4-5", request, response);
+
+		assertEquals(HttpStatus.OK.value(), response.getStatus());
+		assertEquals("0123456789", response.getContentAsString());
+	}
+
+	@Test
+	void write_ShouldHandFileRegionToContainerWhenSendfileIsSupported() throws IOException {
+		request.setAttribute(Globals.SENDFILE_SUPPORTED_ATTR, Boolean.TRUE);
+
+		LocalFileResponseWriter.write(file, "bytes=2-5", request, response);
+
+		assertEquals(file.toRealPath().toString(), request.getAttribute(Globals.SENDFILE_FILENAME_ATTR));
+		assertEquals(2L, request.getAttribute(Globals.SENDFILE_FILE_START_ATTR));
+		assertEquals(6L, request.getAttribute(Globals.SENDFILE_FILE_END_ATTR));
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+}
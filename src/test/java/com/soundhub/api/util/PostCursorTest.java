@@ -0,0 +1,46 @@
+package com.soundhub.api.util;
+
+import com.soundhub.api.exceptions.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostCursorTest {
+	@Test
+	void decode_ShouldRestoreEncodedCursorWithMicrosecondPrecision() {
+		PostCursor cursor = new PostCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789), UUID.randomUUID());
+
+		PostCursor decoded = PostCursor.decode(cursor.encode());
+
+		assertEquals(cursor, decoded);
+		assertEquals(123_456_000, decoded.createdAt().getNano());
+	}
+
+	@Test
+	void decode_ShouldTreatBlankTokenAsFirstPage() {
+		assertNull(PostCursor.decode(null));
+		assertNull(PostCursor.decode(" "));
+	}
+
+	@Test
+	void decode_ShouldRejectMalformedToken() {
+		ApiException ex = assertThrows(ApiException.class, () -> PostCursor.decode("not a cursor"));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+	}
+
+	@Test
+	void newestFirst_ShouldBreakTiesByUnsignedIdLikePostgres() {
+		LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+		PostCursor low = new PostCursor(createdAt, UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff"));
+		PostCursor high = new PostCursor(createdAt, UUID.fromString("80000000-0000-0000-0000-000000000000"));
+		PostCursor newer = new PostCursor(createdAt.plusSeconds(1), low.id());
+
+		assertTrue(PostCursor.NEWEST_FIRST.compare(newer, high) < 0);
+		assertTrue(PostCursor.NEWEST_FIRST.compare(high, low) < 0);
+	}
+}